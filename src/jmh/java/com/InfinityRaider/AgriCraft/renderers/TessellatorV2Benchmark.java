@@ -0,0 +1,180 @@
+package com.InfinityRaider.AgriCraft.renderers;
+
+import net.minecraft.client.renderer.WorldRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the vertex emission of the TessellatorV2: every invocation draws the six faces of a cube,
+ * the same way the block renderers do with a translated or rotated matrix.
+ * The *Allocating benchmarks reproduce the matrix handling from before the in-place matrix stack for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TessellatorV2Benchmark {
+    /** The six faces of a cube as x, y, z, u, v per vertex */
+    private static final double[] CUBE = {
+            //bottom and top
+            0, 0, 0, 0, 0,  1, 0, 0, 1, 0,  1, 0, 1, 1, 1,  0, 0, 1, 0, 1,
+            0, 1, 0, 0, 0,  0, 1, 1, 0, 1,  1, 1, 1, 1, 1,  1, 1, 0, 1, 0,
+            //north and south
+            0, 0, 0, 0, 0,  0, 1, 0, 0, 1,  1, 1, 0, 1, 1,  1, 0, 0, 1, 0,
+            0, 0, 1, 0, 0,  1, 0, 1, 1, 0,  1, 1, 1, 1, 1,  0, 1, 1, 0, 1,
+            //west and east
+            0, 0, 0, 0, 0,  0, 0, 1, 1, 0,  0, 1, 1, 1, 1,  0, 1, 0, 0, 1,
+            1, 0, 0, 0, 0,  1, 1, 0, 0, 1,  1, 1, 1, 1, 1,  1, 0, 1, 1, 0
+    };
+
+    private WorldRenderer renderer;
+    private TessellatorV2 tessellator;
+    private AllocatingMatrix allocatingMatrix;
+
+    @Setup
+    public void setUp() {
+        renderer = new WorldRenderer(0x10000);
+        tessellator = TessellatorV2.getInstance(renderer);
+        tessellator.setBrightness(0xF000F0);
+        tessellator.setColorRGBA_F(1, 1, 1, 1);
+        allocatingMatrix = new AllocatingMatrix();
+    }
+
+    @Benchmark
+    public WorldRenderer translatedCube() {
+        tessellator.startDrawingQuads();
+        tessellator.pushMatrix();
+        tessellator.addTranslation(1, 2, 3);
+        drawCube();
+        tessellator.popMatrix();
+        tessellator.draw();
+        return renderer;
+    }
+
+    @Benchmark
+    public WorldRenderer rotatedCube() {
+        tessellator.startDrawingQuads();
+        tessellator.pushMatrix();
+        tessellator.addTranslation(1, 2, 3);
+        tessellator.addRotation(90, 0, 1, 0);
+        drawCube();
+        tessellator.popMatrix();
+        tessellator.draw();
+        return renderer;
+    }
+
+    /**
+     * Baseline: the matrix handling before the in-place matrix stack, every translation and rotation allocates a new matrix,
+     * so does every multiplication and every transformed vertex, and transformations are undone by applying their inverse
+     */
+    @Benchmark
+    public WorldRenderer translatedCubeAllocating() {
+        tessellator.startDrawingQuads();
+        allocatingMatrix.multiplyRightWith(AllocatingMatrix.translation(1, 2, 3));
+        drawCube(allocatingMatrix);
+        allocatingMatrix.multiplyRightWith(AllocatingMatrix.translation(-1, -2, -3));
+        tessellator.draw();
+        return renderer;
+    }
+
+    @Benchmark
+    public WorldRenderer rotatedCubeAllocating() {
+        tessellator.startDrawingQuads();
+        allocatingMatrix.multiplyRightWith(AllocatingMatrix.translation(1, 2, 3));
+        allocatingMatrix.multiplyRightWith(AllocatingMatrix.rotation(90, 0, 1, 0));
+        drawCube(allocatingMatrix);
+        allocatingMatrix.multiplyRightWith(AllocatingMatrix.rotation(-90, 0, 1, 0));
+        allocatingMatrix.multiplyRightWith(AllocatingMatrix.translation(-1, -2, -3));
+        tessellator.draw();
+        return renderer;
+    }
+
+    private void drawCube() {
+        for (int i = 0; i < CUBE.length; i = i + 5) {
+            tessellator.addVertexWithUV(CUBE[i], CUBE[i + 1], CUBE[i + 2], (float) CUBE[i + 3], (float) CUBE[i + 4]);
+        }
+    }
+
+    /** Emits the cube the way TessellatorV2.addVertexWithUV did with the allocating matrix */
+    private void drawCube(AllocatingMatrix matrix) {
+        for (int i = 0; i < CUBE.length; i = i + 5) {
+            double[] coords = matrix.transform(CUBE[i], CUBE[i + 1], CUBE[i + 2]);
+            renderer.pos(coords[0], coords[1], coords[2]);
+            renderer.color(tessellator.red, tessellator.green, tessellator.blue, tessellator.alpha);
+            renderer.tex(CUBE[i + 3], CUBE[i + 4]);
+            renderer.lightmap(tessellator.light1, tessellator.light2);
+            renderer.endVertex();
+        }
+    }
+
+    /** Copy of the 4x4 TransformationMatrix the in-place matrix stack replaced */
+    private static final class AllocatingMatrix {
+        private static final int SIZE = 4;
+
+        private double[][] matrix = new double[SIZE][SIZE];
+
+        private AllocatingMatrix() {
+            for (int i = 0; i < SIZE; i++) {
+                matrix[i][i] = 1;
+            }
+        }
+
+        private static AllocatingMatrix translation(double x, double y, double z) {
+            AllocatingMatrix m = new AllocatingMatrix();
+            m.matrix[0][3] = x;
+            m.matrix[1][3] = y;
+            m.matrix[2][3] = z;
+            return m;
+        }
+
+        private static AllocatingMatrix rotation(double angle, double x, double y, double z) {
+            AllocatingMatrix m = new AllocatingMatrix();
+            double norm = Math.sqrt(x * x + y * y + z * z);
+            x = x / norm;
+            y = y / norm;
+            z = z / norm;
+            angle = Math.toRadians(angle);
+            double sin = Math.sin(angle);
+            double cos = Math.cos(angle);
+            m.matrix[0][0] = x * x * (1 - cos) + cos;
+            m.matrix[0][1] = y * x * (1 - cos) - z * sin;
+            m.matrix[0][2] = z * x * (1 - cos) + y * sin;
+            m.matrix[1][0] = x * y * (1 - cos) + z * sin;
+            m.matrix[1][1] = y * y * (1 - cos) + cos;
+            m.matrix[1][2] = y * z * (1 - cos) - x * sin;
+            m.matrix[2][0] = x * z * (1 - cos) - y * sin;
+            m.matrix[2][1] = y * z * (1 - cos) + x * sin;
+            m.matrix[2][2] = z * z * (1 - cos) + cos;
+            return m;
+        }
+
+        private AllocatingMatrix multiplyRightWith(AllocatingMatrix m) {
+            double[][] newValues = new double[SIZE][SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                for (int j = 0; j < SIZE; j++) {
+                    double value = 0;
+                    for (int k = 0; k < SIZE; k++) {
+                        value = value + this.matrix[i][k] * m.matrix[k][j];
+                    }
+                    newValues[i][j] = value;
+                }
+            }
+            this.matrix = newValues;
+            return this;
+        }
+
+        private double[] transform(double x, double y, double z) {
+            double[] coords = new double[] {x, y, z, 1};
+            double[] result = new double[3];
+            for (int i = 0; i < result.length; i++) {
+                for (int j = 0; j < SIZE; j++) {
+                    result[i] = result[i] + this.matrix[i][j] * coords[j];
+                }
+            }
+            return result;
+        }
+    }
+}
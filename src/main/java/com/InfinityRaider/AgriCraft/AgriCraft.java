@@ -4,6 +4,7 @@ import com.InfinityRaider.AgriCraft.apiimpl.APISelector;
 import com.InfinityRaider.AgriCraft.compatibility.ModHelper;
 import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
 import com.InfinityRaider.AgriCraft.farming.growthrequirement.GrowthRequirementHandler;
+import com.InfinityRaider.AgriCraft.farming.growthrequirement.NearbyBlockScanner;
 import com.InfinityRaider.AgriCraft.farming.mutation.MutationHandler;
 import com.InfinityRaider.AgriCraft.handler.ConfigurationHandler;
 import com.InfinityRaider.AgriCraft.handler.GuiHandler;
@@ -113,6 +114,14 @@ public class AgriCraft {
     public void onServerStart(FMLServerStartingEvent event) {
     }
 
+    @Mod.EventHandler
+    @SuppressWarnings("unused")
+    public void onIdMapping(FMLModIdMappingEvent event) {
+        CropPlantHandler.onItemIdRemap();
+        NearbyBlockScanner.clearCaches();
+        GrowthRequirementHandler.onBlockIdRemap();
+    }
+
     @Mod.EventHandler
     @SuppressWarnings("unused")
     public void onMissingMappings(FMLMissingMappingsEvent event) {
@@ -23,6 +23,7 @@ import com.InfinityRaider.AgriCraft.reference.BlockStates;
 import com.InfinityRaider.AgriCraft.reference.Constants;
 import com.InfinityRaider.AgriCraft.reference.Names;
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityCrop;
+import com.InfinityRaider.AgriCraft.utility.DropHelper;
 import com.InfinityRaider.AgriCraft.utility.exception.MissingArgumentsException;
 import com.InfinityRaider.AgriCraft.utility.statstringdisplayer.StatStringDisplayer;
 import com.google.common.collect.Lists;
@@ -414,7 +415,8 @@ public class APIimplv1 implements APIv1 {
             TileEntityCrop crop = (TileEntityCrop) te;
             if(crop.allowHarvest(null)) {
                 crop.getWorld().setBlockState(pos, world.getBlockState(pos).withProperty(BlockStates.GROWTHSTAGE, 2), 2);
-                return crop.getPlant().getFruitsOnHarvest(crop.getGain(), world.rand);
+                //identical fruits are merged so callers don't get one stack per fruit
+                return DropHelper.mergeStacks(crop.getPlant().getFruitsOnHarvest(crop.getGain(), world.rand));
             }
         }
         return null;
@@ -18,6 +18,7 @@ import com.InfinityRaider.AgriCraft.renderers.blocks.RenderBlockBase;
 import com.InfinityRaider.AgriCraft.renderers.blocks.RenderCrop;
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityBase;
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityCrop;
+import com.InfinityRaider.AgriCraft.utility.DropHelper;
 import com.InfinityRaider.AgriCraft.api.v1.IIconRegistrar;
 import net.minecraft.block.Block;
 import net.minecraft.block.IGrowable;
@@ -149,6 +150,29 @@ public class BlockCrop extends BlockContainerBase implements IGrowable, IPlantab
      * @return if the block was harvested
      */
     public boolean harvest(World world, BlockPos pos, IBlockState state, EntityPlayer player, TileEntityCrop crop) {
+        if(world.isRemote) {
+            return false;
+        }
+        List<ItemStack> drops = new ArrayList<>();
+        boolean harvested = this.harvest(world, pos, state, player, crop, drops);
+        if(player == null && ConfigurationHandler.automatedHarvestIntoInventories) {
+            DropHelper.insertIntoAdjacentInventoriesOrSpawn(world, pos, drops);
+        } else {
+            DropHelper.spawnDrops(world, pos, drops);
+        }
+        return harvested;
+    }
+
+    /**
+     * Harvests the crop from a TileEntity (instance), without spawning the drops in the world.
+     *
+     * @param world the World object for this block
+     * @param pos the block position
+     * @param player the player harvesting the crop. May be null if harvested through automation.
+     * @param collector receives the drops, which are not merged yet
+     * @return if the block was harvested
+     */
+    public boolean harvest(World world, BlockPos pos, IBlockState state, EntityPlayer player, TileEntityCrop crop, List<ItemStack> collector) {
         if(!world.isRemote) {
             crop = crop==null?((TileEntityCrop) world.getTileEntity(pos)):crop;
             if(crop.hasWeed()) {
@@ -156,17 +180,11 @@ public class BlockCrop extends BlockContainerBase implements IGrowable, IPlantab
                 return false;
             } else if(crop.isCrossCrop()) {
                 crop.setCrossCrop(false);
-                spawnAsEntity(world, pos, new ItemStack(Items.crops, 1));
+                collector.add(new ItemStack(Items.crops, 1));
                 return false;
             } else if(crop.isMature() && crop.allowHarvest(player)) {
                 crop.getWorld().setBlockState(crop.getPos(), state.withProperty(BlockStates.GROWTHSTAGE, 2), 2);
-                ArrayList<ItemStack> drops = crop.getFruits();
-                for (ItemStack drop : drops) {
-                    if(drop==null || drop.getItem()==null) {
-                        continue;
-                    }
-                    spawnAsEntity(world, pos, drop);
-                }
+                collector.addAll(crop.getFruits());
                 return true;
             }
         }
@@ -383,11 +401,7 @@ public class BlockCrop extends BlockContainerBase implements IGrowable, IPlantab
                         }
                     }
                 }
-                for (ItemStack drop : drops) {
-                    if(drop!=null && drop.getItem()!=null) {
-                        spawnAsEntity(world, pos, drop);
-                    }
-                }
+                DropHelper.spawnDrops(world, pos, drops);
             }
         }
     }
@@ -441,6 +455,11 @@ public class BlockCrop extends BlockContainerBase implements IGrowable, IPlantab
             this.dropBlockAsItem(world, pos, state, 0);
             world.setBlockToAir(pos);
             world.removeTileEntity(pos);
+            return;
+        }
+        TileEntity te = world.getTileEntity(pos);
+        if(te instanceof TileEntityCrop) {
+            ((TileEntityCrop) te).onNeighbourChanged();
         }
     }
 
@@ -573,9 +592,7 @@ public class BlockCrop extends BlockContainerBase implements IGrowable, IPlantab
                         drops.addAll(crop.getFruits());
                     }
                     drops.add(crop.getSeedStack());
-                    for (ItemStack drop : drops) {
-                        spawnAsEntity(world, pos, drop);
-                    }
+                    DropHelper.spawnDrops(world, pos, drops);
                 }
                 crop.clearPlant();
             }
@@ -67,6 +67,11 @@ public class BlockSprinkler extends BlockContainerBase {
             }
             world.setBlockToAir(pos);
             world.removeTileEntity(pos);
+        } else {
+            TileEntity te = world.getTileEntity(pos);
+            if (te instanceof TileEntitySprinkler) {
+                ((TileEntitySprinkler) te).onNeighbourChanged();
+            }
         }
     }
 
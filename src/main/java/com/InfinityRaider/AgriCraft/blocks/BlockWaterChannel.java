@@ -46,6 +46,7 @@ public class BlockWaterChannel extends BlockCustomWood {
         TileEntity te = world.getTileEntity(pos);
         if (te != null && te instanceof TileEntityChannel) {
             ((TileEntityChannel) te).findNeighbours();
+            ((TileEntityChannel) te).wake();
         }
     }
 
@@ -1,5 +1,6 @@
 package com.InfinityRaider.AgriCraft.blocks;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.properties.IProperty;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
@@ -95,6 +96,15 @@ public class BlockWaterTank extends BlockCustomWood {
 		return update;
 	}
 
+	@Override
+	public void onNeighborBlockChange(World world, BlockPos pos, IBlockState state, Block block) {
+		super.onNeighborBlockChange(world, pos, state, block);
+		TileEntity te = world.getTileEntity(pos);
+		if (te instanceof TileEntityTank) {
+			((TileEntityTank) te).wake();
+		}
+	}
+
 	@Override
 	public boolean isMultiBlock() {
 		return true;
@@ -34,6 +34,11 @@ public class ContainerSeedStorage extends ContainerSeedStorageBase {
         return this.te.getSlots();
     }
 
+    @Override
+    public List<SeedStorageSlot> getSortedSeedSlots(Item seed, int meta, String stat) {
+        return this.te.getSortedSlots(stat);
+    }
+
     @Override
     public TileEntity getTileEntity() {
         return this.te;
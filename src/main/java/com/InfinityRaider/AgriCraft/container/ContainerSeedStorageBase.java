@@ -37,6 +37,11 @@ public abstract class ContainerSeedStorageBase extends ContainerAgricraft {
      */
     public abstract List<SeedStorageSlot> getSeedSlots(Item seed, int meta);
 
+    /**
+     * Gets a read-only view of the slots corresponding to this seed and meta, sorted by a stat or by slot id if the stat is null
+     */
+    public abstract List<SeedStorageSlot> getSortedSeedSlots(Item seed, int meta, String stat);
+
     /**
      * Gets a list off all the slots corresponding to this seed and meta
      */
@@ -34,6 +34,11 @@ public class ContainerSeedStorageController extends ContainerSeedStorageBase {
         return this.te.getSlots(seed, meta);
     }
 
+    @Override
+    public List<SeedStorageSlot> getSortedSeedSlots(Item seed, int meta, String stat) {
+        return this.te.getSortedSlots(seed, meta, stat);
+    }
+
     @Override
     public TileEntity getTileEntity() {
         return this.te;
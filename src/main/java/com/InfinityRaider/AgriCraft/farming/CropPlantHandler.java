@@ -27,15 +27,15 @@ import java.util.*;
 public class CropPlantHandler {
     /** None object to avoid NPE's with block states */
     public static final CropPlant NONE = CropPlantNone.NONE;
-    /** HashMap containing all plants known to AgriCraft */
-    private static HashMap<Item, HashMap<Integer, CropPlant>> cropPlants = new HashMap<>();
-    /** Queue to store plants registered via the API before the cropPlants HashMap has been initialized */
+    /** Registry containing all plants known to AgriCraft */
+    private static final CropPlantRegistry cropPlants = new CropPlantRegistry();
+    /** Queue to store plants registered via the API before the cropPlants registry has been initialized */
     private static ArrayList<CropPlant> plantsToRegister = new ArrayList<>();
     /** Queue to store BlackListed seeds which are not recognized as seeds by agricraft */
     private static ArrayList<ItemStack> blacklist = new ArrayList<>();
 
     /**
-     * Registers the plant into the cropPlants HashMap.
+     * Registers the plant into the cropPlants registry.
      * 
      * This command is a wrapper for the registerPlant(CropPlant plant). The IAgriCraft plant is wrapped into a CropPlantAgriCraft in the process.
      * 
@@ -49,7 +49,7 @@ public class CropPlantHandler {
     }
     
     /**
-     * Registers the plant into the cropPlants HashMap.
+     * Registers the plant into the cropPlants registry.
      * 
      * @param plant the plant to be registered.
      * @throws DuplicateCropPlantException thrown if the plant has already been registered. This could signal a major issue.
@@ -57,22 +57,7 @@ public class CropPlantHandler {
     public static void registerPlant(CropPlant plant) throws DuplicateCropPlantException {
         ItemStack stack = plant.getSeed();
         LogHelper.debug("Registering plant for " + stack.getUnlocalizedName());
-        Item seed = stack.getItem();
-        int meta = stack.getItemDamage();
-        HashMap<Integer, CropPlant> entryForSeed = cropPlants.get(seed);
-        if(entryForSeed!=null) {
-            if(entryForSeed.get(meta)!=null) {
-                throw new DuplicateCropPlantException();
-            }
-            else {
-                entryForSeed.put(meta, plant);
-            }
-        }
-        else {
-            entryForSeed = new HashMap<>();
-            entryForSeed.put(meta, plant);
-            cropPlants.put(seed, entryForSeed);
-        }
+        cropPlants.register(plant);
         Iterator<ItemStack> it = blacklist.iterator();
         while(it.hasNext()) {
             ItemStack blackListed = it.next();
@@ -90,7 +75,7 @@ public class CropPlantHandler {
     }
     
     /**
-     * Registers the plant into the cropPlants HashMap, and automatically catches DuplicateCropPlantExceptions and BlacklistedCropPlantExeptions.
+     * Registers the plant into the cropPlants registry, and automatically catches DuplicateCropPlantExceptions and BlacklistedCropPlantExeptions.
      * 
      * This method replaces the many switch statements previously found in the init() function. In doing so we cut back on code duplication.
      * Furthermore, this is a targeted switch statement, instead of a catch all, allowing exceptions that should not have been thrown to surface properly.
@@ -137,12 +122,14 @@ public class CropPlantHandler {
                 }
                 if(plantSeed.getItem() == seed.getItem() && plantSeed.getItemDamage() == seed.getMeta()) {
                     plant.setGrowthRequirement(req);
+                    GrowthRequirementHandler.markRequirementsChanged();
                     return true;
                 }
             }
             return false;
         }
-        cropPlants.get(seed.getItem()).get(seed.getMeta()).setGrowthRequirement(req);
+        cropPlants.getPlant(seed.getItem(), seed.getMeta()).setGrowthRequirement(req);
+        GrowthRequirementHandler.markRequirementsChanged();
         return true;
     }
 
@@ -178,7 +165,8 @@ public class CropPlantHandler {
      * @return if the item is a valid seed.
      */
     public static boolean isValidSeed(Item seed, int meta) {
-        return isRecognizedByAgriCraft(seed, meta) && !cropPlants.get(seed).get(meta).isBlackListed();
+        CropPlant plant = cropPlants.getPlant(seed, meta);
+        return plant != null && !plant.isBlackListed();
     }
 
     /**
@@ -188,7 +176,7 @@ public class CropPlantHandler {
      * @return if the item is recognized as a seed
      */
     private static boolean isRecognizedByAgriCraft(Item seed, int meta) {
-        return (seed != null) && cropPlants.containsKey(seed) && cropPlants.get(seed).containsKey(meta);
+        return cropPlants.getId(seed, meta) != CropPlantRegistry.NO_PLANT;
     }
 
     /**
@@ -222,16 +210,36 @@ public class CropPlantHandler {
      * @return the plant in the stack, or null, if the stack does not contain a valid plant. 
      */
     public static CropPlant getPlantFromStack(ItemStack stack) {
-        if (isValidSeed(stack)) {
-            return cropPlants.get(stack.getItem()).get(stack.getItemDamage());
-        }
-        else {
-        	return null;
+        if(stack == null) {
+            return null;
         }
+        CropPlant plant = cropPlants.getPlant(stack.getItem(), stack.getItemDamage());
+        return (plant == null || plant.isBlackListed()) ? null : plant;
+    }
+
+    /**
+     * Retrieves a plant by its id in the plant registry.
+     *
+     * @see CropPlant#getRegistryId()
+     *
+     * @param id the id of the plant.
+     * @return the plant with this id, or null if there is no such plant.
+     */
+    public static CropPlant getPlantFromId(int id) {
+        return cropPlants.getPlant(id);
+    }
+
+    /**
+     * Retrieves the plant registry, this can be used to get the array mapping plant ids to plants.
+     *
+     * @return the plant registry.
+     */
+    public static CropPlantRegistry getRegistry() {
+        return cropPlants;
     }
 
     public static IGrowthRequirement getGrowthRequirement(Item seed, int meta) {
-        CropPlant plant = cropPlants.get(seed).get(meta);
+        CropPlant plant = cropPlants.getPlant(seed, meta);
         return plant==null? GrowthRequirementHandler.NULL:plant.getGrowthRequirement();
 
     }
@@ -246,15 +254,13 @@ public class CropPlantHandler {
     /**
      * Retrieves a list of registered plants.
      * 
-     * @return the registered plants, taken from the internal HashMap, and placed into an ArrayList.
+     * @return the registered plants, taken from the internal registry, and placed into an ArrayList.
      */
     public static ArrayList<CropPlant> getPlants() {
         ArrayList<CropPlant> plants = new ArrayList<>();
-        for(HashMap<Integer, CropPlant> subMap:cropPlants.values()) {
-            for(CropPlant plant : subMap.values()) {
-                if(!plant.isBlackListed()) {
-                    plants.add(plant);
-                }
+        for(CropPlant plant : cropPlants.getPlantArray()) {
+            if(!plant.isBlackListed()) {
+                plants.add(plant);
             }
         }
         return plants;
@@ -268,11 +274,9 @@ public class CropPlantHandler {
      */
     public static ArrayList<CropPlant> getPlantsUpToTier(int tier) {
         ArrayList<CropPlant> plants = new ArrayList<>();
-        for(HashMap<Integer, CropPlant> subMap:cropPlants.values()) {
-            for(CropPlant plant : subMap.values()) {
-                if(plant.getTier() <= tier && !plant.isBlackListed()) {
-                    plants.add(plant);
-                }
+        for(CropPlant plant : cropPlants.getPlantArray()) {
+            if(plant.getTier() <= tier && !plant.isBlackListed()) {
+                plants.add(plant);
             }
         }
         return plants;
@@ -349,8 +353,9 @@ public class CropPlantHandler {
         if(seed == null || seed.getItem() == null) {
             return true;
         }
-        if(isRecognizedByAgriCraft(seed.getItem(), seed.getItemDamage())) {
-            return cropPlants.get(seed.getItem()).get(seed.getItemDamage()).isBlackListed();
+        CropPlant plant = cropPlants.getPlant(seed.getItem(), seed.getItemDamage());
+        if(plant != null) {
+            return plant.isBlackListed();
         }
         for(ItemStack queued : blacklist) {
             if(queued.getItem() == seed.getItem() || queued.getItemDamage() == seed.getItemDamage()) {
@@ -375,7 +380,7 @@ public class CropPlantHandler {
             blacklist.add(seed.copy());
             return;
         }
-        cropPlants.get(seed.getItem()).get(seed.getItemDamage()).setBlackListStatus(true);
+        cropPlants.getPlant(seed.getItem(), seed.getItemDamage()).setBlackListStatus(true);
         LogHelper.debug("Added seed to blacklist: " + Item.itemRegistry.getNameForObject(seed.getItem()) + ":" + seed.getItemDamage());
     }
 
@@ -400,8 +405,9 @@ public class CropPlantHandler {
         if(!isSeedBlackListed(seed)) {
             return;
         }
-        if(isRecognizedByAgriCraft(seed.getItem(), seed.getItemDamage())) {
-            cropPlants.get(seed.getItem()).get(seed.getItemDamage()).setBlackListStatus(false);
+        CropPlant plant = cropPlants.getPlant(seed.getItem(), seed.getItemDamage());
+        if(plant != null) {
+            plant.setBlackListStatus(false);
         }
         else {
             removeFromBlackListArray(seed);
@@ -430,6 +436,14 @@ public class CropPlantHandler {
         }
     }
 
+    /**
+     * Called when the item id mapping changes, e.g. when connecting to a server or loading a world.
+     * Rebuilds the plant lookup index since it is keyed by item ids.
+     */
+    public static void onItemIdRemap() {
+        cropPlants.rebuildIndex();
+    }
+
     /**
      * The primary plant initialization function.
      * 
@@ -468,6 +482,9 @@ public class CropPlantHandler {
             }
         }
 
+        //No more plants can be registered from here on
+        cropPlants.freeze();
+
         //Set tier overrides
         IOHelper.initSeedTiers();
 
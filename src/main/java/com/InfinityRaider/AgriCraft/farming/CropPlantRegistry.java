@@ -0,0 +1,137 @@
+package com.InfinityRaider.AgriCraft.farming;
+
+import com.InfinityRaider.AgriCraft.farming.cropplant.CropPlant;
+import com.InfinityRaider.AgriCraft.utility.LongIntHashMap;
+import com.InfinityRaider.AgriCraft.utility.exception.DuplicateCropPlantException;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import java.util.Arrays;
+
+/**
+ * Registry holding every plant known to AgriCraft.
+ *
+ * Each plant receives a dense int id on registration, which can be used to store plants as ints.
+ * Plants are looked up by a primitive (item id, meta) key so the lookup does not allocate.
+ * The registry is frozen once {@link CropPlantHandler#init()} has finished, after which no more plants can be added.
+ */
+public final class CropPlantRegistry {
+    /** Id returned for stacks which do not hold a registered plant */
+    public static final int NO_PLANT = -1;
+
+    /** Plants indexed by their id */
+    private CropPlant[] plants;
+    private int count;
+    /** Maps the packed (item id, meta) key of a seed to the id of its plant */
+    private LongIntHashMap index;
+    private boolean frozen;
+
+    CropPlantRegistry() {
+        this.plants = new CropPlant[64];
+        this.count = 0;
+        this.index = new LongIntHashMap(64);
+        this.frozen = false;
+    }
+
+    /**
+     * Registers a plant and assigns its id
+     * @param plant the plant to register
+     * @return the id assigned to the plant
+     * @throws DuplicateCropPlantException if a plant has already been registered for the same seed
+     */
+    int register(CropPlant plant) throws DuplicateCropPlantException {
+        if(frozen) {
+            throw new IllegalStateException("Can't register plants after the plant registry has been frozen");
+        }
+        ItemStack seed = plant.getSeed();
+        long key = getKey(seed.getItem(), seed.getItemDamage());
+        if(index.containsKey(key)) {
+            throw new DuplicateCropPlantException();
+        }
+        if(count >= plants.length) {
+            plants = Arrays.copyOf(plants, plants.length << 1);
+        }
+        int id = count;
+        plants[id] = plant;
+        count++;
+        plant.setRegistryId(id);
+        index.put(key, id);
+        return id;
+    }
+
+    /**
+     * Freezes the registry, trims the id array and rebuilds the lookup index since item ids are final by now.
+     */
+    void freeze() {
+        plants = Arrays.copyOf(plants, count);
+        frozen = true;
+        rebuildIndex();
+    }
+
+    /**
+     * Rebuilds the (item id, meta) index, must be called whenever the item id mapping changes.
+     * Plant ids are not affected by this.
+     */
+    void rebuildIndex() {
+        LongIntHashMap newIndex = new LongIntHashMap(count);
+        for(int id = 0; id < count; id++) {
+            ItemStack seed = plants[id].getSeed();
+            newIndex.put(getKey(seed.getItem(), seed.getItemDamage()), id);
+        }
+        index = newIndex;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Gets the id of the plant for a seed
+     * @param seed the seed item
+     * @param meta the seed meta
+     * @return the plant id, or {@link #NO_PLANT} if the seed is not registered
+     */
+    public int getId(Item seed, int meta) {
+        if(seed == null) {
+            return NO_PLANT;
+        }
+        return index.get(getKey(seed, meta), NO_PLANT);
+    }
+
+    /**
+     * Gets the plant for a seed
+     * @param seed the seed item
+     * @param meta the seed meta
+     * @return the plant, or null if the seed is not registered
+     */
+    public CropPlant getPlant(Item seed, int meta) {
+        int id = getId(seed, meta);
+        return id == NO_PLANT ? null : plants[id];
+    }
+
+    /**
+     * Gets a plant by its id
+     * @param id the plant id
+     * @return the plant, or null if there is no plant with that id
+     */
+    public CropPlant getPlant(int id) {
+        return (id < 0 || id >= count) ? null : plants[id];
+    }
+
+    /** @return the number of registered plants, valid ids range from 0 to this value (exclusive) */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the array mapping plant ids to plants, once the registry is frozen this is the backing array and must not be modified
+     * @return array with the plant for each id
+     */
+    public CropPlant[] getPlantArray() {
+        return frozen ? plants : Arrays.copyOf(plants, count);
+    }
+
+    private static long getKey(Item seed, int meta) {
+        return LongIntHashMap.pack(Item.getIdFromItem(seed), meta);
+    }
+}
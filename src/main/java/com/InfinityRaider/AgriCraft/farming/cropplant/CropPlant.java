@@ -34,6 +34,7 @@ public abstract class CropPlant implements ICropPlant, Comparable<CropPlant> {
     private int spreadChance;
     private boolean blackListed;
     private boolean ignoreVanillaPlantingRule;
+    private int registryId;
 
     public CropPlant() {
         this.growthRequirement = initGrowthRequirement();
@@ -42,6 +43,7 @@ public abstract class CropPlant implements ICropPlant, Comparable<CropPlant> {
         this.spreadChance = 100/getTier();
         this.blackListed = false;
         this.ignoreVanillaPlantingRule = false;
+        this.registryId = -1;
     }
 
     /**
@@ -128,6 +130,21 @@ public abstract class CropPlant implements ICropPlant, Comparable<CropPlant> {
         this.ignoreVanillaPlantingRule = value;
     }
 
+    /**
+     * Gets the id assigned to this plant by the plant registry, can be used to store this plant as an int
+     * @return the id of this plant, or -1 if it has not been registered
+     */
+    public final int getRegistryId() {
+        return registryId;
+    }
+
+    /**
+     * Sets the registry id for this plant, should only be called by the plant registry
+     */
+    public final void setRegistryId(int id) {
+        this.registryId = id;
+    }
+
     /**
      * ICROPPLANT METHODS
      */
@@ -0,0 +1,113 @@
+package com.InfinityRaider.AgriCraft.farming.growthrequirement;
+
+import com.InfinityRaider.AgriCraft.api.v1.IGrowthRequirement;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Caches the outcome of the fertility checks for a single crop.
+ *
+ * Every component (air above, soil, brightness and base block) remembers the world time it was last verified at.
+ * Components are verified again when they expire, when the crop is notified of a neighbour change,
+ * or when the growth requirement or the soil whitelist changes.
+ */
+public final class FertilityCache {
+    /** Ticks after which blocks directly adjacent to the crop are verified again, these are normally invalidated by neighbour changes */
+    public static final int BLOCK_INTERVAL = 1200;
+    /** Ticks after which the brightness is verified again, light changes do not always cause a neighbour change */
+    public static final int LIGHT_INTERVAL = 100;
+    /** Ticks after which the base block is verified again, base blocks are not adjacent to the crop */
+    public static final int BASE_BLOCK_INTERVAL = 400;
+    /** Ticks after which growth requirements which are not handled by AgriCraft are verified again */
+    public static final int CUSTOM_INTERVAL = 100;
+
+    private static final long NEVER = -1;
+
+    private IGrowthRequirement requirement;
+    private int revision;
+
+    private boolean air;
+    private long airVerified = NEVER;
+    private boolean soil;
+    private long soilVerified = NEVER;
+    private boolean light;
+    private long lightVerified = NEVER;
+    private boolean baseBlock;
+    private long baseBlockVerified = NEVER;
+    private boolean custom;
+    private long customVerified = NEVER;
+    /** Remembers where the nearby base block was found last */
+    private final NearbyBlockScanner scanner = new NearbyBlockScanner();
+
+    /**
+     * Checks if a crop is fertile, only performs world lookups for the components which are no longer valid
+     * @param world the world of the crop
+     * @param pos the position of the crop
+     * @param requirement the growth requirement of the plant on the crop
+     * @return if the plant on the crop can grow
+     */
+    public boolean isFertile(World world, BlockPos pos, IGrowthRequirement requirement) {
+        int revision = GrowthRequirementHandler.getRevision();
+        if(requirement != this.requirement || revision != this.revision) {
+            this.invalidate();
+            this.requirement = requirement;
+            this.revision = revision;
+        }
+        long time = world.getTotalWorldTime();
+        if(isExpired(airVerified, time, BLOCK_INTERVAL)) {
+            air = world.isAirBlock(pos.add(0, 1, 0));
+            airVerified = time;
+        }
+        if(!air) {
+            return false;
+        }
+        if(!(requirement instanceof GrowthRequirement)) {
+            //growth requirements from other mods can only be cached as a whole
+            if(isExpired(customVerified, time, CUSTOM_INTERVAL)) {
+                custom = requirement.canGrow(world, pos);
+                customVerified = time;
+            }
+            return custom;
+        }
+        GrowthRequirement growthRequirement = (GrowthRequirement) requirement;
+        if(isExpired(soilVerified, time, BLOCK_INTERVAL)) {
+            soil = growthRequirement.isValidSoil(world, pos.add(0, -1, 0));
+            soilVerified = time;
+        }
+        if(!soil) {
+            return false;
+        }
+        if(isExpired(lightVerified, time, LIGHT_INTERVAL)) {
+            light = growthRequirement.isBrightnessGood(world, pos);
+            lightVerified = time;
+        }
+        if(!light) {
+            return false;
+        }
+        if(isExpired(baseBlockVerified, time, BASE_BLOCK_INTERVAL)) {
+            baseBlock = growthRequirement.isBaseBlockPresent(world, pos, scanner);
+            baseBlockVerified = time;
+        }
+        return baseBlock;
+    }
+
+    /** Called when a block next to the crop changes, this also affects the light level */
+    public void onNeighbourChanged() {
+        airVerified = NEVER;
+        soilVerified = NEVER;
+        lightVerified = NEVER;
+        baseBlockVerified = NEVER;
+        customVerified = NEVER;
+    }
+
+    /** Invalidates all components, forcing a full check on the next call */
+    public void invalidate() {
+        onNeighbourChanged();
+        this.scanner.clearHint();
+        this.requirement = null;
+    }
+
+    private static boolean isExpired(long verified, long time, int interval) {
+        return verified == NEVER || time < verified || time - verified >= interval;
+    }
+}
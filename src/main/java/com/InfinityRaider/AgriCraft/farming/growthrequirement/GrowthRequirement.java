@@ -43,7 +43,7 @@ public class GrowthRequirement implements IGrowthRequirement{
             list.add(soil);
             return list;
         }
-        return GrowthRequirementHandler.defaultSoils;
+        return GrowthRequirementHandler.defaultSoils.getSoils();
     }
 
     public List<BlockWithMeta> getBelowBlocks() {
@@ -70,10 +70,19 @@ public class GrowthRequirement implements IGrowthRequirement{
 
     @Override
     public boolean isBaseBlockPresent(World world, BlockPos pos) {
+        return this.isBaseBlockPresent(world, pos, null);
+    }
+
+    /**
+     * Checks if the base block is present, using a scanner which remembers the last position a nearby base block was found at
+     * @param scanner the scanner to use for nearby base blocks, can be null
+     * @return true, if the correct base block is present (position is the position of the crop)
+     */
+    public boolean isBaseBlockPresent(World world, BlockPos pos, NearbyBlockScanner scanner) {
         if(this.requiresBaseBlock()) {
             switch(this.requiredType) {
                 case BELOW: return this.isBaseBlockBelow(world, pos.add(0, -2, 0));
-                case NEARBY: return this.isBaseBlockNear(world, pos);
+                case NEARBY: return this.isBaseBlockNear(world, pos, scanner == null ? new NearbyBlockScanner() : scanner);
             }
         }
         return true;
@@ -87,23 +96,10 @@ public class GrowthRequirement implements IGrowthRequirement{
         return true;
     }
 
-    /** @return true, if the correct base block is below **/
-    private boolean isBaseBlockNear(World world, BlockPos pos) {
+    /** @return true, if the correct base block is nearby **/
+    private boolean isBaseBlockNear(World world, BlockPos pos, NearbyBlockScanner scanner) {
         if(this.requiresBaseBlock() && this.requiredType==RequirementType.NEARBY) {
-            int range = NEARBY_DEFAULT_RANGE;
-            int x = pos.getX();
-            int y = pos.getY();
-            int z = pos.getZ();
-            for (int xPos = x - range; xPos <= x + range; xPos++) {
-                for (int yPos = y - range; yPos <= y + range; yPos++) {
-                    for (int zPos = z - range; zPos <= z + range; zPos++) {
-                        if(this.isBlockAdequate(world, pos.add(xPos, yPos, zPos))) {
-                            return true;
-                        }
-                    }
-                }
-            }
-            return false;
+            return scanner.isBlockNear(world, pos, NEARBY_DEFAULT_RANGE, this.requiredBlock, this.oreDict);
         }
         return true;
     }
@@ -130,12 +126,10 @@ public class GrowthRequirement implements IGrowthRequirement{
     @Override
     public boolean isValidSoil(World world, BlockPos pos) {
         Block block = world.getBlockState(pos).getBlock();
-        int meta = block.getDamageValue(world, pos);
-        BlockWithMeta soil = new BlockWithMeta(block, meta);
         if (block instanceof ISoilContainer) {
-            soil = new BlockWithMeta(((ISoilContainer) block).getSoil(world, pos), ((ISoilContainer) block).getSoilMeta(world, pos));
+            return isValidSoil(((ISoilContainer) block).getSoil(world, pos), ((ISoilContainer) block).getSoilMeta(world, pos));
         }
-        return isValidSoil(soil);
+        return isValidSoil(block, block.getDamageValue(world, pos));
     }
 
     @Override
@@ -147,6 +141,15 @@ public class GrowthRequirement implements IGrowthRequirement{
         }
     }
 
+    /** @return true, if the given block is a valid soil */
+    public boolean isValidSoil(Block block, int meta) {
+        if(this.requiresSpecificSoil()) {
+            return this.soil.getBlock() == block && (this.soil.ignoreMeta() || this.soil.getMeta() == meta);
+        } else {
+            return GrowthRequirementHandler.isDefaultSoil(block, meta);
+        }
+    }
+
     public boolean requiresSpecificSoil() {
         return this.soil!=null;
     }
@@ -174,6 +177,7 @@ public class GrowthRequirement implements IGrowthRequirement{
     public void setSoil(BlockWithMeta soil) {
         this.soil = soil;
         GrowthRequirementHandler.addSoil(soil);
+        GrowthRequirementHandler.markRequirementsChanged();
     }
 
     @Override
@@ -183,6 +187,7 @@ public class GrowthRequirement implements IGrowthRequirement{
     public void setBrightnessRange(int min, int max) {
         this.minBrightness = min;
         this.maxBrightness = max;
+        GrowthRequirementHandler.markRequirementsChanged();
     }
 
     @Override
@@ -190,6 +195,7 @@ public class GrowthRequirement implements IGrowthRequirement{
         this.requiredBlock = requiredBlock;
         this.requiredType = requirementType;
         this.oreDict = oreDict;
+        GrowthRequirementHandler.markRequirementsChanged();
     }
 
     @Override
@@ -23,30 +23,55 @@ public class GrowthRequirementHandler {
     public static IGrowthRequirementBuilder getNewBuilder() {return new GrowthRequirementHandler.Builder();}
 
     /**
-     * This list contains soils which pose as a default soil, meaning any CropPlant which doesn't require a specific soil will be able to grown on these
-     * This list can be modified with MineTweaker
+     * This registry contains soils which pose as a default soil, meaning any CropPlant which doesn't require a specific soil will be able to grown on these
+     * This registry can be modified with MineTweaker
      */
-    public static List<BlockWithMeta> defaultSoils = new ArrayList<>();
+    public static final SoilRegistry defaultSoils = new SoilRegistry();
 
     /**
-     * This list contains soils needed for certain CropPlants
-     * This list cannot be modified externally
+     * This registry contains soils needed for certain CropPlants
+     * This registry cannot be modified externally
      */
-    static List<BlockWithMeta> soils = new ArrayList<>();
+    static final SoilRegistry soils = new SoilRegistry();
+
+    /** Incremented every time a soil or growth requirement changes, used to invalidate cached fertility checks */
+    private static int revision = 0;
+
+    public static int getRevision() {
+        return revision;
+    }
+
+    /** Marks cached fertility checks as outdated, must be called when soils or growth requirements change */
+    public static void markRequirementsChanged() {
+        revision++;
+    }
 
     //Methods for fertile soils
     //-------------------------
     public static boolean isSoilValid(World world,BlockPos pos) {
         IBlockState state = world.getBlockState(pos);
         Block block = state.getBlock();
-        int meta = block.getDamageValue(world, pos);
-        BlockWithMeta soil;
+        Block soil;
+        int meta;
         if (block instanceof ISoilContainer) {
-            soil = new BlockWithMeta(((ISoilContainer) block).getSoil(world, pos), ((ISoilContainer) block).getSoilMeta(world, pos));
+            soil = ((ISoilContainer) block).getSoil(world, pos);
+            meta = ((ISoilContainer) block).getSoilMeta(world, pos);
         } else {
-            soil = new BlockWithMeta(block, meta);
+            soil = block;
+            meta = block.getDamageValue(world, pos);
         }
-        return soils.contains(soil) || defaultSoils.contains(soil);
+        return soils.contains(soil, meta) || defaultSoils.contains(soil, meta);
+    }
+
+    /** Checks if a block is one of the default soils */
+    public static boolean isDefaultSoil(Block block, int meta) {
+        return defaultSoils.contains(block, meta);
+    }
+
+    /** Called when the block id mapping changes, the soil registries are keyed by block ids */
+    public static void onBlockIdRemap() {
+        soils.rebuild();
+        defaultSoils.rebuild();
     }
 
     public static void init() {
@@ -76,7 +101,7 @@ public class GrowthRequirementHandler {
         }
         
         LogHelper.info("Completed soil whitelist:");
-        for (BlockWithMeta soil : soils) {
+        for (BlockWithMeta soil : soils.getSoils()) {
             LogHelper.info(" - " + Block.blockRegistry.getNameForObject(soil.getBlock()) + ":" + soil.getMeta());
         }
     }
@@ -88,18 +113,20 @@ public class GrowthRequirementHandler {
     }
 
     public static void removeAllFromSoilWhitelist(Collection<? extends BlockWithMeta> list) {
-        defaultSoils.removeAll(list);
+        if (defaultSoils.removeAll(list)) {
+            markRequirementsChanged();
+        }
     }
 
     public static void addSoil(BlockWithMeta block) {
-        if (!soils.contains(block)) {
-            soils.add(block);
+        if (soils.add(block)) {
+            markRequirementsChanged();
         }
     }
 
     public static boolean addDefaultSoil(BlockWithMeta block) {
-        if (!defaultSoils.contains(block)) {
-            defaultSoils.add(block);
+        if (defaultSoils.add(block)) {
+            markRequirementsChanged();
             return true;
         }
         return false;
@@ -0,0 +1,160 @@
+package com.InfinityRaider.AgriCraft.farming.growthrequirement;
+
+import com.InfinityRaider.AgriCraft.api.v1.BlockWithMeta;
+import com.InfinityRaider.AgriCraft.utility.LongIntHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.oredict.OreDictionary;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Searches the blocks in a cubic range around a position for a required block.
+ *
+ * The region is walked with a single mutable position and the search stops at the first hit.
+ * An instance remembers where it last found the block, so that spot is checked first on the next search;
+ * crops keep their own instance in their FertilityCache.
+ */
+public final class NearbyBlockScanner {
+    /** Precomputed ore dictionary matchers per required block, keyed by the packed block id and meta */
+    private static final Map<Long, OreMatcher> oreMatchers = new ConcurrentHashMap<>();
+
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    private boolean hasHint = false;
+    private int hintX;
+    private int hintY;
+    private int hintZ;
+    /** Number of block lookups done by the last search */
+    private int lookups = 0;
+
+    /**
+     * Checks if a block is present in range of a position
+     * @param world the world to search in
+     * @param center the center of the search region
+     * @param range the range of the search, the region contains all blocks at most this far away along every axis
+     * @param target the block to search for
+     * @param oreDict if blocks sharing an ore dictionary entry with the target match as well
+     * @return true if a matching block was found
+     */
+    public boolean isBlockNear(World world, BlockPos center, int range, BlockWithMeta target, boolean oreDict) {
+        lookups = 0;
+        int x = center.getX();
+        int y = center.getY();
+        int z = center.getZ();
+        OreMatcher matcher = oreDict ? getOreMatcher(target) : null;
+        if(hasHint && Math.abs(hintX - x) <= range && Math.abs(hintY - y) <= range && Math.abs(hintZ - z) <= range) {
+            if(matches(world, cursor.set(hintX, hintY, hintZ), target, matcher)) {
+                return true;
+            }
+        }
+        hasHint = false;
+        for (int xPos = x - range; xPos <= x + range; xPos++) {
+            for (int yPos = y - range; yPos <= y + range; yPos++) {
+                for (int zPos = z - range; zPos <= z + range; zPos++) {
+                    if(matches(world, cursor.set(xPos, yPos, zPos), target, matcher)) {
+                        hasHint = true;
+                        hintX = xPos;
+                        hintY = yPos;
+                        hintZ = zPos;
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Forgets the position of the last match */
+    public void clearHint() {
+        hasHint = false;
+    }
+
+    /** @return the number of block lookups done by the last search */
+    public int getLookupCount() {
+        return lookups;
+    }
+
+    private boolean matches(World world, BlockPos pos, BlockWithMeta target, OreMatcher matcher) {
+        lookups++;
+        IBlockState state = world.getBlockState(pos);
+        if(matcher != null) {
+            return matcher.matches(world, pos, state);
+        }
+        Block block = state.getBlock();
+        return block == target.getBlock() && block.getDamageValue(world, pos) == target.getMeta();
+    }
+
+    private static OreMatcher getOreMatcher(BlockWithMeta target) {
+        long key = LongIntHashMap.pack(Block.getIdFromBlock(target.getBlock()), target.getMeta());
+        OreMatcher matcher = oreMatchers.get(key);
+        if(matcher == null) {
+            matcher = new OreMatcher(target);
+            oreMatchers.put(key, matcher);
+        }
+        return matcher;
+    }
+
+    /** Clears the ore dictionary caches, needed when block ids or ore dictionary entries change */
+    public static void clearCaches() {
+        oreMatchers.clear();
+    }
+
+    /**
+     * Checks blocks against the ore dictionary entries of a required block.
+     * The ore ids of the required block are computed once, the outcome for every block and damage value is cached.
+     */
+    private static final class OreMatcher {
+        private final Block block;
+        private final int meta;
+        private final int[] oreIds;
+        /** 1 if the block and damage value packed in the key match, 0 if not */
+        private final LongIntHashMap results = new LongIntHashMap();
+
+        private OreMatcher(BlockWithMeta target) {
+            this.block = target.getBlock();
+            this.meta = target.getMeta();
+            if(block == null || Item.getItemFromBlock(block) == null) {
+                this.oreIds = new int[0];
+            } else {
+                this.oreIds = OreDictionary.getOreIDs(new ItemStack(block, 1, meta)).clone();
+                Arrays.sort(this.oreIds);
+            }
+        }
+
+        private boolean matches(World world, BlockPos pos, IBlockState state) {
+            Block other = state.getBlock();
+            int otherMeta = other.getDamageValue(world, pos);
+            long key = LongIntHashMap.pack(Block.getIdFromBlock(other), otherMeta);
+            synchronized (results) {
+                int result = results.get(key, -1);
+                if(result < 0) {
+                    result = compute(other, otherMeta) ? 1 : 0;
+                    results.put(key, result);
+                }
+                return result == 1;
+            }
+        }
+
+        private boolean compute(Block other, int otherMeta) {
+            if(other == block && otherMeta == meta) {
+                return true;
+            }
+            //blocks without an item (e.g. air) can't have ore dictionary entries
+            if(other == null || Item.getItemFromBlock(other) == null || oreIds.length == 0) {
+                return false;
+            }
+            for(int id : OreDictionary.getOreIDs(new ItemStack(other, 1, otherMeta))) {
+                if(Arrays.binarySearch(oreIds, id) >= 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
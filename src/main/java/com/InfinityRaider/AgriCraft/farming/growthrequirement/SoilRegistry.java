@@ -0,0 +1,114 @@
+package com.InfinityRaider.AgriCraft.farming.growthrequirement;
+
+import com.InfinityRaider.AgriCraft.api.v1.BlockWithMeta;
+import com.InfinityRaider.AgriCraft.utility.LongIntHashMap;
+import net.minecraft.block.Block;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A set of soils with constant time membership checks, keyed by (block id, meta).
+ * Soils which ignore meta are stored under a wildcard key, so they are found with a second hash lookup instead of a scan.
+ *
+ * The registry is copy-on-write: every change builds a new immutable snapshot,
+ * so lookups never lock and can safely run while soils are added or removed from another thread.
+ */
+public final class SoilRegistry {
+    /** Meta key used for soils which match any meta, real metas are never negative */
+    private static final int WILDCARD = -1;
+
+    private volatile Snapshot snapshot;
+
+    public SoilRegistry() {
+        this.snapshot = new Snapshot(new ArrayList<BlockWithMeta>());
+    }
+
+    /**
+     * Checks if a block is in this registry
+     * @param block the block
+     * @param meta the meta of the block
+     * @return true if the block is a soil in this registry
+     */
+    public boolean contains(Block block, int meta) {
+        return block != null && snapshot.contains(Block.getIdFromBlock(block), meta);
+    }
+
+    /**
+     * Checks if a soil is in this registry, soils which ignore meta match any entry for the same block
+     * @param soil the soil
+     * @return true if the soil is in this registry
+     */
+    public boolean contains(BlockWithMeta soil) {
+        if(soil == null) {
+            return false;
+        }
+        if(!soil.ignoreMeta()) {
+            return contains(soil.getBlock(), soil.getMeta());
+        }
+        return snapshot.soils.contains(soil);
+    }
+
+    /**
+     * Adds a soil to the registry
+     * @param soil the soil to add
+     * @return false if the soil was already in the registry
+     */
+    public synchronized boolean add(BlockWithMeta soil) {
+        if(soil == null || soil.getBlock() == null || snapshot.soils.contains(soil)) {
+            return false;
+        }
+        List<BlockWithMeta> soils = new ArrayList<>(snapshot.soils);
+        soils.add(soil);
+        snapshot = new Snapshot(soils);
+        return true;
+    }
+
+    /**
+     * Removes all soils equal to any of the given soils
+     * @param toRemove the soils to remove
+     * @return true if the registry changed
+     */
+    public synchronized boolean removeAll(Collection<? extends BlockWithMeta> toRemove) {
+        List<BlockWithMeta> soils = new ArrayList<>(snapshot.soils);
+        if(!soils.removeAll(toRemove)) {
+            return false;
+        }
+        snapshot = new Snapshot(soils);
+        return true;
+    }
+
+    /** Rebuilds the lookup keys, must be called when the block id mapping changes */
+    public synchronized void rebuild() {
+        snapshot = new Snapshot(new ArrayList<>(snapshot.soils));
+    }
+
+    /** @return an unmodifiable view of all soils in this registry */
+    public List<BlockWithMeta> getSoils() {
+        return snapshot.soils;
+    }
+
+    private static long getKey(int blockId, int meta) {
+        return LongIntHashMap.pack(blockId, meta);
+    }
+
+    private static final class Snapshot {
+        private final List<BlockWithMeta> soils;
+        private final LongIntHashMap keys;
+
+        private Snapshot(List<BlockWithMeta> soils) {
+            this.soils = Collections.unmodifiableList(soils);
+            this.keys = new LongIntHashMap(soils.size());
+            for(BlockWithMeta soil : soils) {
+                int id = Block.getIdFromBlock(soil.getBlock());
+                keys.put(getKey(id, soil.ignoreMeta() ? WILDCARD : soil.getMeta()), 1);
+            }
+        }
+
+        private boolean contains(int blockId, int meta) {
+            return keys.containsKey(getKey(blockId, meta)) || keys.containsKey(getKey(blockId, WILDCARD));
+        }
+    }
+}
@@ -1,62 +1,77 @@
 package com.InfinityRaider.AgriCraft.farming.mutation;
 
 import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
+import com.InfinityRaider.AgriCraft.farming.cropplant.CropPlant;
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityCrop;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 
 /**
- * Represents the result of a specific <code>INewSeedStrategy</code> containing
- * the seed plus meta and the chance to happen.
+ * Represents the result of a specific <code>ICrossOverStrategy</code> containing
+ * the resulting plant, the chance to happen and the new stats.
+ * Instances are owned by a MutationEngine and reused for every cross over.
  */
 public class CrossOverResult {
 
-    private final Item seed;
-    private final int meta;
-    private final double chance;
+    private CropPlant plant;
+    private double chance;
 
     private int growth;
     private int gain;
     private int strength;
 
-    public CrossOverResult(Item seed, int meta, double chance) {
-        this.seed = seed;
-        this.meta = meta;
-        this.chance = chance;
+    public CrossOverResult() {
+        this.clear();
+    }
+
+    public CrossOverResult(CropPlant plant, double chance) {
+        this.set(plant, chance);
     }
 
-    /** Creates a new instance based on the planted seed of the given TE. Does not validate the TE */
-    public static CrossOverResult fromTileEntityCrop(TileEntityCrop crop) {
-        Item seed = crop.getSeedStack().getItem();
-        int meta = crop.getSeedStack().getItemDamage();
-        double chance = ((double) crop.getPlant().getSpreadChance())/100.0;
+    /** Sets the resulting plant and chance, this resets the stats */
+    public void set(CropPlant plant, double chance) {
+        this.plant = plant;
+        this.chance = chance;
+        this.setStats(0, 0, 0);
+    }
 
-        return new CrossOverResult(seed, meta, chance);
+    /** Sets this to the plant of the given TE. Does not validate the TE */
+    public void setFromTileEntityCrop(TileEntityCrop crop) {
+        CropPlant plant = crop.getPlant();
+        this.set(plant, ((double) plant.getSpreadChance())/100.0);
     }
 
-    /** Creates a new instanced based off the result of the given mutation. Does not validate the mutation object */
-    public static CrossOverResult fromMutation(Mutation mutation) {
-        Item seed = mutation.getResult().getItem();
-        int meta = mutation.getResult().getItemDamage();
+    /** Sets this to the result of the given mutation. Does not validate the mutation object */
+    public void setFromMutation(Mutation mutation) {
+        this.set(mutation.getResultPlant(), mutation.getChance());
+    }
 
-        return new CrossOverResult(seed, meta, mutation.getChance());
+    /** Clears this result so it doesn't hold on to a plant */
+    public void clear() {
+        this.set(null, 0);
     }
 
+    /** Builds an ItemStack of the seed with the stats, only used when the stats have to be calculated by an external calculator */
     public ItemStack toStack() {
-        ItemStack stack = new ItemStack(seed, 1, meta);
+        ItemStack stack = plant.getSeed().copy();
+        stack.stackSize = 1;
         NBTTagCompound tag = new NBTTagCompound();
         CropPlantHandler.setSeedNBT(tag, (short) growth, (short) gain, (short) strength, false);
         stack.setTagCompound(tag);
         return stack;
     }
 
+    public CropPlant getPlant() {
+        return plant;
+    }
+
     public Item getSeed() {
-        return seed;
+        return plant == null ? null : plant.getSeed().getItem();
     }
 
     public int getMeta() {
-        return meta;
+        return plant == null ? 0 : plant.getSeed().getItemDamage();
     }
 
     public double getChance() {
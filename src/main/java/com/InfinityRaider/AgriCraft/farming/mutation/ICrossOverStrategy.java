@@ -2,8 +2,15 @@ package com.InfinityRaider.AgriCraft.farming.mutation;
 
 /**
  * Base interface for different cross over strategies.
+ * Strategies are stateless, all state for a cross over is held by the MutationEngine.
  */
 public interface ICrossOverStrategy {
 
-    CrossOverResult executeStrategy();
+    /**
+     * Executes the strategy for the engine's crop
+     * @param engine the engine for the crop, holding its mature neighbours
+     * @param result the result to write the outcome to
+     * @return true if the result has been set, false if there is no result
+     */
+    boolean executeStrategy(MutationEngine engine, CrossOverResult result);
 }
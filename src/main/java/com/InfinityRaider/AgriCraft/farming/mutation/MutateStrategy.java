@@ -1,23 +1,47 @@
 package com.InfinityRaider.AgriCraft.farming.mutation;
 
 import com.InfinityRaider.AgriCraft.farming.mutation.statcalculator.StatCalculator;
+import com.InfinityRaider.AgriCraft.tileentity.TileEntityCrop;
 
-public class MutateStrategy extends BaseStrategy {
-    public MutateStrategy(MutationEngine mutationEngine) {
-        super(mutationEngine);
-    }
+public class MutateStrategy implements ICrossOverStrategy {
+    public static final MutateStrategy INSTANCE = new MutateStrategy();
+
+    private MutateStrategy() {}
 
     @Override
-    public CrossOverResult executeStrategy() {
-        Mutation[] crossOvers = MutationHandler.getCrossOvers(engine.getCrop().getMatureNeighbours());
-        if (crossOvers.length > 0) {
-            int index = engine.getRandom().nextInt(crossOvers.length);
-            if (crossOvers[index].getResult().getItem() != null) {
-                CrossOverResult result = CrossOverResult.fromMutation(crossOvers[index]);
-                StatCalculator.setResultStats(result, engine.getCrop().getMatureNeighbours(), true);
-                return result;
+    public boolean executeStrategy(MutationEngine engine, CrossOverResult result) {
+        int count = engine.getMatureNeighbourCount();
+        TileEntityCrop[] matureNeighbours = engine.getMatureNeighbours();
+        MutationIndex index = MutationHandler.getIndex();
+        //count the cross overs for every pair of parents first, so one can be picked without collecting them
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                total = total + getCrossOvers(index, matureNeighbours[i], matureNeighbours[j]).length;
             }
         }
-        return null;
+        if (total == 0) {
+            return false;
+        }
+        int pick = engine.getRandom().nextInt(total);
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                Mutation[] crossOvers = getCrossOvers(index, matureNeighbours[i], matureNeighbours[j]);
+                if (pick < crossOvers.length) {
+                    result.setFromMutation(crossOvers[pick]);
+                    if (result.getPlant() == null) {
+                        return false;
+                    }
+                    StatCalculator.setResultStats(result, matureNeighbours, count, true);
+                    return true;
+                }
+                pick = pick - crossOvers.length;
+            }
+        }
+        return false;
+    }
+
+    private static Mutation[] getCrossOvers(MutationIndex index, TileEntityCrop parent1, TileEntityCrop parent2) {
+        return index.getMutationsFromParents(parent1.getPlant().getRegistryId(), parent2.getPlant().getRegistryId());
     }
 }
@@ -16,6 +16,14 @@ public class Mutation implements IMutation {
         return result.copy();
     }
 
+    /**
+     * Gets the plant resulting from this mutation, without copying the result stack
+     * @return the resulting plant, or null if it is not a valid plant
+     */
+    public CropPlant getResultPlant() {
+        return result == null ? null : CropPlantHandler.getRegistry().getPlant(result.getItem(), result.getItemDamage());
+    }
+
     public ItemStack[] getParents() {
         ItemStack[] parents = new ItemStack[2];
         parents[0] = parent1.copy();
@@ -1,22 +1,37 @@
 package com.InfinityRaider.AgriCraft.farming.mutation;
 
-import com.InfinityRaider.AgriCraft.api.v1.IGrowthRequirement;
-import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
+import com.InfinityRaider.AgriCraft.farming.cropplant.CropPlant;
 import com.InfinityRaider.AgriCraft.handler.ConfigurationHandler;
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityCrop;
+import com.InfinityRaider.AgriCraft.utility.ForgeDirection;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
 
+import java.util.Arrays;
 import java.util.Random;
 
 /**
  * This class decides whether a plant is spreading or mutating and also
  * calculates the new stats (growth, gain, strength) of the new plant based on
  * the 4 neighbours.
+ *
+ * The engine owns all buffers needed for a cross over, so a cross over tick does not allocate anything.
  */
 public class MutationEngine {
+    private static final ForgeDirection[] NEIGHBOUR_DIRECTIONS = {ForgeDirection.NORTH, ForgeDirection.SOUTH, ForgeDirection.EAST, ForgeDirection.WEST};
 
     private final TileEntityCrop crop;
     private final Random random;
 
+    /** Mature neighbours of the crop, read once per cross over */
+    private final TileEntityCrop[] matureNeighbours = new TileEntityCrop[NEIGHBOUR_DIRECTIONS.length];
+    private int matureNeighbourCount;
+    /** Positions of the neighbours, cached since the position of the crop does not change */
+    private final BlockPos[] neighbourPositions = new BlockPos[NEIGHBOUR_DIRECTIONS.length];
+    private BlockPos neighbourOrigin;
+    private final CrossOverResult result = new CrossOverResult();
+
     public MutationEngine(TileEntityCrop crop) {
         this(crop, new Random());
     }
@@ -31,25 +46,59 @@ public class MutationEngine {
      */
     public void executeCrossOver() {
         ICrossOverStrategy strategy = rollStrategy();
-        CrossOverResult result = strategy.executeStrategy();
-        if (result == null || result.getSeed()==null) {
-            return;
-        }
-        if (resultIsValid(result) && random.nextDouble() < result.getChance()) {
+        readMatureNeighbours();
+        if (strategy.executeStrategy(this, result) && resultIsValid(result) && random.nextDouble() < result.getChance()) {
             crop.applyCrossOverResult(result);
         }
+        //don't hold on to other tile entities or plants in between ticks
+        Arrays.fill(matureNeighbours, null);
+        matureNeighbourCount = 0;
+        result.clear();
     }
 
     private boolean resultIsValid(CrossOverResult result) {
-        IGrowthRequirement growthReq = CropPlantHandler.getGrowthRequirement(result.getSeed(), result.getMeta());
-
-        boolean valid = result.getSeed() != null && CropPlantHandler.isValidSeed(result.toStack());
-        return valid && growthReq.canGrow(crop.getWorld(), crop.getPos());
+        CropPlant plant = result.getPlant();
+        return plant != null && !plant.isBlackListed() && plant.getGrowthRequirement().canGrow(crop.getWorld(), crop.getPos());
     }
 
     public ICrossOverStrategy rollStrategy() {
         boolean spreading = random.nextDouble() > ConfigurationHandler.mutationChance;
-        return spreading ? new SpreadStrategy(this) : new MutateStrategy(this);
+        return spreading ? SpreadStrategy.INSTANCE : MutateStrategy.INSTANCE;
+    }
+
+    /** Reads the neighbouring crops which have a mature plant into the neighbour buffer */
+    private void readMatureNeighbours() {
+        World world = crop.getWorld();
+        BlockPos pos = crop.getPos();
+        if (!pos.equals(neighbourOrigin)) {
+            for (int i = 0; i < NEIGHBOUR_DIRECTIONS.length; i++) {
+                ForgeDirection dir = NEIGHBOUR_DIRECTIONS[i];
+                neighbourPositions[i] = pos.add(dir.offsetX, dir.offsetY, dir.offsetZ);
+            }
+            neighbourOrigin = pos;
+        }
+        matureNeighbourCount = 0;
+        for (BlockPos neighbourPos : neighbourPositions) {
+            TileEntity te = world.getTileEntity(neighbourPos);
+            if (te instanceof TileEntityCrop) {
+                TileEntityCrop neighbour = (TileEntityCrop) te;
+                if (neighbour.hasPlant() && neighbour.isMature()) {
+                    matureNeighbours[matureNeighbourCount] = neighbour;
+                    matureNeighbourCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the buffer holding the mature neighbours for the current cross over, only the first {@link #getMatureNeighbourCount()} entries are valid
+     */
+    public TileEntityCrop[] getMatureNeighbours() {
+        return matureNeighbours;
+    }
+
+    public int getMatureNeighbourCount() {
+        return matureNeighbourCount;
     }
 
     public TileEntityCrop getCrop() {
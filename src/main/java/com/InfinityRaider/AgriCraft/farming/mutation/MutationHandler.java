@@ -11,14 +11,29 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 public abstract class MutationHandler {
 
     private static List<Mutation> mutations;
-    private static boolean isSyncing = false;
+    /** Lookup tables for the mutations, rebuilt every time the mutations list changes */
+    private static volatile MutationIndex index;
+    /** Binary form of the mutations to send to clients, built on request and cleared every time the mutations list changes */
+    private static volatile MutationTable syncTable;
+    /**
+     * Tables received from servers during this session, by hash.
+     * The cache is only kept in memory, so the first login to a server after starting the game always downloads the table.
+     */
+    @SideOnly(Side.CLIENT)
+    private static Map<Long, MutationTable> receivedTables;
+    /** Hash of the table the current mutations were read from, 0 if they were not received from a server in the current connection */
+    private static volatile long activeTableHash = 0;
 
     public static void init() {
         //Read mutations & initialize the mutation arrays
@@ -36,20 +51,70 @@ public abstract class MutationHandler {
                 LogHelper.info(" - " + mutation.getFormula());
             }
         }
+        rebuildIndex();
     }
 
+    /** @return the binary form of the current mutations, to send to clients */
+    public static MutationTable getSyncTable() {
+        MutationTable table = syncTable;
+        if(table == null) {
+            table = MutationTable.fromMutations(mutations);
+            syncTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Replaces the mutations with a table received from the server
+     * @return true if the table was valid
+     */
     @SideOnly(Side.CLIENT)
-    public static void syncFromServer(Mutation mutation, boolean finished) {
-        if(!isSyncing) {
-            LogHelper.info("Receiving mutations from server");
-            mutations = new ArrayList<>();
-            isSyncing = true;
+    public static boolean syncFromServer(MutationTable table) {
+        LogHelper.info("Receiving mutations from server");
+        if(!applyTable(table)) {
+            return false;
         }
-        mutations.add(mutation);
-        if(finished) {
-            isSyncing = false;
-            LogHelper.info("Successfully received mutations from server");
+        if(receivedTables == null) {
+            receivedTables = new HashMap<>();
+        }
+        receivedTables.put(table.getHash(), table);
+        LogHelper.info("Successfully received mutations from server");
+        return true;
+    }
+
+    /**
+     * Replaces the mutations with a table received from a server before
+     * @return true if a table with this hash was available, false if the server has to send the table
+     */
+    @SideOnly(Side.CLIENT)
+    public static boolean syncFromCache(long hash) {
+        if(hash == activeTableHash) {
+            LogHelper.info("Mutations are already in sync with the server");
+            return true;
         }
+        MutationTable table = receivedTables == null ? null : receivedTables.get(hash);
+        if(table != null && applyTable(table)) {
+            LogHelper.info("Reusing mutations previously received from the server");
+            return true;
+        }
+        return false;
+    }
+
+    /** Called when the client disconnects, the next server has to be synced again even if it offers the same table */
+    public static void onClientDisconnect() {
+        activeTableHash = 0;
+    }
+
+    @SideOnly(Side.CLIENT)
+    private static boolean applyTable(MutationTable table) {
+        Mutation[] received = table.decode();
+        if(received == null) {
+            return false;
+        }
+        mutations = new ArrayList<>(Arrays.asList(received));
+        rebuildIndex();
+        activeTableHash = table.getHash();
+        return true;
     }
 
 	private static Mutation readMutation(String input) { //Removed some string concatenation, and de-nested the if statements.
@@ -99,36 +164,30 @@ public abstract class MutationHandler {
 		return mutation;
 	}
 
+    /** Rebuilds the mutation lookup tables, must be called every time the mutations list changes */
+    private static void rebuildIndex() {
+        index = new MutationIndex(mutations);
+        syncTable = null;
+        activeTableHash = 0;
+    }
+
     //gets all the possible crossovers
     public static Mutation[] getCrossOvers(List<TileEntityCrop> crops) {
         TileEntityCrop[] parents = MutationHandler.filterParents(crops);
         ArrayList<Mutation> list = new ArrayList<>();
-        switch (parents.length) {
-            case 2:
-                list.addAll(MutationHandler.getMutationsFromParent(parents[0], parents[1]));
-                break;
-            case 3:
-                list.addAll(MutationHandler.getMutationsFromParent(parents[0], parents[1]));
-                list.addAll(MutationHandler.getMutationsFromParent(parents[0], parents[2]));
-                list.addAll(MutationHandler.getMutationsFromParent(parents[1], parents[2]));
-                break;
-            case 4:
-                list.addAll(MutationHandler.getMutationsFromParent(parents[0], parents[1]));
-                list.addAll(MutationHandler.getMutationsFromParent(parents[0], parents[2]));
-                list.addAll(MutationHandler.getMutationsFromParent(parents[0], parents[3]));
-                list.addAll(MutationHandler.getMutationsFromParent(parents[1], parents[2]));
-                list.addAll(MutationHandler.getMutationsFromParent(parents[1], parents[3]));
-                list.addAll(MutationHandler.getMutationsFromParent(parents[2], parents[3]));
-                break;
+        for(int i = 0; i < parents.length; i++) {
+            for(int j = i + 1; j < parents.length; j++) {
+                Collections.addAll(list, MutationHandler.getMutationsFromParent(parents[i], parents[j]));
+            }
         }
-        return cleanMutationArray(list.toArray(new Mutation[list.size()]));
+        return list.toArray(new Mutation[list.size()]);
     }
 
     //gets an array of all the possible parents from the array containing all the neighbouring crops
     private static TileEntityCrop[] filterParents(List<TileEntityCrop> input) {
         ArrayList<TileEntityCrop> list = new ArrayList<>();
         for(TileEntityCrop crop:input) {
-            if (crop != null && crop.isMature()) {
+            if (crop != null && crop.hasPlant() && crop.isMature()) {
                 list.add(crop);
             }
         }
@@ -136,34 +195,8 @@ public abstract class MutationHandler {
     }
 
     //finds the product of two parents
-    private static ArrayList<Mutation> getMutationsFromParent(TileEntityCrop parent1, TileEntityCrop parent2) {
-        Item seed1 = parent1.getSeedStack().getItem();
-        Item seed2 = parent2.getSeedStack().getItem();
-        int meta1 = parent1.getSeedStack().getItemDamage();
-        int meta2 = parent2.getSeedStack().getItemDamage();
-        ArrayList<Mutation> list = new ArrayList<>();
-        for (Mutation mutation:mutations) {
-            ItemStack parent1Stack = mutation.getParents()[0];
-            ItemStack parent2Stack = mutation.getParents()[1];
-            if ((seed1==parent1Stack.getItem() && seed2==parent2Stack.getItem()) && (meta1==parent1Stack.getItemDamage() && meta2==parent2Stack.getItemDamage())) {
-                list.add(mutation);
-            }
-            if ((seed1==parent2Stack.getItem() && seed2==parent1Stack.getItem()) && (meta1==parent2Stack.getItemDamage() && meta2==parent1Stack.getItemDamage())) {
-                list.add(mutation);
-            }
-        }
-        return list;
-    }
-
-    //removes null instance from a mutations array
-    private static Mutation[] cleanMutationArray(Mutation[] input) {
-        ArrayList<Mutation> list = new ArrayList<>();
-        for(Mutation mutation:input) {
-            if (mutation.getResult() != null) {
-                list.add(mutation);
-            }
-        }
-        return list.toArray(new Mutation[list.size()]);
+    private static Mutation[] getMutationsFromParent(TileEntityCrop parent1, TileEntityCrop parent2) {
+        return index.getMutationsFromParents(parent1.getPlant().getRegistryId(), parent2.getPlant().getRegistryId());
     }
 
 
@@ -176,39 +209,42 @@ public abstract class MutationHandler {
 
     //gets all the mutations this crop can mutate to
     public static Mutation[] getMutationsFromParent(ItemStack stack) {
-        ArrayList<Mutation> list = new ArrayList<>();
-        for (Mutation mutation : mutations) {
-            ItemStack parent1Stack = mutation.getParents()[0];
-            ItemStack parent2Stack = mutation.getParents()[1];
-            if (parent1Stack.getItem() == stack.getItem() && parent1Stack.getItemDamage() == stack.getItemDamage()) {
-                list.add(new Mutation(mutation));
-            }
-            if (parent2Stack.getItem() == stack.getItem() && parent2Stack.getItemDamage() == stack.getItemDamage()) {
-                if(parent2Stack.getItem() == parent1Stack.getItem() && parent2Stack.getItemDamage() == parent1Stack.getItemDamage()) {
-                    continue;
-                }
-                list.add(new Mutation(mutation));
-            }
+        if(stack == null) {
+            return MutationIndex.EMPTY;
         }
-
-        return list.toArray(new Mutation[list.size()]);
+        int id = CropPlantHandler.getRegistry().getId(stack.getItem(), stack.getItemDamage());
+        return copyMutations(index.getMutationsFromParent(id));
     }
 
     public static Mutation[] getMutationsFromChild(Item seed, int meta) {
-        return getMutationsFromChild(new ItemStack(seed, 1, meta));
+        if(!CropPlantHandler.isValidSeed(seed, meta)) {
+            return MutationIndex.EMPTY;
+        }
+        return copyMutations(index.getMutationsFromChild(CropPlantHandler.getRegistry().getId(seed, meta)));
     }
 
     //gets the parents this crop mutates from
     public static Mutation[] getMutationsFromChild(ItemStack stack) {
-        ArrayList<Mutation> list = new ArrayList<>();
-        if(CropPlantHandler.isValidSeed(stack)) {
-            for (Mutation mutation:mutations) {
-                if (mutation.getResult().getItem() == stack.getItem() && mutation.getResult().getItemDamage() == stack.getItemDamage()) {
-                    list.add(new Mutation(mutation));
-                }
-            }
+        if(stack == null) {
+            return MutationIndex.EMPTY;
         }
-        return list.toArray(new Mutation[list.size()]);
+        return getMutationsFromChild(stack.getItem(), stack.getItemDamage());
+    }
+
+    /**
+     * Gets the lookup tables for the current mutations, the returned index is immutable and is replaced when the mutations change.
+     * @return the current mutation index
+     */
+    public static MutationIndex getIndex() {
+        return index;
+    }
+
+    private static Mutation[] copyMutations(Mutation[] input) {
+        Mutation[] copies = new Mutation[input.length];
+        for(int i = 0; i < input.length; i++) {
+            copies[i] = new Mutation(input[i]);
+        }
+        return copies;
     }
 
     /**
@@ -224,17 +260,20 @@ public abstract class MutationHandler {
                 removedMutations.add(mutation);
             }
         }
+        rebuildIndex();
         return removedMutations;
     }
 
     /** Adds the given mutation to the mutations list */
     public static void add(Mutation mutation) {
         mutations.add(mutation);
+        rebuildIndex();
     }
 
     /** Removes the given mutation from the mutations list */
     public static void remove(Mutation mutation) {
         mutations.remove(mutation);
+        rebuildIndex();
     }
 
     /**
@@ -242,5 +281,6 @@ public abstract class MutationHandler {
      */
     public static void addAll(Collection<? extends Mutation> mutationsToAdd) {
         mutations.addAll(mutationsToAdd);
+        rebuildIndex();
     }
 }
@@ -0,0 +1,141 @@
+package com.InfinityRaider.AgriCraft.farming.mutation;
+
+import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
+import com.InfinityRaider.AgriCraft.farming.CropPlantRegistry;
+import com.InfinityRaider.AgriCraft.utility.LongIntHashMap;
+import net.minecraft.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable lookup tables for the registered mutations, keyed by plant registry ids.
+ * A new index is built by the MutationHandler every time the list of mutations changes.
+ */
+public final class MutationIndex {
+    public static final Mutation[] EMPTY = new Mutation[0];
+
+    /** Maps the unordered pair of parent ids to a slot in the byPair array */
+    private final LongIntHashMap pairSlots;
+    private final Mutation[][] byPair;
+    private final Mutation[][] byParent;
+    private final Mutation[][] byChild;
+    /** Contains the packed (child, parent) keys of every mutation */
+    private final LongIntHashMap parentsOfChild;
+
+    MutationIndex(List<Mutation> mutations) {
+        CropPlantRegistry registry = CropPlantHandler.getRegistry();
+        int plantCount = registry.size();
+        List<List<Mutation>> pairs = new ArrayList<>();
+        List<List<Mutation>> parents = newLists(plantCount);
+        List<List<Mutation>> children = newLists(plantCount);
+        this.pairSlots = new LongIntHashMap(mutations.size());
+        this.parentsOfChild = new LongIntHashMap(2 * mutations.size());
+        for(Mutation mutation : mutations) {
+            if(mutation == null) {
+                continue;
+            }
+            ItemStack result = mutation.getResult();
+            ItemStack[] parentStacks = mutation.getParents();
+            if(result == null || parentStacks[0] == null || parentStacks[1] == null) {
+                continue;
+            }
+            int child = registry.getId(result.getItem(), result.getItemDamage());
+            int parent1 = registry.getId(parentStacks[0].getItem(), parentStacks[0].getItemDamage());
+            int parent2 = registry.getId(parentStacks[1].getItem(), parentStacks[1].getItemDamage());
+            if(child != CropPlantRegistry.NO_PLANT) {
+                children.get(child).add(mutation);
+                if(parent1 != CropPlantRegistry.NO_PLANT) {
+                    parentsOfChild.put(LongIntHashMap.pack(child, parent1), 1);
+                }
+                if(parent2 != CropPlantRegistry.NO_PLANT) {
+                    parentsOfChild.put(LongIntHashMap.pack(child, parent2), 1);
+                }
+            }
+            if(parent1 == CropPlantRegistry.NO_PLANT || parent2 == CropPlantRegistry.NO_PLANT) {
+                continue;
+            }
+            parents.get(parent1).add(mutation);
+            if(parent2 != parent1) {
+                parents.get(parent2).add(mutation);
+            }
+            long key = getPairKey(parent1, parent2);
+            int slot = pairSlots.get(key, -1);
+            if(slot < 0) {
+                slot = pairs.size();
+                pairs.add(new ArrayList<Mutation>());
+                pairSlots.put(key, slot);
+            }
+            pairs.get(slot).add(mutation);
+        }
+        this.byPair = toArrays(pairs);
+        this.byParent = toArrays(parents);
+        this.byChild = toArrays(children);
+    }
+
+    /**
+     * Gets the mutations which can result from crossing two parents, the order of the parents does not matter.
+     * The returned array is shared and must not be modified.
+     * @param parent1 plant id of the first parent
+     * @param parent2 plant id of the second parent
+     * @return the possible mutations
+     */
+    public Mutation[] getMutationsFromParents(int parent1, int parent2) {
+        if(parent1 < 0 || parent2 < 0) {
+            return EMPTY;
+        }
+        int slot = pairSlots.get(getPairKey(parent1, parent2), -1);
+        return slot < 0 ? EMPTY : byPair[slot];
+    }
+
+    /**
+     * Gets the mutations which have the plant as one of their parents.
+     * The returned array is shared and must not be modified.
+     * @param parent the plant id of the parent
+     * @return the mutations with this parent
+     */
+    public Mutation[] getMutationsFromParent(int parent) {
+        return (parent < 0 || parent >= byParent.length) ? EMPTY : byParent[parent];
+    }
+
+    /**
+     * Gets the mutations which result in the plant.
+     * The returned array is shared and must not be modified.
+     * @param child the plant id of the result
+     * @return the mutations resulting in this plant
+     */
+    public Mutation[] getMutationsFromChild(int child) {
+        return (child < 0 || child >= byChild.length) ? EMPTY : byChild[child];
+    }
+
+    /**
+     * Checks if a plant is a parent in any of the mutations resulting in another plant
+     * @param child the plant id of the result
+     * @param parent the plant id of the possible parent
+     * @return true if there is a mutation for the child with this parent
+     */
+    public boolean isParentOf(int child, int parent) {
+        return child >= 0 && parent >= 0 && parentsOfChild.containsKey(LongIntHashMap.pack(child, parent));
+    }
+
+    private static long getPairKey(int parent1, int parent2) {
+        return parent1 <= parent2 ? LongIntHashMap.pack(parent1, parent2) : LongIntHashMap.pack(parent2, parent1);
+    }
+
+    private static List<List<Mutation>> newLists(int count) {
+        List<List<Mutation>> lists = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            lists.add(new ArrayList<Mutation>(0));
+        }
+        return lists;
+    }
+
+    private static Mutation[][] toArrays(List<List<Mutation>> lists) {
+        Mutation[][] arrays = new Mutation[lists.size()][];
+        for(int i = 0; i < arrays.length; i++) {
+            List<Mutation> list = lists.get(i);
+            arrays[i] = list.isEmpty() ? EMPTY : list.toArray(new Mutation[list.size()]);
+        }
+        return arrays;
+    }
+}
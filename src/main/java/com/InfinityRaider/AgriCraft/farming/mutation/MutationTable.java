@@ -0,0 +1,147 @@
+package com.InfinityRaider.AgriCraft.farming.mutation;
+
+import com.InfinityRaider.AgriCraft.utility.LogHelper;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary form of the mutation list, used to sync all mutations to a client in a single message.
+ *
+ * Items are written as numeric ids, which FML keeps identical on the server and the client after the login handshake.
+ * The table is deflated and identified by a hash of its uncompressed content, so a client can reuse a table it received before.
+ */
+public final class MutationTable {
+    /** Format version of the table, increase it when the layout changes */
+    private static final int VERSION = 1;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long hash;
+    private final byte[] data;
+
+    private MutationTable(long hash, byte[] data) {
+        this.hash = hash;
+        this.data = data;
+    }
+
+    /** Wraps a table received over the network */
+    public static MutationTable fromBytes(long hash, byte[] data) {
+        return new MutationTable(hash, data);
+    }
+
+    /** Encodes a list of mutations */
+    public static MutationTable fromMutations(List<Mutation> mutations) {
+        try {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(raw);
+            out.writeByte(VERSION);
+            out.writeInt(mutations.size());
+            for(Mutation mutation : mutations) {
+                writeStack(out, mutation.getResult());
+                ItemStack[] parents = mutation.getParents();
+                writeStack(out, parents[0]);
+                writeStack(out, parents[1]);
+                out.writeDouble(mutation.getChance());
+            }
+            out.flush();
+            byte[] uncompressed = raw.toByteArray();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(uncompressed.length / 2 + 16);
+            DeflaterOutputStream deflater = new DeflaterOutputStream(compressed);
+            deflater.write(uncompressed);
+            deflater.close();
+            return new MutationTable(hash(uncompressed), compressed.toByteArray());
+        } catch(IOException e) {
+            //can't happen with byte array streams
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decodes the mutations in this table
+     * @return the mutations, or null if the table is corrupt, has a different version or refers to unknown items
+     */
+    public Mutation[] decode() {
+        try {
+            byte[] uncompressed = inflate(data);
+            if(hash(uncompressed) != hash) {
+                LogHelper.info("Received mutation table does not match its hash");
+                return null;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(uncompressed));
+            int version = in.readUnsignedByte();
+            if(version != VERSION) {
+                LogHelper.info("Received mutation table has version " + version + ", expected " + VERSION);
+                return null;
+            }
+            Mutation[] mutations = new Mutation[in.readInt()];
+            for(int i = 0; i < mutations.length; i++) {
+                ItemStack result = readStack(in);
+                ItemStack parent1 = readStack(in);
+                ItemStack parent2 = readStack(in);
+                double chance = in.readDouble();
+                if(result == null || parent1 == null || parent2 == null) {
+                    LogHelper.info("Received mutation table refers to unknown items");
+                    return null;
+                }
+                mutations[i] = new Mutation(result, parent1, parent2, chance);
+            }
+            return mutations;
+        } catch(IOException e) {
+            LogHelper.info("Failed to read mutation table: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    /** @return the compressed table */
+    public byte[] getData() {
+        return data;
+    }
+
+    private static void writeStack(DataOutputStream out, ItemStack stack) throws IOException {
+        out.writeInt(stack == null || stack.getItem() == null ? -1 : Item.getIdFromItem(stack.getItem()));
+        out.writeInt(stack == null ? 0 : stack.getItemDamage());
+    }
+
+    private static ItemStack readStack(DataInputStream in) throws IOException {
+        int id = in.readInt();
+        int meta = in.readInt();
+        Item item = id < 0 ? null : Item.getItemById(id);
+        return item == null ? null : new ItemStack(item, 1, meta);
+    }
+
+    private static byte[] inflate(byte[] compressed) throws IOException {
+        InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(compressed));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+        byte[] buffer = new byte[1024];
+        int read;
+        while((read = in.read(buffer)) > 0) {
+            out.write(buffer, 0, read);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    /** 64 bit FNV-1a hash */
+    private static long hash(byte[] bytes) {
+        long hash = FNV_OFFSET;
+        for(byte b : bytes) {
+            hash ^= (b & 0xFF);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -4,24 +4,21 @@ package com.InfinityRaider.AgriCraft.farming.mutation;
 import com.InfinityRaider.AgriCraft.farming.mutation.statcalculator.StatCalculator;
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityCrop;
 
-import java.util.List;
+public class SpreadStrategy implements ICrossOverStrategy {
+    public static final SpreadStrategy INSTANCE = new SpreadStrategy();
 
-public class SpreadStrategy extends BaseStrategy {
-    public SpreadStrategy(MutationEngine mutationEngine) {
-        super(mutationEngine);
-    }
+    private SpreadStrategy() {}
 
     @Override
-    public CrossOverResult executeStrategy() {
-        List<TileEntityCrop> matureNeighbours = engine.getCrop().getMatureNeighbours();
-        if (matureNeighbours.isEmpty()) {
-            return null;
+    public boolean executeStrategy(MutationEngine engine, CrossOverResult result) {
+        int count = engine.getMatureNeighbourCount();
+        if (count == 0) {
+            return false;
         }
-
-        int index = engine.getRandom().nextInt(matureNeighbours.size());
-        TileEntityCrop neighbour = matureNeighbours.get(index);
-        CrossOverResult result = CrossOverResult.fromTileEntityCrop(neighbour);
-        StatCalculator.setResultStats(result, matureNeighbours, false);
-        return result;
+        TileEntityCrop[] matureNeighbours = engine.getMatureNeighbours();
+        int index = engine.getRandom().nextInt(count);
+        result.setFromTileEntityCrop(matureNeighbours[index]);
+        StatCalculator.setResultStats(result, matureNeighbours, count, false);
+        return true;
     }
 }
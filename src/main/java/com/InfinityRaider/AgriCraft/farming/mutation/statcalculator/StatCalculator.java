@@ -7,6 +7,7 @@ import com.InfinityRaider.AgriCraft.farming.mutation.CrossOverResult;
 import com.InfinityRaider.AgriCraft.handler.ConfigurationHandler;
 import net.minecraft.item.ItemStack;
 
+import java.util.Arrays;
 import java.util.List;
 
 public abstract class StatCalculator implements IStatCalculator {
@@ -32,13 +33,29 @@ public abstract class StatCalculator implements IStatCalculator {
     /**
      * Applies the stats to the resulting crop after a spread or mutation
      * @param result The result from the spread/mutation
-     * @param input A list with all the neighbouring crops, any neighbouring crop is in this list (with or without plant, mature or not, with weeds or not, ...)
+     * @param parents A buffer holding the mature neighbouring crops
+     * @param count The number of valid entries in the parents buffer
      * @param mutation if this result comes from a mutation or from a spread
      */
-    public static void setResultStats(CrossOverResult result, List<? extends ICrop> input, boolean mutation) {
-        ISeedStats stats = instance.calculateStats(result.toStack(), input, mutation);
-        result.setStats(stats.getGrowth(), stats.getGain(), stats.getStrength());
+    public static void setResultStats(CrossOverResult result, ICrop[] parents, int count, boolean mutation) {
+        IStatCalculator calculator = getInstance();
+        if(calculator instanceof StatCalculator) {
+            ((StatCalculator) calculator).calculateResultStats(result, parents, count, mutation);
+        } else {
+            //calculators set through the API only work with ItemStacks and lists
+            ISeedStats stats = calculator.calculateStats(result.toStack(), Arrays.asList(parents).subList(0, count), mutation);
+            result.setStats(stats.getGrowth(), stats.getGain(), stats.getStrength());
+        }
     }
 
     public abstract ISeedStats calculateStats(ItemStack result, List<? extends ICrop> input, boolean mutation);
+
+    /**
+     * Calculates the stats for a spread or mutation result and sets them on the result, this should not allocate any objects
+     * @param result The result from the spread/mutation
+     * @param parents A buffer holding the mature neighbouring crops
+     * @param count The number of valid entries in the parents buffer
+     * @param mutation if this result comes from a mutation or from a spread
+     */
+    protected abstract void calculateResultStats(CrossOverResult result, ICrop[] parents, int count, boolean mutation);
 }
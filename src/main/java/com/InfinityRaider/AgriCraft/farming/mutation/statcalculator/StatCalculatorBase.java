@@ -1,12 +1,15 @@
 package com.InfinityRaider.AgriCraft.farming.mutation.statcalculator;
 
+import com.InfinityRaider.AgriCraft.api.v1.ICropPlant;
 import com.InfinityRaider.AgriCraft.api.v1.ISeedStats;
 import com.InfinityRaider.AgriCraft.api.v1.ICrop;
+import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
+import com.InfinityRaider.AgriCraft.farming.CropPlantRegistry;
 import com.InfinityRaider.AgriCraft.farming.PlantStats;
-import com.InfinityRaider.AgriCraft.farming.mutation.Mutation;
+import com.InfinityRaider.AgriCraft.farming.cropplant.CropPlant;
+import com.InfinityRaider.AgriCraft.farming.mutation.CrossOverResult;
 import com.InfinityRaider.AgriCraft.farming.mutation.MutationHandler;
 import com.InfinityRaider.AgriCraft.handler.ConfigurationHandler;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 
 import java.util.ArrayList;
@@ -16,13 +19,28 @@ public abstract  class StatCalculatorBase extends StatCalculator {
     @Override
     public ISeedStats calculateStats(ItemStack result, List<? extends ICrop> input, boolean mutation) {
         ICrop[] parents = filterParents(input);
-        int nrParents = parents.length;
+        CropPlant plant = result == null ? null : CropPlantHandler.getRegistry().getPlant(result.getItem(), result.getItemDamage());
+        CrossOverResult holder = new CrossOverResult(plant, 0);
+        calculateResultStats(holder, parents, parents.length, mutation);
+        return new PlantStats(holder.getGrowth(), holder.getGain(), holder.getStrength());
+    }
+
+    @Override
+    protected void calculateResultStats(CrossOverResult result, ICrop[] parents, int count, boolean mutation) {
+        int child = getPlantId(result.getPlant());
         int nrValidParents = 0;
-        int[] growth = new int[nrParents];
-        int[] gain = new int[nrParents];
-        int[] strength = new int[nrParents];
-        for (int i = 0; i < nrParents; i++) {
-            boolean canInherit = canInheritStats(result.getItem(), result.getItemDamage(), parents[i].getSeedStack().getItem(), parents[i].getSeedStack().getItemDamage());
+        int growthSum = 0;
+        int growthTotal = 0;
+        int gainSum = 0;
+        int gainTotal = 0;
+        int strengthSum = 0;
+        int strengthTotal = 0;
+        for (int i = 0; i < count; i++) {
+            ICrop parent = parents[i];
+            if (parent == null || !parent.isMature()) {
+                continue;
+            }
+            boolean canInherit = canInheritStats(child, getPlantId(parent.getPlant()));
             if (canInherit) {
                 nrValidParents = nrValidParents + 1;
             }
@@ -31,15 +49,28 @@ public abstract  class StatCalculatorBase extends StatCalculator {
             //0 : if neighbour is a non-parent crop, and non parent crops affect stat gain negatively, multiplier is 0 (0 will reduce the average)
             //1 : if neighbour is parent crop, multiplier is 1
             int multiplier = canInherit ? 1 : (ConfigurationHandler.otherCropsAffectStatsNegatively ? 0 : -1);
-            growth[i] = multiplier * parents[i].getGrowth();
-            gain[i] = multiplier * parents[i].getGain();
-            strength[i] = multiplier * parents[i].getStrength();
+            int growth = multiplier * parent.getGrowth();
+            int gain = multiplier * parent.getGain();
+            int strength = multiplier * parent.getStrength();
+            //negative values are ignored when calculating the mean
+            if (growth >= 0) {
+                growthSum = growthSum + growth;
+                growthTotal++;
+            }
+            if (gain >= 0) {
+                gainSum = gainSum + gain;
+                gainTotal++;
+            }
+            if (strength >= 0) {
+                strengthSum = strengthSum + strength;
+                strengthTotal++;
+            }
         }
-        int meanGrowth = getMeanIgnoringNegativeValues(growth);
-        int meanGain = getMeanIgnoringNegativeValues(gain);
-        int meanStrength = getMeanIgnoringNegativeValues(strength);
         int divisor = mutation ? ConfigurationHandler.cropStatDivisor : 1;
-        return new PlantStats(calculateStats(meanGrowth, nrValidParents, divisor), calculateStats(meanGain, nrValidParents, divisor), calculateStats(meanStrength, nrValidParents, divisor));
+        result.setStats(
+                calculateStats(getMean(growthSum, growthTotal), nrValidParents, divisor),
+                calculateStats(getMean(gainSum, gainTotal), nrValidParents, divisor),
+                calculateStats(getMean(strengthSum, strengthTotal), nrValidParents, divisor));
     }
 
     //gets an array of all the possible parents from the array containing all the neighbouring crops
@@ -53,7 +84,13 @@ public abstract  class StatCalculatorBase extends StatCalculator {
         return list.toArray(new ICrop[list.size()]);
     }
 
-    protected boolean canInheritStats(Item child, int childMeta, Item seed, int seedMeta) {
+    /**
+     * Checks if a crop can pass on its stats to the result
+     * @param child the plant id of the result
+     * @param seed the plant id of the neighbouring crop
+     * @return if the stats can be inherited
+     */
+    protected boolean canInheritStats(int child, int seed) {
         int validParentId = ConfigurationHandler.validParents;
         //1: any crop
         //2: only parent crops and identical crops
@@ -61,48 +98,20 @@ public abstract  class StatCalculatorBase extends StatCalculator {
         if(validParentId == 1) {
             return true;
         }
+        boolean identical = child != CropPlantRegistry.NO_PLANT && child == seed;
         if(validParentId == 3) {
-            return child==seed && childMeta==seedMeta;
+            return identical;
         }
-        boolean b = child==seed && childMeta==seedMeta;
-        if(!b) {
-            for(Mutation mutation: MutationHandler.getMutationsFromChild(child, childMeta)) {
-                if(mutation!=null) {
-                    ItemStack parent1Stack = mutation.getParents()[0];
-                    ItemStack parent2Stack = mutation.getParents()[1];
-                    if(parent1Stack.getItem()==seed && parent1Stack.getItemDamage()==seedMeta) {
-                        b = true;
-                        break;
-                    }
-                    else if(parent2Stack.getItem()==seed && parent2Stack.getItemDamage()==seedMeta) {
-                        b = true;
-                        break;
-                    }
-                }
-            }
-        }
-        return b;
+        return identical || MutationHandler.getIndex().isParentOf(child, seed);
     }
 
-    /**returns the mean value of an int array, this ignores negative values in the array*/
-    private int getMeanIgnoringNegativeValues(int[] input) {
-        int sum = 0;
-        int total = input.length;
-        int mean = 0;
-        if(total>0) {
-            for (int nr : input) {
-                if(nr>=0) {
-                    sum = sum + nr;
-                }
-                else {
-                    total--;
-                }
-            }
-            if(total>0) {
-                mean = Math.round(((float) sum) / ((float) total));
-            }
-        }
-        return mean;
+    private static int getPlantId(ICropPlant plant) {
+        return plant instanceof CropPlant ? ((CropPlant) plant).getRegistryId() : CropPlantRegistry.NO_PLANT;
+    }
+
+    /**returns the mean value of a sum of non negative values*/
+    private static int getMean(int sum, int total) {
+        return total > 0 ? Math.round(((float) sum) / ((float) total)) : 0;
     }
 
     /** calculates the new stats based on an input stat, the nr of neighbours and a divisor*/
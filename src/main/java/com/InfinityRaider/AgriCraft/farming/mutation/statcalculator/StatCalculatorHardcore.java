@@ -3,6 +3,9 @@ package com.InfinityRaider.AgriCraft.farming.mutation.statcalculator;
 import com.InfinityRaider.AgriCraft.handler.ConfigurationHandler;
 
 public class StatCalculatorHardcore extends StatCalculatorBase {
+    /** Cached since Action.values() copies the array on every call */
+    private static final Action[] ACTIONS = Action.values();
+
     /**
      * calculates the new stats based on an input stat, the nr of neighbours and a divisor
      */
@@ -22,7 +25,7 @@ public class StatCalculatorHardcore extends StatCalculatorBase {
 
     private Action getAction(int count) {
         int totalWeight = 0;
-        Action[] actions = Action.values();
+        Action[] actions = ACTIONS;
         for(Action action:actions) {
             totalWeight = totalWeight + action.getWeight(count);
         }
@@ -55,7 +55,7 @@ public class GuiSeedStorage extends GuiSeedStorageBase {
     @Override
     protected void actionPerformed(GuiButton button) {
         if(button.id == buttonIdScrollRight+1){
-            NetworkWrapperAgriCraft.wrapper.sendToServer(new MessageGuiSeedStorageClearSeed(Minecraft.getMinecraft().thePlayer));
+            NetworkWrapperAgriCraft.wrapper.sendToServer(new MessageGuiSeedStorageClearSeed());
             this.updateScreen();
         } else {
             super.actionPerformed(button);
@@ -1,6 +1,5 @@
 package com.InfinityRaider.AgriCraft.gui;
 
-import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
 import com.InfinityRaider.AgriCraft.farming.PlantStats;
 import com.InfinityRaider.AgriCraft.container.ContainerSeedStorageBase;
 import com.InfinityRaider.AgriCraft.reference.Names;
@@ -57,6 +56,8 @@ public abstract class GuiSeedStorageBase extends GuiContainer {
     private final int seedSlotButtonOffset_Y;
     protected List<Component<PlantStatsStorage>> activeSeeds;
     protected List<Component<ItemStack>> setActiveSeedButtons;
+    //reusable stacks to draw the visible seeds
+    private final SeedStackViewPool seedViews = new SeedStackViewPool();
 
     public GuiSeedStorageBase(ContainerSeedStorageBase container, int maxVertSlots, int maxHorSlots, int sortButtonX, int sortButtonY, int setActiveSeedButtonsX, int setActiveSeedButtonsY, int seedSlotsX, int seedSlotsY) {
         super(container);
@@ -126,14 +127,12 @@ public abstract class GuiSeedStorageBase extends GuiContainer {
     private void initSeedSlots() {
         getActiveSeed();
         this.activeSeeds = new ArrayList<>();
-        List<SeedStorageSlot> list = this.container.getSeedSlots(this.activeSeed, this.activeMeta);
-        if(list!=null) {
-            this.sortByStat(list);
-            for (int i = scrollPositionHorizontal; i < Math.min(list.size(), scrollPositionHorizontal + maxHorSlots); i++) {
-                SeedStorageSlot slot = list.get(i);
-                PlantStatsStorage stats = new PlantStatsStorage(slot.getId(), slot.getStack(this.activeSeed, this.activeMeta));
-                activeSeeds.add(new Component<>(stats, this.guiLeft + seedSlotButtonOffset_X + (i-scrollPositionHorizontal) * 16, this.guiTop + seedSlotButtonOffset_Y, 16, 16));
-            }
+        List<SeedStorageSlot> list = this.getSortedSlots();
+        //only the visible window is built, the view is already sorted
+        for (int i = scrollPositionHorizontal; i < Math.min(list.size(), scrollPositionHorizontal + maxHorSlots); i++) {
+            SeedStorageSlot slot = list.get(i);
+            PlantStatsStorage stats = new PlantStatsStorage(slot);
+            activeSeeds.add(new Component<>(stats, this.guiLeft + seedSlotButtonOffset_X + (i-scrollPositionHorizontal) * 16, this.guiTop + seedSlotButtonOffset_Y, 16, 16));
         }
     }
 
@@ -205,16 +204,18 @@ public abstract class GuiSeedStorageBase extends GuiContainer {
         super.mouseClicked(x, y, rightClick);
     }
 
-    private void sortByStat(List<SeedStorageSlot> list) {
+    /** @return a read-only view of the slots of the active seed, sorted by the selected stat */
+    private List<SeedStorageSlot> getSortedSlots() {
+        if(!this.hasActiveSeed()) {
+            return Collections.emptyList();
+        }
         String stat=null;
         switch(this.sortStatId) {
             case buttonIdGrowth: stat = Names.NBT.growth; break;
             case buttonIdGain: stat = Names.NBT.gain; break;
             case buttonIdStrength: stat = Names.NBT.strength; break;
         }
-        if(stat!=null && this.activeSeed!=null) {
-            Collections.sort(list, new SeedStorageSlot.SlotComparator(stat));
-        }
+        return this.container.getSortedSeedSlots(this.activeSeed, this.activeMeta, stat);
     }
 
     private void scrollVertical(int amount) {
@@ -257,7 +258,7 @@ public abstract class GuiSeedStorageBase extends GuiContainer {
     }
 
     private int seedSlotAmount() {
-        return this.hasActiveSeed()?this.container.getSeedSlots(activeSeed, activeMeta).size():0;
+        return this.getSortedSlots().size();
     }
 
     protected void drawActiveEntries(ResourceLocation texture, int xOffset, int yOffset) {
@@ -274,8 +275,7 @@ public abstract class GuiSeedStorageBase extends GuiContainer {
                 short gain = stats.getGain();
                 short strength = stats.getStrength();
                 //draw the seed icon
-                ItemStack stack = new ItemStack(activeSeed, stats.amount, activeMeta);
-                stack.setTagCompound(CropPlantHandler.setSeedNBT(new NBTTagCompound(), growth, gain, strength, true));
+                ItemStack stack = seedViews.getView(i, activeSeed, activeMeta, stats.amount, stats.packedStats, growth, gain, strength);
                 itemRender.renderItemIntoGUI(stack, component.xOffset(), component.yOffset());
                 itemRender.renderItemOverlayIntoGUI(fontRendererObj, stack, component.xOffset(), component.yOffset(), "" + stack.stackSize);
                 //draw the stat bars
@@ -316,7 +316,8 @@ public abstract class GuiSeedStorageBase extends GuiContainer {
         if(!this.hasActiveSeed()) {
             return;
         }
-        for (Component<PlantStatsStorage> component : this.activeSeeds) {
+        for (int i = 0; i < this.activeSeeds.size(); i++) {
+            Component<PlantStatsStorage> component = this.activeSeeds.get(i);
             if (component != null && component.getComponent() != null) {
                 //tooltip
                 if (component.isOverComponent(x, y)) {
@@ -324,8 +325,7 @@ public abstract class GuiSeedStorageBase extends GuiContainer {
                     short growth = stats.getGrowth();
                     short gain = stats.getGain();
                     short strength = stats.getStrength();
-                    ItemStack stack = new ItemStack(activeSeed, stats.amount, activeMeta);
-                    stack.setTagCompound(CropPlantHandler.setSeedNBT(new NBTTagCompound(), growth, gain, strength, true));
+                    ItemStack stack = seedViews.getView(i, activeSeed, activeMeta, stats.amount, stats.packedStats, growth, gain, strength);
                     List toolTip = stack.getTooltip(Minecraft.getMinecraft().thePlayer, true);
                     drawHoveringText(toolTip, x - this.guiLeft, y - this.guiTop, fontRendererObj);
                 }
@@ -347,6 +347,14 @@ public abstract class GuiSeedStorageBase extends GuiContainer {
     protected static class PlantStatsStorage extends PlantStats {
         private int id;
         private int amount;
+        private int packedStats;
+
+        public PlantStatsStorage(SeedStorageSlot slot) {
+            super(slot.getGrowth(), slot.getGain(), slot.getStrength());
+            this.amount = slot.count;
+            this.id = slot.getId();
+            this.packedStats = slot.getPackedStats();
+        }
 
         public PlantStatsStorage(int id, ItemStack stack) {
             super();
@@ -357,6 +365,7 @@ public abstract class GuiSeedStorageBase extends GuiContainer {
             }
             this.amount = stack.stackSize;
             this.id = id;
+            this.packedStats = SeedStorageSlot.packStats(getGrowth(), getGain(), getStrength());
         }
 
         public int id() {return id;}
@@ -0,0 +1,52 @@
+package com.InfinityRaider.AgriCraft.gui;
+
+import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.Arrays;
+
+/**
+ * Reusable ItemStacks to draw the seeds in a seed storage GUI.
+ * Each visible position has its own stack, whose tag is only rewritten when the seed at that position has different stats.
+ * The returned stacks are views and must never be handed to an inventory.
+ */
+@SideOnly(Side.CLIENT)
+public class SeedStackViewPool {
+    private ItemStack[] views = new ItemStack[0];
+    private int[] stats = new int[0];
+
+    /**
+     * Gets the view for a visible position
+     * @param index the position in the GUI
+     * @param seed the seed item
+     * @param meta the seed meta
+     * @param amount the number of seeds
+     * @param packedStats the stats of the seeds, as packed by the SeedStorageSlot
+     * @param growth the growth stat
+     * @param gain the gain stat
+     * @param strength the strength stat
+     * @return a stack for drawing only
+     */
+    public ItemStack getView(int index, Item seed, int meta, int amount, int packedStats, short growth, short gain, short strength) {
+        if(index >= views.length) {
+            views = Arrays.copyOf(views, index + 1);
+            stats = Arrays.copyOf(stats, index + 1);
+        }
+        ItemStack view = views[index];
+        if(view == null || view.getItem() != seed || view.getItemDamage() != meta) {
+            view = new ItemStack(seed, amount, meta);
+            view.setTagCompound(CropPlantHandler.setSeedNBT(new NBTTagCompound(), growth, gain, strength, true));
+            views[index] = view;
+            stats[index] = packedStats;
+        } else if(stats[index] != packedStats) {
+            CropPlantHandler.setSeedNBT(view.getTagCompound(), growth, gain, strength, true);
+            stats[index] = packedStats;
+        }
+        view.stackSize = amount;
+        return view;
+    }
+}
@@ -61,6 +61,7 @@ public class ConfigurationHandler {
     public static boolean bonemealMutation;
     public static boolean onlyMatureDropSeeds;
     public static boolean weedsDestroyCropSticks;
+    public static boolean automatedHarvestIntoInventories;
     public static float growthMultiplier;
     public static boolean rakingDrops;
     public static boolean modSpecifDrops;
@@ -154,6 +155,7 @@ public class ConfigurationHandler {
         bonemealMutation = config.getBoolean("Bonemeal Mutations", Categories.CATEGORY_FARMING, false, "set to false if you wish to disable using bonemeal on a cross crop to force a mutation");
         onlyMatureDropSeeds = config.getBoolean("Only mature crops drop seeds", Categories.CATEGORY_FARMING, false, "set this to true to make only mature crops drop seeds (to encourage trowel usage)");
         weedsDestroyCropSticks = config.getBoolean("Weeds destroy crop sticks", Categories.CATEGORY_FARMING, false, "set this to true to have weeds destroy the crop sticks when they are broken with weeds (to encourage rake usage)");
+        automatedHarvestIntoInventories = config.getBoolean("Automated harvests into inventories", Categories.CATEGORY_FARMING, false, "set this to true to insert the drops of crops harvested by automation into adjacent inventories instead of dropping them");
         growthMultiplier = config.getFloat("Growth rate multiplier", Categories.CATEGORY_FARMING, 1.0F, 0.0F, 2.0F, "This is a global growth rate multiplier");
         rakingDrops = config.getBoolean("Raking weeds drops items", Categories.CATEGORY_FARMING, true, "set to false if you wish to disable drops from raking weeds");
         modSpecifDrops = config.getBoolean("Mod specific drops", Categories.CATEGORY_FARMING, true, "set to false to disable mod specific drops, this will (for instance) cause Natura berries to drop from Harvestcraft berry crops");
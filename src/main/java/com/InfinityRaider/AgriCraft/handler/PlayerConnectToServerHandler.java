@@ -1,16 +1,15 @@
 package com.InfinityRaider.AgriCraft.handler;
 
 import com.InfinityRaider.AgriCraft.AgriCraft;
-import com.InfinityRaider.AgriCraft.farming.mutation.Mutation;
 import com.InfinityRaider.AgriCraft.farming.mutation.MutationHandler;
 import com.InfinityRaider.AgriCraft.network.MessageSyncMutation;
 import com.InfinityRaider.AgriCraft.network.NetworkWrapperAgriCraft;
-import com.InfinityRaider.AgriCraft.utility.LogHelper;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
 
 @SuppressWarnings("unused")
 public class PlayerConnectToServerHandler {
@@ -39,11 +38,13 @@ public class PlayerConnectToServerHandler {
         }
     }
 
+    @SubscribeEvent
+    public void onClientDisconnect(FMLNetworkEvent.ClientDisconnectionFromServerEvent event) {
+        MutationHandler.onClientDisconnect();
+    }
+
+    /** Offers the mutation table by its hash, the client requests the full table if it doesn't have it yet */
     private void syncMutations(EntityPlayerMP player) {
-        LogHelper.info("Sending mutations to player: " + player.getDisplayName());
-        Mutation[] mutations = MutationHandler.getMutations();
-        for (int i = 0; i < mutations.length; i++) {
-            NetworkWrapperAgriCraft.wrapper.sendTo(new MessageSyncMutation(mutations[i], i == mutations.length - 1), player);
-        }
+        NetworkWrapperAgriCraft.wrapper.sendTo(new MessageSyncMutation(MutationHandler.getSyncTable().getHash()), player);
     }
 }
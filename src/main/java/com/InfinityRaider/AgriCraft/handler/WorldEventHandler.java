@@ -0,0 +1,18 @@
+package com.InfinityRaider.AgriCraft.handler;
+
+import com.InfinityRaider.AgriCraft.tileentity.irrigation.IrrigationNetworkManager;
+import com.InfinityRaider.AgriCraft.tileentity.irrigation.IrrigationTickMetrics;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+@SuppressWarnings("unused")
+public class WorldEventHandler {
+    /** Drops the irrigation state kept per dimension when a server world unloads */
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if(!event.world.isRemote) {
+            IrrigationTickMetrics.onWorldUnload(event.world);
+            IrrigationNetworkManager.onWorldUnload(event.world);
+        }
+    }
+}
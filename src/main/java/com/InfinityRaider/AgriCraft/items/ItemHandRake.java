@@ -145,7 +145,8 @@ public class ItemHandRake extends ItemBase implements IRake{
         }
 
         public ItemStack getDrop(Random rand) {
-            return registry.getRandomEntry(rand).copy();
+            ItemStack drop = registry.getRandomEntry(rand);
+            return drop == null ? null : drop.copy();
         }
 
         public int getWeight(ItemStack stack) {
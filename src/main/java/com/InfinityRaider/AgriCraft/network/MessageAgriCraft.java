@@ -3,84 +3,97 @@ package com.InfinityRaider.AgriCraft.network;
 import com.InfinityRaider.AgriCraft.AgriCraft;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.BlockPos;
-import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
-import java.util.Iterator;
-import java.util.List;
-
+/**
+ * Base class for the messages, with a compact encoding for the common types:
+ * varints, BlockPos packed in a long, items as numeric ids (FML keeps them identical on both sides)
+ * and players taken from the connection the message arrived on instead of being sent by name.
+ */
 public abstract class MessageAgriCraft implements IMessage {
-    protected BlockPos readBlockPosFromByteBuf(ByteBuf buf) {
-        return new BlockPos(buf.readInt(), buf.readInt(), buf.readInt());
+    /** Maximum number of bytes of a varint holding an int */
+    protected static final int VAR_INT_SIZE = 5;
+
+    protected int readVarInt(ByteBuf buf) {
+        return ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
     }
 
-    protected ByteBuf writeBlockPosToByteBuf(ByteBuf buf, BlockPos pos) {
-        buf.writeInt(pos.getX());
-        buf.writeInt(pos.getY());
-        buf.writeInt(pos.getZ());
+    /** Writes an int as varint, negative values take 5 bytes, use writeSignedVarInt if they are common */
+    protected ByteBuf writeVarInt(ByteBuf buf, int value) {
+        ByteBufUtils.writeVarInt(buf, value, VAR_INT_SIZE);
         return buf;
     }
 
-    protected EntityPlayer getPlayerFromByteBuf(ByteBuf buf) {
-        int playerNameLength = buf.readInt();
-        String name = new String(buf.readBytes(playerNameLength).array());
-        List list = MinecraftServer.getServer().getConfigurationManager().playerEntityList;
-        EntityPlayer player = null;
-        Iterator iterator = list.iterator();
-        while (iterator.hasNext() && player==null) {
-            EntityPlayer nextPlayer = (EntityPlayer)iterator.next();
-            if(nextPlayer.getGameProfile().getName().equals(name)) {
-                player = nextPlayer;
-            }
-        }
-        return player;
+    protected int readSignedVarInt(ByteBuf buf) {
+        int zigZag = readVarInt(buf);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    /** Writes an int as zigzag encoded varint, small negative values take as few bytes as small positive values */
+    protected ByteBuf writeSignedVarInt(ByteBuf buf, int value) {
+        return writeVarInt(buf, (value << 1) ^ (value >> 31));
+    }
+
+    protected BlockPos readBlockPosFromByteBuf(ByteBuf buf) {
+        return BlockPos.fromLong(buf.readLong());
     }
 
-    protected ByteBuf writePlayerToByteBuf(EntityPlayer player, ByteBuf buf) {
-        String playerName = player==null?"null":player.getGameProfile().getName();
-        buf.writeInt(playerName.length());
-        buf.writeBytes(playerName.getBytes());
+    protected ByteBuf writeBlockPosToByteBuf(ByteBuf buf, BlockPos pos) {
+        buf.writeLong(pos.toLong());
         return buf;
     }
 
+    /** @return the player who sent this message, only valid for messages handled on the server */
+    protected EntityPlayerMP getPlayer(MessageContext ctx) {
+        return ctx.getServerHandler().playerEntity;
+    }
+
     protected Item readItemFromByteBuf(ByteBuf buf) {
-        int itemNameLength = buf.readInt();
-        String itemName = new String(buf.readBytes(itemNameLength).array());
-        return  Item.itemRegistry.getObject(new ResourceLocation(itemName));
+        int id = readVarInt(buf) - 1;
+        return id < 0 ? null : Item.getItemById(id);
     }
 
+    /** Writes the numeric id of an item, shifted by one so null takes a single byte */
     protected void writeItemToByteBuf(Item item, ByteBuf buf) {
-        String itemName = item==null?"null":Item.itemRegistry.getNameForObject(item).toString();
-        buf.writeInt(itemName.length());
-        buf.writeBytes(itemName.getBytes());
+        writeVarInt(buf, item == null ? 0 : Item.getIdFromItem(item) + 1);
     }
 
     protected ItemStack readItemStackToByteBuf(ByteBuf buf) {
         Item item = this.readItemFromByteBuf(buf);
-        int meta = buf.readInt();
-        int amount = buf.readInt();
+        int meta = readVarInt(buf);
+        int amount = readVarInt(buf);
         return item==null?null:new ItemStack(item, amount, meta);
     }
 
     protected ByteBuf writeItemStackFromByteBuf(ByteBuf buf, ItemStack stack) {
         this.writeItemToByteBuf(stack.getItem(), buf);
-        buf.writeInt(stack.getItemDamage());
-        buf.writeInt(stack.stackSize);
+        writeVarInt(buf, stack.getItemDamage());
+        writeVarInt(buf, stack.stackSize);
+        return buf;
+    }
+
+    protected String readStringFromByteBuf(ByteBuf buf) {
+        return ByteBufUtils.readUTF8String(buf);
+    }
+
+    protected ByteBuf writeStringToByteBuf(ByteBuf buf, String string) {
+        ByteBufUtils.writeUTF8String(buf, string);
         return buf;
     }
 
     protected Entity readEntityFromByteBuf(ByteBuf buf) {
-        return AgriCraft.proxy.getEntityById(buf.readInt(), buf.readInt());
+        return AgriCraft.proxy.getEntityById(readSignedVarInt(buf), readVarInt(buf));
     }
 
     protected ByteBuf writeEntityToByteBuf(ByteBuf buf, Entity e) {
-        buf.writeInt(e.worldObj.provider.getDimensionId());
-        buf.writeInt(e.getEntityId());
+        writeSignedVarInt(buf, e.worldObj.provider.getDimensionId());
+        writeVarInt(buf, e.getEntityId());
         return buf;
     }
 }
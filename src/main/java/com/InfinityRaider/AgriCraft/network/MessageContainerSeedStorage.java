@@ -1,9 +1,7 @@
 package com.InfinityRaider.AgriCraft.network;
 
-import com.InfinityRaider.AgriCraft.AgriCraft;
 import com.InfinityRaider.AgriCraft.container.ContainerSeedStorageBase;
 import io.netty.buffer.ByteBuf;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.Container;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -15,7 +13,6 @@ public class MessageContainerSeedStorage extends MessageAgriCraft {
     private Item item;
     private int meta;
     private int amount;
-    private EntityPlayer player;
     private int slotId;
 
     @SuppressWarnings("unused")
@@ -25,32 +22,29 @@ public class MessageContainerSeedStorage extends MessageAgriCraft {
         this.item = stack.getItem();
         this.meta = stack.getItemDamage();
         this.amount = stack.stackSize;
-        this.player = AgriCraft.proxy.getClientPlayer();
         this.slotId = slotId;
     }
 
     @Override
     public void fromBytes(ByteBuf buf) {
         this.item = this.readItemFromByteBuf(buf);
-        this.meta = buf.readInt();
-        this.amount = buf.readInt();
-        this.player = this.getPlayerFromByteBuf(buf);
-        this.slotId = buf.readInt();
+        this.meta = this.readVarInt(buf);
+        this.amount = this.readVarInt(buf);
+        this.slotId = this.readVarInt(buf);
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
         this.writeItemToByteBuf(this.item, buf);
-        buf.writeInt(this.meta);
-        buf.writeInt(this.amount);
-        this.writePlayerToByteBuf(this.player, buf);
-        buf.writeInt(this.slotId);
+        this.writeVarInt(buf, this.meta);
+        this.writeVarInt(buf, this.amount);
+        this.writeVarInt(buf, this.slotId);
     }
 
     public static class MessageHandler implements IMessageHandler<MessageContainerSeedStorage, IMessage> {
         @Override
         public IMessage onMessage(MessageContainerSeedStorage message, MessageContext context) {
-            Container container = message.player.openContainer;
+            Container container = message.getPlayer(context).openContainer;
             if(container!=null && container instanceof ContainerSeedStorageBase) {
                 ContainerSeedStorageBase storage = (ContainerSeedStorageBase) container;
                 storage.moveStackFromTileEntityToPlayer(message.slotId, new ItemStack(message.item, message.amount, message.meta));
@@ -28,14 +28,14 @@ public class MessageFertiliserApplied extends MessageAgriCraft {
     public void fromBytes(ByteBuf buf) {
         this.pos = readBlockPosFromByteBuf(buf);
         this.fertiliser = this.readItemFromByteBuf(buf);
-        this.meta = buf.readInt();
+        this.meta = this.readVarInt(buf);
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
         this.writeBlockPosToByteBuf(buf, pos);
         this.writeItemToByteBuf(this.fertiliser, buf);
-        buf.writeInt(this.meta);
+        this.writeVarInt(buf, this.meta);
     }
 
     public static class MessageHandler implements IMessageHandler<MessageFertiliserApplied, IMessage> {
@@ -3,37 +3,28 @@ package com.InfinityRaider.AgriCraft.network;
 import com.InfinityRaider.AgriCraft.container.ContainerSeedStorageBase;
 import com.InfinityRaider.AgriCraft.tileentity.storage.ISeedStorageControllable;
 import io.netty.buffer.ByteBuf;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.Container;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
+/**
+ * Clears the locked seed of the seed storage the sending player has open, the player is known from the connection so the message has no content
+ */
 public class MessageGuiSeedStorageClearSeed extends MessageAgriCraft {
-    private EntityPlayer player;
-
-    @SuppressWarnings("unused")
     public MessageGuiSeedStorageClearSeed() {}
 
-    public MessageGuiSeedStorageClearSeed(EntityPlayer player) {
-        this.player = player;
-    }
-
     @Override
-    public void fromBytes(ByteBuf buf) {
-        this.player = this.getPlayerFromByteBuf(buf);
-    }
+    public void fromBytes(ByteBuf buf) {}
 
     @Override
-    public void toBytes(ByteBuf buf) {
-        this.writePlayerToByteBuf(player, buf);
-    }
+    public void toBytes(ByteBuf buf) {}
 
     public static class MessageHandler implements IMessageHandler<MessageGuiSeedStorageClearSeed, IMessage> {
         @Override
         public IMessage onMessage(MessageGuiSeedStorageClearSeed message, MessageContext context) {
-            Container container = message.player.openContainer;
+            Container container = message.getPlayer(context).openContainer;
             if(container!=null && container instanceof ContainerSeedStorageBase) {
                 ContainerSeedStorageBase storage = (ContainerSeedStorageBase) container;
                 TileEntity tileEntity = storage.getTileEntity();
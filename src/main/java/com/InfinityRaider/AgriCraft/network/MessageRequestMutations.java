@@ -0,0 +1,29 @@
+package com.InfinityRaider.AgriCraft.network;
+
+import com.InfinityRaider.AgriCraft.farming.mutation.MutationHandler;
+import com.InfinityRaider.AgriCraft.utility.LogHelper;
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+/**
+ * Sent by a client which does not have the mutation table offered by the server, the server replies with the full table
+ */
+public class MessageRequestMutations extends MessageAgriCraft {
+    public MessageRequestMutations() {}
+
+    @Override
+    public void fromBytes(ByteBuf buf) {}
+
+    @Override
+    public void toBytes(ByteBuf buf) {}
+
+    public static class MessageHandler implements IMessageHandler<MessageRequestMutations, IMessage> {
+        @Override
+        public IMessage onMessage(MessageRequestMutations message, MessageContext ctx) {
+            LogHelper.info("Sending mutations to player: " + ctx.getServerHandler().playerEntity.getDisplayName());
+            return new MessageSyncMutation(MutationHandler.getSyncTable());
+        }
+    }
+}
@@ -19,15 +19,13 @@ public class MessageSendNEISetting extends MessageAgriCraft {
 
     @Override
     public void fromBytes(ByteBuf buf) {
-        int length = buf.readInt();
-        this.className = new String(buf.readBytes(length).array());
+        this.className = this.readStringFromByteBuf(buf);
         this.value = buf.readBoolean();
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
-        buf.writeInt(className.length());
-        buf.writeBytes(className.getBytes());
+        this.writeStringToByteBuf(buf, className);
         buf.writeBoolean(value);
     }
 
@@ -2,6 +2,7 @@ package com.InfinityRaider.AgriCraft.network;
 
 import com.InfinityRaider.AgriCraft.AgriCraft;
 import com.InfinityRaider.AgriCraft.tileentity.irrigation.IIrrigationComponent;
+import com.InfinityRaider.AgriCraft.tileentity.irrigation.TileEntityTank;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.BlockPos;
@@ -10,38 +11,142 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Syncs the fluid levels of all irrigation components which changed during a tick in the chunks a player is watching.
+ * Components are grouped by chunk, every component takes its position in the chunk (x and z packed in one byte, y) and its level as a varint.
+ * Channels send their level quantized to 127 steps relative to their capacity, which fits in a single byte and is well below a pixel of water height.
+ * Tanks send their exact level, they can be any number of blocks high so no fixed number of steps is fine enough for rendering.
+ */
 public class MessageSyncFluidLevel extends MessageAgriCraft {
-    private int lvl;
-    private BlockPos pos;
+    /** Quantized level of a full channel, the largest value a varint holds in one byte */
+    private static final int LEVEL_MAX = 127;
+
+    private List<ChunkLevels> chunks;
 
     @SuppressWarnings("unused")
     public MessageSyncFluidLevel() {}
 
-    public MessageSyncFluidLevel(int lvl, BlockPos pos) {
-        this.lvl = lvl;
-        this.pos = pos;
+    public MessageSyncFluidLevel(List<ChunkLevels> chunks) {
+        this.chunks = new ArrayList<>(chunks);
+    }
+
+    /** @return the value to send for the level of a component */
+    public static int encodeLevel(IIrrigationComponent component) {
+        if(component instanceof TileEntityTank) {
+            return Math.max(0, component.getFluidLevel());
+        }
+        return quantize(component.getFluidLevel(), component.getCapacity());
+    }
+
+    /** @return the level of a component from the value which was sent */
+    public static int decodeLevel(IIrrigationComponent component, int value) {
+        if(component instanceof TileEntityTank) {
+            return Math.min(value, component.getCapacity());
+        }
+        return dequantize(value, component.getCapacity());
+    }
+
+    /** Maps a fluid level to 0 - LEVEL_MAX, non empty components never map to 0 and only full components map to the maximum */
+    public static int quantize(int lvl, int capacity) {
+        if(lvl <= 0 || capacity <= 0) {
+            return 0;
+        }
+        if(lvl >= capacity) {
+            return LEVEL_MAX;
+        }
+        int quantized = (int) (((long) lvl * LEVEL_MAX + capacity / 2) / capacity);
+        return Math.max(1, Math.min(LEVEL_MAX - 1, quantized));
+    }
+
+    public static int dequantize(int quantized, int capacity) {
+        if(quantized >= LEVEL_MAX) {
+            return capacity;
+        }
+        return (int) (((long) quantized * capacity + LEVEL_MAX / 2) / LEVEL_MAX);
     }
 
     @Override
     public void fromBytes(ByteBuf buf) {
-        this.lvl = buf.readInt();
-        this.pos = readBlockPosFromByteBuf(buf);
+        int nrChunks = this.readVarInt(buf);
+        this.chunks = new ArrayList<>(nrChunks);
+        for(int i = 0; i < nrChunks; i++) {
+            ChunkLevels chunk = new ChunkLevels(this.readSignedVarInt(buf), this.readSignedVarInt(buf));
+            int size = this.readVarInt(buf);
+            for(int j = 0; j < size; j++) {
+                int xz = buf.readUnsignedByte();
+                int y = buf.readUnsignedByte();
+                chunk.add(xz, y, this.readVarInt(buf));
+            }
+            this.chunks.add(chunk);
+        }
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
-        buf.writeInt(lvl);
-        this.writeBlockPosToByteBuf(buf, pos);
+        this.writeVarInt(buf, chunks.size());
+        for(ChunkLevels chunk : chunks) {
+            this.writeSignedVarInt(buf, chunk.chunkX);
+            this.writeSignedVarInt(buf, chunk.chunkZ);
+            this.writeVarInt(buf, chunk.size);
+            for(int j = 0; j < chunk.size; j++) {
+                int position = chunk.data[2 * j];
+                buf.writeByte(position & 0xFF);
+                buf.writeByte(position >> 8);
+                this.writeVarInt(buf, chunk.data[2 * j + 1]);
+            }
+        }
+    }
+
+    /** The encoded levels of the dirty components in a chunk */
+    public static final class ChunkLevels {
+        public final int chunkX;
+        public final int chunkZ;
+        /** Per component: x and z in the chunk packed with y, and the encoded level */
+        private int[] data = new int[8];
+        private int size = 0;
+
+        public ChunkLevels(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        public void add(BlockPos pos, int encodedLevel) {
+            add(((pos.getX() & 15) << 4) | (pos.getZ() & 15), pos.getY(), encodedLevel);
+        }
+
+        private void add(int xz, int y, int encodedLevel) {
+            int offset = 2 * size;
+            if(offset + 2 > data.length) {
+                int[] grown = new int[data.length << 1];
+                System.arraycopy(data, 0, grown, 0, data.length);
+                data = grown;
+            }
+            data[offset] = (xz & 0xFF) | ((y & 0xFF) << 8);
+            data[offset + 1] = encodedLevel;
+            size++;
+        }
     }
 
     public static class MessageHandler implements IMessageHandler<MessageSyncFluidLevel, IMessage> {
         @Override
         public IMessage onMessage(MessageSyncFluidLevel message, MessageContext ctx) {
             World world = AgriCraft.proxy.getClientWorld();
-            if(world != null) {
-                TileEntity tile = world.getTileEntity(message.pos);
-                if(tile!=null && (tile instanceof IIrrigationComponent)) {
-                    ((IIrrigationComponent) tile).setFluidLevel(message.lvl);
+            if(world == null) {
+                return null;
+            }
+            for(ChunkLevels chunk : message.chunks) {
+                for(int j = 0; j < chunk.size; j++) {
+                    int position = chunk.data[2 * j];
+                    int xz = position & 0xFF;
+                    BlockPos pos = new BlockPos((chunk.chunkX << 4) | (xz >> 4), position >> 8, (chunk.chunkZ << 4) | (xz & 15));
+                    TileEntity tile = world.getTileEntity(pos);
+                    if(tile instanceof IIrrigationComponent) {
+                        IIrrigationComponent component = (IIrrigationComponent) tile;
+                        component.setFluidLevel(decodeLevel(component, chunk.data[2 * j + 1]));
+                    }
                 }
             }
             return null;
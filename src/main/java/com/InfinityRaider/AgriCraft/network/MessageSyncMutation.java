@@ -1,58 +1,66 @@
 package com.InfinityRaider.AgriCraft.network;
 
-import com.InfinityRaider.AgriCraft.farming.mutation.Mutation;
 import com.InfinityRaider.AgriCraft.farming.mutation.MutationHandler;
+import com.InfinityRaider.AgriCraft.farming.mutation.MutationTable;
 import io.netty.buffer.ByteBuf;
-import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
+/**
+ * Syncs the mutations to a client. On login the server only sends the hash of its mutation table,
+ * the client replies with a MessageRequestMutations if it has no table with that hash, upon which the server sends the full table.
+ */
 public class MessageSyncMutation extends MessageAgriCraft {
-    private ItemStack parent1;
-    private ItemStack parent2;
-    private ItemStack result;
-    private double chance;
-    private boolean last;
+    private long hash;
+    /** The compressed mutation table, null if only the hash is sent */
+    private byte[] data;
 
     @SuppressWarnings("unused")
     public MessageSyncMutation() {
     }
 
-    public MessageSyncMutation(Mutation mutation, boolean last) {
-        this.parent1 = mutation.getParents()[0];
-        this.parent2 = mutation.getParents()[1];
-        this.result = mutation.getResult();
-        this.chance = mutation.getChance();
-        this.last = last;
+    /** Offers a table to the client by its hash only */
+    public MessageSyncMutation(long hash) {
+        this.hash = hash;
     }
 
-    private Mutation getMutation() {
-        return new Mutation(result, parent1, parent2, (int) (100*chance));
+    /** Sends a full table to the client */
+    public MessageSyncMutation(MutationTable table) {
+        this.hash = table.getHash();
+        this.data = table.getData();
     }
 
     @Override
     public void fromBytes(ByteBuf buf) {
-        this.parent1 = readItemStackToByteBuf(buf);
-        this.parent2 = readItemStackToByteBuf(buf);
-        this.result = readItemStackToByteBuf(buf);
-        this.chance = buf.readDouble();
-        this.last = buf.readBoolean();
+        this.hash = buf.readLong();
+        //the length is shifted by one, 0 means only the hash was sent
+        int length = this.readVarInt(buf) - 1;
+        if(length >= 0) {
+            this.data = new byte[length];
+            buf.readBytes(this.data);
+        }
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
-        writeItemStackFromByteBuf(buf, parent1);
-        writeItemStackFromByteBuf(buf, parent2);
-        writeItemStackFromByteBuf(buf, result);
-        buf.writeDouble(this.chance);
-        buf.writeBoolean(this.last);
+        buf.writeLong(this.hash);
+        if(this.data == null) {
+            this.writeVarInt(buf, 0);
+        } else {
+            this.writeVarInt(buf, this.data.length + 1);
+            buf.writeBytes(this.data);
+        }
     }
 
     public static class MessageHandler implements IMessageHandler<MessageSyncMutation, IMessage> {
         @Override
         public IMessage onMessage(MessageSyncMutation message, MessageContext ctx) {
-            MutationHandler.syncFromServer(message.getMutation(), message.last);
+            if(message.data == null) {
+                //ask for the full table if it isn't cached
+                return MutationHandler.syncFromCache(message.hash) ? null : new MessageRequestMutations();
+            }
+            MutationHandler.syncFromServer(MutationTable.fromBytes(message.hash, message.data));
             return null;
         }
     }
@@ -1,7 +1,6 @@
 package com.InfinityRaider.AgriCraft.network;
 
 import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
-import com.InfinityRaider.AgriCraft.reference.Names;
 import com.InfinityRaider.AgriCraft.tileentity.storage.SeedStorageSlot;
 import com.InfinityRaider.AgriCraft.tileentity.storage.TileEntitySeedStorage;
 import io.netty.buffer.ByteBuf;
@@ -14,59 +13,76 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
+import java.util.Collection;
+
+/**
+ * Syncs all slots of a seed storage which changed during a tick, every slot is written as varints:
+ * slot id, amount, growth, gain and strength.
+ */
 public class MessageTileEntitySeedStorage extends MessageAgriCraft {
     private BlockPos pos;
-    private int slotId;
-    private int amount;
-    private int growth;
-    private int gain;
-    private int strength;
+    private int[] slotIds;
+    private int[] amounts;
+    private int[] growths;
+    private int[] gains;
+    private int[] strengths;
 
     @SuppressWarnings("unused")
     public MessageTileEntitySeedStorage() {}
 
-    public MessageTileEntitySeedStorage(BlockPos pos, SeedStorageSlot slot) {
+    public MessageTileEntitySeedStorage(BlockPos pos, Collection<SeedStorageSlot> slots) {
         this.pos = pos;
-        if(slot!=null) {
-            this.slotId = slot.getId();
-            this.amount = slot.count;
-            NBTTagCompound tag = slot.getTag();
-            this.growth = tag.getInteger(Names.NBT.growth);
-            this.gain = tag.getInteger(Names.NBT.gain);
-            this.strength = tag.getInteger(Names.NBT.strength);
-        }
-        else {
-            this.slotId = -1;
+        int size = slots.size();
+        this.slotIds = new int[size];
+        this.amounts = new int[size];
+        this.growths = new int[size];
+        this.gains = new int[size];
+        this.strengths = new int[size];
+        int i = 0;
+        for(SeedStorageSlot slot : slots) {
+            this.slotIds[i] = slot.getId();
+            this.amounts[i] = Math.max(0, slot.count);
+            this.growths[i] = slot.getGrowth();
+            this.gains[i] = slot.getGain();
+            this.strengths[i] = slot.getStrength();
+            i++;
         }
     }
 
-    private NBTTagCompound getTag() {
+    private NBTTagCompound getTag(int index) {
         NBTTagCompound tag = new NBTTagCompound();
-        CropPlantHandler.setSeedNBT(tag, (short) growth, (short) gain, (short) strength, true);
+        CropPlantHandler.setSeedNBT(tag, (short) growths[index], (short) gains[index], (short) strengths[index], true);
         return tag;
     }
 
     @Override
     public void fromBytes(ByteBuf buf) {
         this.pos = readBlockPosFromByteBuf(buf);
-        this.slotId = buf.readInt();
-        if(this.slotId>=0) {
-            this.amount = buf.readInt();
-            this.growth = buf.readInt();
-            this.gain = buf.readInt();
-            this.strength = buf.readInt();
+        int size = this.readVarInt(buf);
+        this.slotIds = new int[size];
+        this.amounts = new int[size];
+        this.growths = new int[size];
+        this.gains = new int[size];
+        this.strengths = new int[size];
+        for(int i = 0; i < size; i++) {
+            this.slotIds[i] = this.readVarInt(buf);
+            this.amounts[i] = this.readVarInt(buf);
+            this.growths[i] = this.readVarInt(buf);
+            this.gains[i] = this.readVarInt(buf);
+            this.strengths[i] = this.readVarInt(buf);
         }
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
         this.writeBlockPosToByteBuf(buf, pos);
-        buf.writeInt(this.slotId);
-        if(this.slotId>=0) {
-            buf.writeInt(this.amount);
-            buf.writeInt(this.growth);
-            buf.writeInt(this.gain);
-            buf.writeInt(this.strength);
+        this.writeVarInt(buf, slotIds.length);
+        for(int i = 0; i < slotIds.length; i++) {
+            this.writeVarInt(buf, slotIds[i]);
+            this.writeVarInt(buf, amounts[i]);
+            this.writeVarInt(buf, growths[i]);
+            this.writeVarInt(buf, gains[i]);
+            this.writeVarInt(buf, strengths[i]);
         }
     }
 
@@ -76,10 +92,12 @@ public class MessageTileEntitySeedStorage extends MessageAgriCraft {
             TileEntity te = FMLClientHandler.instance().getClient().theWorld.getTileEntity(message.pos);
             if(te!=null && te instanceof TileEntitySeedStorage) {
                 TileEntitySeedStorage storage = (TileEntitySeedStorage) te;
-                ItemStack stack = storage.getLockedSeed();
-                stack.stackSize = message.amount;
-                stack.setTagCompound(message.getTag());
-                storage.setSlotContents(message.slotId, stack);
+                for(int i = 0; i < message.slotIds.length; i++) {
+                    ItemStack stack = storage.getLockedSeed();
+                    stack.stackSize = message.amounts[i];
+                    stack.setTagCompound(message.getTag(i));
+                    storage.setSlotContentsFromServer(message.slotIds[i], stack);
+                }
             }
             return null;
         }
@@ -14,6 +14,7 @@ public abstract class NetworkWrapperAgriCraft {
     public static final int messageSyncFluidlevel_ID = 5;
     public static final int messagePeripheralNeighBourCheck_ID = 6;
     public static final int messageSendNEIsettings_ID = 7;
+    public static final int messageRequestMutations_ID = 8;
 
     public static SimpleNetworkWrapper wrapper;
 
@@ -25,6 +26,7 @@ public abstract class NetworkWrapperAgriCraft {
     private static void initMessages() {
         wrapper.registerMessage(MessageContainerSeedStorage.MessageHandler.class, MessageContainerSeedStorage.class, messageContainerSeedStorage_ID, Side.SERVER);
         wrapper.registerMessage(MessageGuiSeedStorageClearSeed.MessageHandler.class, MessageGuiSeedStorageClearSeed.class, messageGuiSeedStorageClearSeed_ID, Side.SERVER);
+        wrapper.registerMessage(MessageRequestMutations.MessageHandler.class, MessageRequestMutations.class, messageRequestMutations_ID, Side.SERVER);
         wrapper.registerMessage(MessageTileEntitySeedStorage.MessageHandler.class, MessageTileEntitySeedStorage.class, messageTileEntitySeedStorage_ID, Side.CLIENT);
         wrapper.registerMessage(MessageSyncMutation.MessageHandler.class, MessageSyncMutation.class, messageSyncMutation_ID, Side.CLIENT);
         wrapper.registerMessage(MessageFertiliserApplied.MessageHandler.class, MessageFertiliserApplied.class, messageFertiliserApplied_ID, Side.CLIENT);
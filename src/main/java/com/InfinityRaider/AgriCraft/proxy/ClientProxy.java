@@ -9,6 +9,7 @@ import com.InfinityRaider.AgriCraft.init.Blocks;
 import com.InfinityRaider.AgriCraft.init.Items;
 import com.InfinityRaider.AgriCraft.items.ItemBase;
 import com.InfinityRaider.AgriCraft.reference.Reference;
+import com.InfinityRaider.AgriCraft.renderers.TextureCache;
 import com.InfinityRaider.AgriCraft.renderers.renderinghacks.BlockRendererDispatcherWrapped;
 import com.InfinityRaider.AgriCraft.renderers.player.renderhooks.RenderPlayerHooks;
 import com.InfinityRaider.AgriCraft.utility.LogHelper;
@@ -27,6 +28,7 @@ import net.minecraftforge.fml.common.registry.VillagerRegistry;
 
 import java.lang.reflect.Field;
 import java.util.Iterator;
+import java.util.List;
 
 @SuppressWarnings("unused")
 public class ClientProxy extends CommonProxy {
@@ -141,4 +143,9 @@ public class ClientProxy extends CommonProxy {
         super.initConfiguration(event);
         ConfigurationHandler.initClientConfigs(event);
     }
+
+    @Override
+    public void addClientDebugInfo(List<String> list) {
+        TextureCache.getInstance().addDebugInfo(list);
+    }
 }
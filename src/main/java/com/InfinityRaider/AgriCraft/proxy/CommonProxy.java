@@ -3,6 +3,9 @@ package com.InfinityRaider.AgriCraft.proxy;
 import com.InfinityRaider.AgriCraft.handler.ConfigurationHandler;
 import com.InfinityRaider.AgriCraft.handler.PlayerInteractEventHandler;
 import com.InfinityRaider.AgriCraft.handler.PlayerConnectToServerHandler;
+import com.InfinityRaider.AgriCraft.handler.WorldEventHandler;
+import com.InfinityRaider.AgriCraft.tileentity.irrigation.IrrigationSyncQueue;
+import com.InfinityRaider.AgriCraft.tileentity.storage.SeedStorageSyncQueue;
 import com.InfinityRaider.AgriCraft.utility.RenderLogger;
 import net.minecraft.entity.Entity;
 import net.minecraft.world.World;
@@ -31,6 +34,10 @@ public abstract class CommonProxy implements IProxy {
         FMLCommonHandler.instance().bus().register(playerConnectToServerHandler);
         MinecraftForge.EVENT_BUS.register(playerConnectToServerHandler);
 
+        FMLCommonHandler.instance().bus().register(new SeedStorageSyncQueue());
+        FMLCommonHandler.instance().bus().register(new IrrigationSyncQueue());
+        MinecraftForge.EVENT_BUS.register(new WorldEventHandler());
+
         if (ConfigurationHandler.debug) {
             FMLCommonHandler.instance().bus().register(new RenderLogger());
         }
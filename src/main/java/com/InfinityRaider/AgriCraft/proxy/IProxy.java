@@ -6,6 +6,8 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 
+import java.util.List;
+
 @SuppressWarnings("unused")
 public interface IProxy {
     /** Returns the instance of the EntityPlayer on the client, null on the server */
@@ -40,4 +42,7 @@ public interface IProxy {
 
     /** Initializes the configuration file */
     void initConfiguration(FMLPreInitializationEvent event);
+
+    /** Adds debug info about the client side caches, does nothing on the server */
+    void addClientDebugInfo(List<String> list);
 }
@@ -5,6 +5,8 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.server.FMLServerHandler;
 
+import java.util.List;
+
 @SuppressWarnings("unused")
 public class ServerProxy extends CommonProxy {
     @Override
@@ -36,4 +38,7 @@ public class ServerProxy extends CommonProxy {
 
     @Override
     public void registerVillagerSkin(int id, String resource) {}
+
+    @Override
+    public void addClientDebugInfo(List<String> list) {}
 }
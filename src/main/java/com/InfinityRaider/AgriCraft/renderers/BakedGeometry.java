@@ -0,0 +1,36 @@
+package com.InfinityRaider.AgriCraft.renderers;
+
+import net.minecraft.client.renderer.WorldRenderer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Vertices recorded from a TessellatorV2, with their coordinates relative to the origin of the block they were rendered for.
+ * Replaying them only needs a translation to the position of another block, brightness is taken from the tessellator at replay.
+ */
+@SideOnly(Side.CLIENT)
+public final class BakedGeometry {
+    /** x, y, z, u, v, red, green, blue, alpha */
+    static final int VERTEX_SIZE = 9;
+
+    private final float[] data;
+
+    BakedGeometry(float[] data) {
+        this.data = data;
+    }
+
+    public int getVertexCount() {
+        return data.length / VERTEX_SIZE;
+    }
+
+    /** Adds all vertices to a WorldRenderer, translated by the given offset */
+    void render(WorldRenderer renderer, double x, double y, double z, int light1, int light2) {
+        for(int i = 0; i < data.length; i = i + VERTEX_SIZE) {
+            renderer.pos(x + data[i], y + data[i + 1], z + data[i + 2]);
+            renderer.color(data[i + 5], data[i + 6], data[i + 7], data[i + 8]);
+            renderer.tex(data[i + 3], data[i + 4]);
+            renderer.lightmap(light1, light2);
+            renderer.endVertex();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.InfinityRaider.AgriCraft.renderers;
+
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the geometry of block renderers which only depends on the render handler, the material icon, the color multiplier
+ * and a shape value (a growth stage or a bitmask of connections).
+ * The cache is shared by the chunk builder threads and is cleared on a resource reload, when all icons are replaced.
+ */
+@SideOnly(Side.CLIENT)
+public final class BakedGeometryCache {
+    /** Upper bound on the number of cached geometries, the cache is emptied when it is reached */
+    private static final int MAX_SIZE = 4096;
+
+    private static final Map<Key, BakedGeometry> cache = new ConcurrentHashMap<>();
+
+    private BakedGeometryCache() {}
+
+    public static BakedGeometry get(Object handler, TextureAtlasSprite icon, int colorMultiplier, int shape) {
+        return cache.get(new Key(handler, icon, colorMultiplier, shape));
+    }
+
+    public static void put(Object handler, TextureAtlasSprite icon, int colorMultiplier, int shape, BakedGeometry geometry) {
+        if(cache.size() >= MAX_SIZE) {
+            cache.clear();
+        }
+        cache.put(new Key(handler, icon, colorMultiplier, shape), geometry);
+    }
+
+    public static int size() {
+        return cache.size();
+    }
+
+    public static void clear() {
+        cache.clear();
+    }
+
+    /** Render handlers and icons do not override equals, so they are compared by identity */
+    private static final class Key {
+        private final Object handler;
+        private final TextureAtlasSprite icon;
+        private final int colorMultiplier;
+        private final int shape;
+
+        private Key(Object handler, TextureAtlasSprite icon, int colorMultiplier, int shape) {
+            this.handler = handler;
+            this.icon = icon;
+            this.colorMultiplier = colorMultiplier;
+            this.shape = shape;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return handler == other.handler && icon == other.icon && colorMultiplier == other.colorMultiplier && shape == other.shape;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(handler);
+            hash = 31*hash + System.identityHashCode(icon);
+            hash = 31*hash + colorMultiplier;
+            return 31*hash + shape;
+        }
+    }
+}
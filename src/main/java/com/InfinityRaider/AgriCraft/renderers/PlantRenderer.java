@@ -187,6 +187,7 @@ public abstract class PlantRenderer {
         float f1 = (float)(l >> 8 & 255) / 255.0F;
         float f2 = (float)(l & 255) / 255.0F;
         tessellator.setColorOpaque_F(f, f1, f2);
+        tessellator.pushMatrix();
         tessellator.addTranslation(0, -Constants.UNIT*2*translation, 0);
         if(growhtStage >= Constants.MATURE) {
             //render the vines
@@ -203,7 +204,7 @@ public abstract class PlantRenderer {
             //render the vines
             renderCrossPattern(tessellator, vineIcon, 0);
         }
-        tessellator.addTranslation(0, Constants.UNIT*2*translation, 0);
+        tessellator.popMatrix();
     }
 
     public static void renderStemPattern(TessellatorV2 tessellator, TextureAtlasSprite icon) {
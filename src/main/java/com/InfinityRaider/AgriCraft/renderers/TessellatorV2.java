@@ -8,8 +8,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.lwjgl.opengl.GL11;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * This class is to have a Tessellator like the one in 1.7.10
@@ -17,35 +16,105 @@ import java.util.Map;
  */
 @SideOnly(Side.CLIENT)
 public class TessellatorV2 {
-    private static final Map<WorldRenderer, TessellatorV2> instances = new HashMap<>();
+    /** Maximum number of instances kept per thread */
+    static final int POOL_SIZE = 16;
+    /**
+     * Every thread keeps its own instances, most recently used first: a WorldRenderer is only used by one thread at a time
+     * (the chunk builders each work with their own renderers) so lookups need no locking.
+     * The pool is bounded, the least recently used instance is dropped when it is full, and it is released together with its thread.
+     */
+    private static final ThreadLocal<TessellatorV2[]> pool = ThreadLocal.withInitial(() -> new TessellatorV2[POOL_SIZE]);
+
     private final Tessellator tessellator ;
     private final WorldRenderer worldRenderer;
 
-    /** Transformation matrix */
-    private TransformationMatrix matrix = new TransformationMatrix();
+    /** Maximum depth of the matrix stack */
+    private static final int MAX_STACK_DEPTH = 32;
+
+    /** Preallocated matrix stack, the current transformation matrix is the one at the stack pointer */
+    private final TransformationMatrix[] matrixStack = new TransformationMatrix[MAX_STACK_DEPTH];
+    private int stackPointer = 0;
+    private TransformationMatrix matrix;
+    /** Holds the transformed coordinates of a vertex */
+    private final double[] coords = new double[3];
+
+    /** Vertices recorded since startBaking(), null if not baking */
+    private float[] bakeBuffer;
+    private int bakeSize;
+    /** Origin of the baked vertices */
+    private double bakeX;
+    private double bakeY;
+    private double bakeZ;
 
     public static TessellatorV2 getInstance() {
         return getInstance(Tessellator.getInstance());
     }
 
     public static TessellatorV2 getInstance(WorldRenderer renderer) {
-        return instances.containsKey(renderer) ? instances.get(renderer) : new TessellatorV2(renderer);
+        TessellatorV2 instance = getPooledInstance(renderer, null);
+        return instance != null ? instance : addToPool(new TessellatorV2(renderer));
     }
 
     public static TessellatorV2 getInstance(Tessellator tessellator) {
-        return instances.containsKey(tessellator.getWorldRenderer()) ? instances.get(tessellator.getWorldRenderer()) : new TessellatorV2(tessellator);
+        TessellatorV2 instance = getPooledInstance(tessellator.getWorldRenderer(), tessellator);
+        return instance != null ? instance : addToPool(new TessellatorV2(tessellator));
+    }
+
+    /**
+     * Looks up the instance for a renderer in the pool of the current thread and moves it to the front.
+     * Both the renderer and the tessellator have to match: an instance wrapping a Tessellator draws through it, one for a bare renderer does not.
+     * @param tessellator the wrapped Tessellator, or null for an instance made for a bare renderer
+     */
+    private static TessellatorV2 getPooledInstance(WorldRenderer renderer, Tessellator tessellator) {
+        TessellatorV2[] instances = pool.get();
+        for(int i = 0; i < instances.length && instances[i] != null; i++) {
+            TessellatorV2 instance = instances[i];
+            if(instance.worldRenderer == renderer && instance.tessellator == tessellator) {
+                System.arraycopy(instances, 0, instances, 1, i);
+                instances[0] = instance;
+                return instance;
+            }
+        }
+        return null;
+    }
+
+    /** Adds an instance at the front of the pool of the current thread, dropping the least recently used one if it is full */
+    private static TessellatorV2 addToPool(TessellatorV2 instance) {
+        TessellatorV2[] instances = pool.get();
+        System.arraycopy(instances, 0, instances, 1, instances.length - 1);
+        instances[0] = instance;
+        return instance;
+    }
+
+    WorldRenderer getWorldRenderer() {
+        return worldRenderer;
+    }
+
+    /** @return the number of instances in the pool of the current thread */
+    static int getPooledCount() {
+        TessellatorV2[] instances = pool.get();
+        int count = 0;
+        while(count < instances.length && instances[count] != null) {
+            count++;
+        }
+        return count;
     }
 
     private TessellatorV2(WorldRenderer worldRenderer) {
-        this.worldRenderer = worldRenderer;
-        this.tessellator = null;
-        instances.put(worldRenderer, this);
+        this(worldRenderer, null);
     }
 
     private TessellatorV2(Tessellator tessellator) {
-        this.worldRenderer = tessellator.getWorldRenderer();
+        this(tessellator.getWorldRenderer(), tessellator);
+    }
+
+    private TessellatorV2(WorldRenderer worldRenderer, Tessellator tessellator) {
+        this.worldRenderer = worldRenderer;
         this.tessellator = tessellator;
-        instances.put(worldRenderer, this);
+        for(int i = 0; i < MAX_STACK_DEPTH; i++) {
+            matrixStack[i] = new TransformationMatrix();
+        }
+        this.matrix = matrixStack[0];
     }
 
     /** Color values */
@@ -77,12 +146,99 @@ public class TessellatorV2 {
      * Adds a vertex specifying both x,y,z and the texture u,v for it.
      */
     public void addVertexWithUV(double x, double y, double z, float u, float v) {
-        double[] coords = this.matrix.transform(x, y, z);
+        this.matrix.transform(x, y, z, coords);
         worldRenderer.pos(coords[0], coords[1], coords[2]);
         worldRenderer.color(red, green, blue, alpha);
         worldRenderer.tex(u, v);
         worldRenderer.lightmap(light1, light2);
         worldRenderer.endVertex();
+        if(bakeBuffer != null) {
+            bakeVertex(u, v);
+        }
+    }
+
+    private void bakeVertex(float u, float v) {
+        if(bakeSize + BakedGeometry.VERTEX_SIZE > bakeBuffer.length) {
+            bakeBuffer = Arrays.copyOf(bakeBuffer, bakeBuffer.length << 1);
+        }
+        float[] buffer = bakeBuffer;
+        int i = bakeSize;
+        buffer[i] = (float) (coords[0] - bakeX);
+        buffer[i + 1] = (float) (coords[1] - bakeY);
+        buffer[i + 2] = (float) (coords[2] - bakeZ);
+        buffer[i + 3] = u;
+        buffer[i + 4] = v;
+        buffer[i + 5] = red;
+        buffer[i + 6] = green;
+        buffer[i + 7] = blue;
+        buffer[i + 8] = alpha;
+        bakeSize = i + BakedGeometry.VERTEX_SIZE;
+    }
+
+    /**
+     * Starts recording the vertices which are added, relative to the current translation, they are still drawn as well.
+     * Only call this while the transformation is a pure translation.
+     */
+    public void startBaking() {
+        this.matrix.transform(0, 0, 0, coords);
+        bakeX = coords[0];
+        bakeY = coords[1];
+        bakeZ = coords[2];
+        bakeBuffer = new float[64*BakedGeometry.VERTEX_SIZE];
+        bakeSize = 0;
+    }
+
+    /** Stops recording vertices and returns the vertices recorded since startBaking() */
+    public BakedGeometry finishBaking() {
+        BakedGeometry geometry = new BakedGeometry(Arrays.copyOf(bakeBuffer, bakeSize));
+        bakeBuffer = null;
+        return geometry;
+    }
+
+    /** Adds baked vertices at the current translation with the current brightness, only call this while the transformation is a pure translation */
+    public void addBakedGeometry(BakedGeometry geometry) {
+        this.matrix.transform(0, 0, 0, coords);
+        geometry.render(worldRenderer, coords[0], coords[1], coords[2], light1, light2);
+    }
+
+    /**
+     * Saves the current transformation, it is restored by the matching popMatrix() call
+     */
+    public void pushMatrix() {
+        if(stackPointer + 1 >= MAX_STACK_DEPTH) {
+            throw new IllegalStateException("TessellatorV2 matrix stack overflow");
+        }
+        TransformationMatrix previous = this.matrix;
+        stackPointer++;
+        this.matrix = matrixStack[stackPointer].set(previous);
+    }
+
+    /**
+     * Restores the transformation saved by the last pushMatrix() call
+     */
+    public void popMatrix() {
+        if(stackPointer <= 0) {
+            throw new IllegalStateException("TessellatorV2 matrix stack underflow");
+        }
+        stackPointer--;
+        this.matrix = matrixStack[stackPointer];
+    }
+
+    /** @return the number of transformations saved by pushMatrix() which have not been restored yet */
+    public int getMatrixStackDepth() {
+        return stackPointer;
+    }
+
+    /**
+     * Pops the matrix stack back to an earlier depth, also restoring transformations which were left on the stack after an exception
+     * @param depth a depth returned by getMatrixStackDepth()
+     */
+    public void popMatrixTo(int depth) {
+        if(depth < 0 || depth > stackPointer) {
+            throw new IllegalStateException("TessellatorV2 matrix stack can not be popped from depth " + stackPointer + " to " + depth);
+        }
+        stackPointer = depth;
+        this.matrix = matrixStack[stackPointer];
     }
 
     /**
@@ -96,7 +252,7 @@ public class TessellatorV2 {
      * Adds a translation to the current coordinate system
      */
     public void addTranslation(double x, double y, double z) {
-        this.matrix.multiplyRightWith(new TransformationMatrix(x, y, z));
+        this.matrix.translate(x, y, z);
     }
 
     /**
@@ -110,7 +266,7 @@ public class TessellatorV2 {
      *  Rotates around the current coordinate system
      */
     public void addRotation(double angle, double x, double y, double z) {
-        this.matrix.multiplyRightWith(new TransformationMatrix(angle, x, y, z));
+        this.matrix.rotate(angle, x, y, z);
     }
 
     public void scale(double x, double y, double z) {
@@ -4,7 +4,6 @@ import com.InfinityRaider.AgriCraft.utility.LogHelper;
 import com.google.common.base.Charsets;
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
@@ -30,16 +29,30 @@ import java.io.*;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
-/** This class is used to obtain and cache TextureAtlasSprites which AgriCraft uses for rendering */
+/**
+ * This class is used to obtain and cache TextureAtlasSprites which AgriCraft uses for rendering.
+ * All caches are bounded and evict their least recently used entries, the entries for a block state are evicted together.
+ * A resource reload only invalidates the caches, block states are resolved again the first time they are queried.
+ */
 @SideOnly(Side.CLIENT)
 public class TextureCache implements IIconCache {
+    /** Maximum number of block states of which the models and textures are cached */
+    private static final int MAX_STATES = 1024;
+    /** Maximum number of cached variants and models */
+    private static final int MAX_MODELS = 512;
+
     /** The static instance */
     private static TextureCache INSTANCE;
 
-    private static final List<IBlockState> cachedObjects = new ArrayList<>();
+    /** The block states registered to the cache, resolved when they are queried */
+    private static final Set<IBlockState> cachedObjects = Collections.newSetFromMap(new BoundedMap<>(MAX_STATES, null));
 
     /** Pointer to the IResourceManager instance */
     private IReloadableResourceManager resourceManager;
@@ -49,26 +62,34 @@ public class TextureCache implements IIconCache {
     private final Map<Block, IStateMapper> blockStateMap;
 
     /** Map to cache ModelResourceLocations for IBlockStates */
-    private Map<IBlockState, ModelResourceLocation> modelLocationsMap;
+    private final BoundedMap<IBlockState, ModelResourceLocation> modelLocationsMap;
     /** Map to cache Variants for ModelResourceLocations */
-    private Map<ModelResourceLocation, ModelBlockDefinition.Variants> variantsMap;
+    private final BoundedMap<ModelResourceLocation, ModelBlockDefinition.Variants> variantsMap;
     /** Map to cache ModelBlocks for ResourceLocations */
-    private Map<ResourceLocation, ModelBlock> modelMap;
+    private final BoundedMap<ResourceLocation, ModelBlock> modelMap;
     /** Map to cache ModelBlock instances for IBlockStates */
-    private Map<IBlockState, List<ModelBlock>> modelCache;
-    /** Map to cache TextureAtlasSprite instances for IBlockStates */
-    private Map<IBlockState, List<TextureAtlasSprite>> textureCache;
+    private final BoundedMap<IBlockState, List<ModelBlock>> modelCache;
+    /** Map to cache TextureAtlasSprite instances for IBlockStates, evicting a state also evicts its model location and models */
+    private final BoundedMap<IBlockState, List<TextureAtlasSprite>> textureCache;
+
+    /** Statistics for the debug info */
+    private int hits;
+    private int misses;
+    private int reloads;
 
     private TextureCache(IReloadableResourceManager resourceManager) {
         this.resourceManager = resourceManager;
         this.defaultMapper = new DefaultStateMapper();
 
         this.blockStateMap = retrieveBlockStateMap(retrieveModelManager());
-        this.modelLocationsMap = Maps.<IBlockState, ModelResourceLocation>newLinkedHashMap();
-        this.variantsMap = Maps.<ModelResourceLocation, ModelBlockDefinition.Variants>newLinkedHashMap();
-        this.modelMap = Maps.<ResourceLocation, ModelBlock>newLinkedHashMap();
-        this.modelCache = Maps.<IBlockState, List<ModelBlock>>newLinkedHashMap();
-        this.textureCache = Maps.<IBlockState, List<TextureAtlasSprite>>newLinkedHashMap();
+        this.modelLocationsMap = new BoundedMap<>(MAX_STATES, null);
+        this.variantsMap = new BoundedMap<>(MAX_MODELS, null);
+        this.modelMap = new BoundedMap<>(MAX_MODELS, null);
+        this.modelCache = new BoundedMap<>(MAX_STATES, null);
+        this.textureCache = new BoundedMap<>(MAX_STATES, state -> {
+            modelLocationsMap.remove(state);
+            modelCache.remove(state);
+        });
     }
 
     public static TextureCache getInstance() {
@@ -80,45 +101,72 @@ public class TextureCache implements IIconCache {
     }
 
     @Override
-    public void addBlockStateToCache(IBlockState state) {
+    public synchronized void addBlockStateToCache(IBlockState state) {
         cachedObjects.add(state);
     }
 
     @Override
-    public List<TextureAtlasSprite> queryIcons(IBlockState state) {
-        return textureCache.get(state);
+    public synchronized List<TextureAtlasSprite> queryIcons(IBlockState state) {
+        List<TextureAtlasSprite> icons = textureCache.get(state);
+        if(icons != null) {
+            hits++;
+            return icons;
+        }
+        if(cachedObjects.contains(state)) {
+            //registered states are resolved lazily
+            misses++;
+            return retrieveBlockIcons(state);
+        }
+        return null;
     }
 
     @Override
-    public List<TextureAtlasSprite> retrieveIcons(IBlockState state) {
-        if(textureCache.containsKey(state)) {
-            return queryIcons(state);
-        } else {
-            addBlockStateToCache(state);
-            return retrieveBlockIcons(state);
+    public synchronized List<TextureAtlasSprite> retrieveIcons(IBlockState state) {
+        List<TextureAtlasSprite> icons = textureCache.get(state);
+        if(icons != null) {
+            hits++;
+            return icons;
         }
+        misses++;
+        addBlockStateToCache(state);
+        return retrieveBlockIcons(state);
     }
 
     @Override
-    public void onResourceManagerReload(IResourceManager resourceManager) {
+    public synchronized void onResourceManagerReload(IResourceManager resourceManager) {
         if(resourceManager instanceof IReloadableResourceManager) {
             this.resourceManager = (IReloadableResourceManager) resourceManager;
         }
-        initializeCache();
+        invalidateCache();
+        //the baked geometry refers to the old icons
+        BakedGeometryCache.clear();
     }
 
-    private void initializeCache() {
-        this.modelLocationsMap = Maps.<IBlockState, ModelResourceLocation>newLinkedHashMap();
-        this.variantsMap = Maps.<ModelResourceLocation, ModelBlockDefinition.Variants>newLinkedHashMap();
-        this.modelMap = Maps.<ResourceLocation, ModelBlock>newLinkedHashMap();
-        this.modelCache = Maps.<IBlockState, List<ModelBlock>>newLinkedHashMap();
-        this.textureCache = Maps.<IBlockState, List<TextureAtlasSprite>>newLinkedHashMap();
-        cachedObjects.forEach(INSTANCE::retrieveBlockIcons);
+    /** Clears all cached models and textures, the registered states are resolved again when they are queried */
+    private void invalidateCache() {
+        this.modelLocationsMap.clear();
+        this.variantsMap.clear();
+        this.modelMap.clear();
+        this.modelCache.clear();
+        this.textureCache.clear();
+        reloads++;
+    }
+
+    /** Adds the cache statistics to the debug info */
+    public synchronized void addDebugInfo(List<String> list) {
+        int queries = hits + misses;
+        list.add("Texture cache:");
+        list.add("  - Hits: " + hits + ", misses: " + misses + (queries == 0 ? "" : " (" + (100 * hits / queries) + "% hits)") + ", reloads: " + reloads);
+        list.add("  - Registered states: " + cachedObjects.size() + "/" + MAX_STATES);
+        list.add("  - Textures: " + textureCache.size() + "/" + MAX_STATES + " states, " + textureCache.getEvictions() + " evicted");
+        list.add("  - Models: " + modelCache.size() + " states, " + modelMap.size() + "/" + MAX_MODELS + " models, " + variantsMap.size() + "/" + MAX_MODELS + " variants");
+        list.add("  - Baked geometries: " + BakedGeometryCache.size());
     }
 
     private List<TextureAtlasSprite> retrieveBlockIcons(IBlockState state) {
-        if(!textureCache.containsKey(state)) {
-            List<TextureAtlasSprite> list = new ArrayList<>();
+        List<TextureAtlasSprite> list = textureCache.get(state);
+        if(list == null) {
+            list = new ArrayList<>();
             for(ModelBlock model : retrieveBlockModels(state)) {
                 Map<String, String> textures = model.textures;
                 for(String path : textures.values()) {
@@ -129,7 +177,7 @@ public class TextureCache implements IIconCache {
             }
             textureCache.put(state, list);
         }
-        return textureCache.get(state);
+        return list;
     }
 
     /** Retrieves a list of block models from a block state */
@@ -321,4 +369,34 @@ public class TextureCache implements IIconCache {
             modelLocationsMap.put(state, resourceLocation);
         }
     }
+
+    /** A map which evicts its least recently used entry when it exceeds its maximum size */
+    private static final class BoundedMap<K, V> extends LinkedHashMap<K, V> {
+        private final int maxSize;
+        /** Notified of evicted keys, may be null */
+        private final Consumer<K> evictionListener;
+        private int evictions;
+
+        private BoundedMap(int maxSize, Consumer<K> evictionListener) {
+            super(16, 0.75F, true);
+            this.maxSize = maxSize;
+            this.evictionListener = evictionListener;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if(size() <= maxSize) {
+                return false;
+            }
+            evictions++;
+            if(evictionListener != null) {
+                evictionListener.accept(eldest.getKey());
+            }
+            return true;
+        }
+
+        private int getEvictions() {
+            return evictions;
+        }
+    }
 }
@@ -55,42 +55,43 @@ public abstract class RenderBlockBase extends TileEntitySpecialRenderer<TileEnti
     //-----
     private boolean renderBlock(IBlockAccess world, double x, double y, double z, BlockPos pos, Block block, IBlockState state, TileEntity tile, float partialTicks, int destroyStage, WorldRenderer renderer, boolean callFromTESR) {
         TessellatorV2 tessellator = TessellatorV2.getInstance(renderer);
+        //the instance is shared by everything rendering to this renderer on this thread, so the stack is restored even if rendering fails
+        int depth = tessellator.getMatrixStackDepth();
 
         if (callFromTESR) {
             GL11.glPushMatrix();
             GL11.glTranslated(x, y, z);
         } else {
+            tessellator.pushMatrix();
             tessellator.addTranslation((float) x, (float) y, (float) z);
         }
-        tessellator.setRotation(0, 0, 0, 0);
-        if (tile != null && tile instanceof TileEntityBase) {
-            if(callFromTESR) {
-                rotateMatrix((TileEntityBase) tile, false);
-            } else {
-                rotateMatrix((TileEntityBase) tile, tessellator, false);
+        try {
+            tessellator.setRotation(0, 0, 0, 0);
+            if (tile != null && tile instanceof TileEntityBase) {
+                if(callFromTESR) {
+                    rotateMatrix((TileEntityBase) tile, false);
+                } else {
+                    rotateMatrix((TileEntityBase) tile, tessellator, false);
+                }
             }
-        }
-
-        tessellator.setBrightness(block.getMixedBrightnessForBlock(world, pos));
-        tessellator.setColorRGBA_F(1, 1, 1, 1);
-
-        boolean result = doWorldRender(tessellator, world, x, y, z, pos, block, state, tile, partialTicks, destroyStage, renderer, callFromTESR);
 
-        if (tile != null && tile instanceof TileEntityBase) {
-            if(callFromTESR) {
-                rotateMatrix((TileEntityBase) tile, true);
+            tessellator.setBrightness(block.getMixedBrightnessForBlock(world, pos));
+            tessellator.setColorRGBA_F(1, 1, 1, 1);
+
+            return doWorldRender(tessellator, world, x, y, z, pos, block, state, tile, partialTicks, destroyStage, renderer, callFromTESR);
+        } finally {
+            if (callFromTESR) {
+                if (tile != null && tile instanceof TileEntityBase) {
+                    rotateMatrix((TileEntityBase) tile, true);
+                }
+                tessellator.setRotation(0, 0, 0, 0);
+                GL11.glTranslated(-x, -y, -z);
+                GL11.glPopMatrix();
             } else {
-                rotateMatrix((TileEntityBase) tile, tessellator, true);
+                //restores the translation and rotation exactly, instead of applying the inverse transformations
+                tessellator.popMatrixTo(depth);
             }
         }
-        tessellator.setRotation(0, 0, 0, 0);
-        if (callFromTESR) {
-            GL11.glTranslated(-x, -y, -z);
-            GL11.glPopMatrix();
-        } else {
-            tessellator.addTranslation((float) -x, (float) -y, (float) -z);
-        }
-        return result;
     }
 
     /** Call from TESR */
@@ -137,6 +138,25 @@ public abstract class RenderBlockBase extends TileEntitySpecialRenderer<TileEnti
 
     //UTILITY METHODS
     //---------------
+    /**
+     * Renders geometry which only depends on this handler, the icon, the color multiplier and a shape value from the baked geometry cache,
+     * the geometry is baked from the renderer the first time it is rendered and it is rendered directly if the block is rotated.
+     */
+    protected void renderCachedGeometry(TessellatorV2 tessellator, TextureAtlasSprite icon, int colorMultiplier, int shape, Runnable renderer) {
+        if(!tessellator.getTransformationMatrix().isTranslationOnly()) {
+            renderer.run();
+            return;
+        }
+        BakedGeometry geometry = BakedGeometryCache.get(this, icon, colorMultiplier, shape);
+        if(geometry != null) {
+            tessellator.addBakedGeometry(geometry);
+        } else {
+            tessellator.startBaking();
+            renderer.run();
+            BakedGeometryCache.put(this, icon, colorMultiplier, shape, tessellator.finishBaking());
+        }
+    }
+
     protected void rotateMatrix(TileEntityBase tileEntityBase, boolean inverse) {
         float angle = getRotationAngle(tileEntityBase);
         if(angle == 0) {
@@ -12,7 +12,6 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.WorldRenderer;
 import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
-import net.minecraft.client.renderer.texture.TextureMap;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
@@ -20,7 +19,6 @@ import net.minecraft.util.BlockPos;
 import net.minecraft.world.IBlockAccess;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
-import org.lwjgl.opengl.GL11;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -53,23 +51,10 @@ public class RenderChannel extends RenderBlockCustomWood<TileEntityChannel> {
         if (tile instanceof TileEntityChannel) {
             TileEntityChannel channel = (TileEntityChannel) tile;
             if (channel.getBlockMetadata() == 0) {
-                if (callFromTESR) {
-                    if(channel.getDiscreteFluidLevel()>0) {
-                        renderCallCounter.incrementAndGet();
-                        GL11.glPushMatrix();
-                        GL11.glDisable(GL11.GL_LIGHTING);
-                        tessellator.startDrawingQuads();
-                        Minecraft.getMinecraft().renderEngine.bindTexture(TextureMap.locationBlocksTexture);
-                        this.drawWater(channel, tessellator);
-                        tessellator.draw();
-                        GL11.glEnable(GL11.GL_LIGHTING);
-                        GL11.glPopMatrix();
-                    }
-                } else {
-                    this.renderWoodChannel(channel, tessellator);
-                    if ((!this.shouldBehaveAsTESR()) && channel.getDiscreteFluidLevel() > 0) {
-                        this.drawWater(channel, tessellator);
-                    }
+                this.renderWoodChannel(channel, tessellator);
+                //the water is part of the chunk mesh, the chunk is rebuilt when the discrete fluid level changes
+                if (channel.getDiscreteFluidLevel() > 0) {
+                    this.drawWater(channel, tessellator);
                 }
             } else if (channel.getBlockMetadata() == 1) {
                 this.renderIronChannel(channel, tessellator);
@@ -81,7 +66,7 @@ public class RenderChannel extends RenderBlockCustomWood<TileEntityChannel> {
 
     @Override
     public boolean shouldBehaveAsTESR() {
-        return true;
+        return false;
     }
 
     @Override
@@ -90,11 +75,19 @@ public class RenderChannel extends RenderBlockCustomWood<TileEntityChannel> {
     }
 
     protected void renderWoodChannel(TileEntityChannel channel, TessellatorV2 tessellator) {
-        this.renderBottom(channel, tessellator);
-        this.renderSide(channel, tessellator, ForgeDirection.NORTH);
-        this.renderSide(channel, tessellator, ForgeDirection.EAST);
-        this.renderSide(channel, tessellator, ForgeDirection.SOUTH);
-        this.renderSide(channel, tessellator, ForgeDirection.WEST);
+        //the geometry only depends on the material and the connections
+        int connections = 0;
+        connections = connections | (channel.hasNeighbourCheck(ForgeDirection.NORTH) ? 1 : 0);
+        connections = connections | (channel.hasNeighbourCheck(ForgeDirection.EAST) ? 2 : 0);
+        connections = connections | (channel.hasNeighbourCheck(ForgeDirection.SOUTH) ? 4 : 0);
+        connections = connections | (channel.hasNeighbourCheck(ForgeDirection.WEST) ? 8 : 0);
+        renderCachedGeometry(tessellator, channel.getIcon(), channel.colorMultiplier(), connections, () -> {
+            this.renderBottom(channel, tessellator);
+            this.renderSide(channel, tessellator, ForgeDirection.NORTH);
+            this.renderSide(channel, tessellator, ForgeDirection.EAST);
+            this.renderSide(channel, tessellator, ForgeDirection.SOUTH);
+            this.renderSide(channel, tessellator, ForgeDirection.WEST);
+        });
     }
 
     protected void renderBottom(TileEntityChannel channel, TessellatorV2 tessellator) {
@@ -131,6 +124,7 @@ public class RenderChannel extends RenderBlockCustomWood<TileEntityChannel> {
     }
 
     protected void drawWater(TileEntityChannel channel, TessellatorV2 tessellator) {
+        renderCallCounter.incrementAndGet();
         float y = channel.getFluidHeight();
         //the texture
         TextureAtlasSprite icon = Minecraft.getMinecraft().getTextureMapBlocks().getMissingSprite(); //TODO: find water icon
@@ -5,12 +5,14 @@ import com.InfinityRaider.AgriCraft.init.Blocks;
 import com.InfinityRaider.AgriCraft.reference.BlockStates;
 import com.InfinityRaider.AgriCraft.reference.Constants;
 import com.InfinityRaider.AgriCraft.renderers.PlantRenderer;
+import com.InfinityRaider.AgriCraft.renderers.RenderUtil;
 import com.InfinityRaider.AgriCraft.renderers.TessellatorV2;
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityCrop;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.renderer.WorldRenderer;
 import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.BlockPos;
@@ -20,6 +22,9 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
 public class RenderCrop extends RenderBlockBase {
+    /** Shape values of the cached geometry: the crop sticks use 0 and 1 (cross crop), weeds use this plus their growth stage */
+    private static final int SHAPE_WEEDS = 2;
+
     public RenderCrop() {
         super(Blocks.blockCrop, false);
     }
@@ -29,19 +34,26 @@ public class RenderCrop extends RenderBlockBase {
         if (tile instanceof TileEntityCrop) {
             BlockCrop blockCrop = (BlockCrop) block;
             TileEntityCrop crop = (TileEntityCrop) tile;
-            tessellator.addTranslation(0, -3* Constants.UNIT, 0);
-            drawScaledPrism(tessellator, 2, 0, 2, 3, 16, 3, blockCrop.getIcon());
-            drawScaledPrism(tessellator, 13, 0, 2, 14, 16, 3, blockCrop.getIcon());
-            drawScaledPrism(tessellator, 13, 0, 13, 14, 16, 14, blockCrop.getIcon());
-            drawScaledPrism(tessellator, 2, 0, 13, 3, 16, 14, blockCrop.getIcon());
-            tessellator.addTranslation(0, 3* Constants.UNIT, 0);
-            if (crop.isCrossCrop()) {
-                drawScaledPrism(tessellator, 0, 10, 2, 16, 11, 3, blockCrop.getIcon());
-                drawScaledPrism(tessellator, 0, 10, 13, 16, 11, 14, blockCrop.getIcon());
-                drawScaledPrism(tessellator, 2, 10, 0, 3, 11, 16, blockCrop.getIcon());
-                drawScaledPrism(tessellator, 13, 10, 0, 14, 11, 16, blockCrop.getIcon());
+            boolean cross = crop.isCrossCrop();
+            renderCachedGeometry(tessellator, blockCrop.getIcon(), RenderUtil.COLOR_MULTIPLIER_STANDARD, cross ? 1 : 0, () -> {
+                tessellator.pushMatrix();
+                tessellator.addTranslation(0, -3* Constants.UNIT, 0);
+                drawScaledPrism(tessellator, 2, 0, 2, 3, 16, 3, blockCrop.getIcon());
+                drawScaledPrism(tessellator, 13, 0, 2, 14, 16, 3, blockCrop.getIcon());
+                drawScaledPrism(tessellator, 13, 0, 13, 14, 16, 14, blockCrop.getIcon());
+                drawScaledPrism(tessellator, 2, 0, 13, 3, 16, 14, blockCrop.getIcon());
+                tessellator.popMatrix();
+                if (cross) {
+                    drawScaledPrism(tessellator, 0, 10, 2, 16, 11, 3, blockCrop.getIcon());
+                    drawScaledPrism(tessellator, 0, 10, 13, 16, 11, 14, blockCrop.getIcon());
+                    drawScaledPrism(tessellator, 2, 10, 0, 3, 11, 16, blockCrop.getIcon());
+                    drawScaledPrism(tessellator, 13, 10, 0, 14, 11, 16, blockCrop.getIcon());
+                }
+            });
+            if (cross) {
+                return true;
             }
-            else if (crop.hasPlant()) {
+            if (crop.hasPlant()) {
                 //render the plant
                 crop.getPlant().renderPlantInCrop(renderer, world, pos, state, state.getValue(BlockStates.GROWTHSTAGE));
             }
@@ -49,7 +61,9 @@ public class RenderCrop extends RenderBlockBase {
                 //render weeds
                 tessellator.setBrightness(net.minecraft.init.Blocks.wheat.getMixedBrightnessForBlock(world, pos));
                 tessellator.setColorRGBA_F(1.0F, 1.0F, 1.0F, 1.0F);
-                PlantRenderer.renderHashTagPattern(tessellator, blockCrop.getWeedTexture(state.getValue(BlockStates.GROWTHSTAGE)), 0);
+                int stage = state.getValue(BlockStates.GROWTHSTAGE);
+                TextureAtlasSprite weedIcon = blockCrop.getWeedTexture(stage);
+                renderCachedGeometry(tessellator, weedIcon, RenderUtil.COLOR_MULTIPLIER_STANDARD, SHAPE_WEEDS + stage, () -> PlantRenderer.renderHashTagPattern(tessellator, weedIcon, 0));
             }
         }
         return true;
@@ -44,29 +44,15 @@ public class RenderTank extends RenderBlockCustomWood<TileEntityTank> {
         boolean success = false;
         if (tile instanceof TileEntityTank) {
             TileEntityTank tank = (TileEntityTank) tile;
-            if(callFromTESR) {
-                if(tank.getFluidHeight()>0) {
-                    GL11.glPushMatrix();
-                    GL11.glDisable(GL11.GL_LIGHTING);
-                    tessellator.startDrawingQuads();
-                    Minecraft.getMinecraft().renderEngine.bindTexture(TextureMap.locationBlocksTexture);
-                    drawWater(tank, tessellator);
-                    tessellator.draw();
-                    GL11.glEnable(GL11.GL_LIGHTING);
-                    GL11.glPopMatrix();
-                    success = true;
-                }
-            } else {
-                success = renderTank(tank, tessellator, tank.getBlockMetadata());
-            }
+            success = renderTank(tank, tessellator, tank.getBlockMetadata());
         }
         return success;
     }
 
 	private boolean renderTank(TileEntityTank tank, TessellatorV2 tessellator, int meta) {
 		this.drawWoodTank(tank, tessellator);
-		// draw the waterTexture
-		if ((!shouldBehaveAsTESR()) && (tank.getFluidHeight() > 0)) {
+		// draw the waterTexture, it is part of the chunk mesh which is rebuilt when the discrete fluid level changes
+		if (tank.getFluidHeight() > 0) {
 			this.drawWater(tank, tessellator);
 		}
 		return true;
@@ -74,7 +60,7 @@ public class RenderTank extends RenderBlockCustomWood<TileEntityTank> {
 
     @Override
     public boolean shouldBehaveAsTESR() {
-        return true;
+        return false;
     }
 
     @Override
@@ -83,11 +69,25 @@ public class RenderTank extends RenderBlockCustomWood<TileEntityTank> {
     }
 
     private void drawWoodTank(TileEntityTank tank, TessellatorV2 tessellator) {
-        this.renderBottom(tank, tessellator);
-        this.renderSide(tank, tessellator, ForgeDirection.NORTH);
-        this.renderSide(tank, tessellator, ForgeDirection.EAST);
-        this.renderSide(tank, tessellator, ForgeDirection.SOUTH);
-        this.renderSide(tank, tessellator, ForgeDirection.WEST);
+        renderCachedGeometry(tessellator, tank.getIcon(), tank.colorMultiplier(), getConnections(tank), () -> {
+            this.renderBottom(tank, tessellator);
+            this.renderSide(tank, tessellator, ForgeDirection.NORTH);
+            this.renderSide(tank, tessellator, ForgeDirection.EAST);
+            this.renderSide(tank, tessellator, ForgeDirection.SOUTH);
+            this.renderSide(tank, tessellator, ForgeDirection.WEST);
+        });
+    }
+
+    /** The geometry of a tank only depends on its material and this bitmask of its neighbours and channel connections */
+    private int getConnections(TileEntityTank tank) {
+        int connections = tank.hasNeighbour(ForgeDirection.DOWN) ? 1 : 0;
+        int bit = 2;
+        for(ForgeDirection dir : new ForgeDirection[] {ForgeDirection.NORTH, ForgeDirection.EAST, ForgeDirection.SOUTH, ForgeDirection.WEST}) {
+            connections = connections | (tank.hasNeighbour(dir) ? bit : 0);
+            connections = connections | (tank.isConnectedToChannel(dir) ? bit << 1 : 0);
+            bit = bit << 2;
+        }
+        return connections;
     }
 
     private void renderBottom(TileEntityTank tank, TessellatorV2 tessellator) {
@@ -12,7 +12,6 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.WorldRenderer;
 import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
-import net.minecraft.client.renderer.texture.TextureMap;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.BlockPos;
@@ -72,45 +71,31 @@ public class RenderValve extends RenderChannel {
     protected boolean doWorldRender(TessellatorV2 tessellator, IBlockAccess world, double x, double y, double z, BlockPos pos, Block block, IBlockState state, TileEntity tile, float partialTicks, int destroyStage, WorldRenderer renderer, boolean callFromTESR) {
         TileEntityValve valve = (TileEntityValve) tile;
         if (valve != null) {
-            if (callFromTESR) {
-                if(valve.getDiscreteFluidLevel() > 0) {
-                    renderCallCounter.incrementAndGet();
-                    GL11.glPushMatrix();
-                    GL11.glDisable(GL11.GL_LIGHTING);
-                    tessellator.startDrawingQuads();
-                    Minecraft.getMinecraft().renderEngine.bindTexture(TextureMap.locationBlocksTexture);
-                    this.drawWater(valve, tessellator);
-                    tessellator.draw();
-                    GL11.glEnable(GL11.GL_LIGHTING);
-                    GL11.glPopMatrix();
-                }
-            } else {
-                this.renderWoodChannel(valve, tessellator);
-                if ((!this.shouldBehaveAsTESR()) && (valve.getDiscreteFluidLevel() > 0)) {
-                    this.drawWater(valve, tessellator);
-                }
+            this.renderWoodChannel(valve, tessellator);
+            if (valve.getDiscreteFluidLevel() > 0) {
+                this.drawWater(valve, tessellator);
+            }
 
-                //render the iron valves
-                TextureAtlasSprite icon = Minecraft.getMinecraft().getTextureMapBlocks().getMissingSprite(); //TODO: get iron block icon
-                TextureAtlasSprite icon2 = valve.getIcon();
-                int cm = valve.colorMultiplier();
-                
-				for (ForgeDirection dir : TileEntityChannel.validDirections) {
-					if (valve.hasNeighbourCheck(dir)) {
-						if (valve.isPowered()) {
-							//Draw closed separator.
-							drawScaledPrism(tessellator, 6, 5, 0, 10, 12, 2, icon, cm, dir);
-						} else {
-							//Draw open separator.
-							drawScaledPrism(tessellator, 6, 1, 0, 10, 5.001F, 2, icon, cm, dir);
-							drawScaledPrism(tessellator, 6, 12, 0, 10, 15, 2, icon, cm, dir);
-						}
-						//Draw rails.
-						drawScaledPrism(tessellator, 4, 0, 0, 6, 16, 2, icon2, cm, dir);
-						drawScaledPrism(tessellator, 10, 0, 0, 12, 16, 2, icon2, cm, dir);
+            //render the iron valves
+            TextureAtlasSprite icon = Minecraft.getMinecraft().getTextureMapBlocks().getMissingSprite(); //TODO: get iron block icon
+            TextureAtlasSprite icon2 = valve.getIcon();
+            int cm = valve.colorMultiplier();
+            
+			for (ForgeDirection dir : TileEntityChannel.validDirections) {
+				if (valve.hasNeighbourCheck(dir)) {
+					if (valve.isPowered()) {
+						//Draw closed separator.
+						drawScaledPrism(tessellator, 6, 5, 0, 10, 12, 2, icon, cm, dir);
+					} else {
+						//Draw open separator.
+						drawScaledPrism(tessellator, 6, 1, 0, 10, 5.001F, 2, icon, cm, dir);
+						drawScaledPrism(tessellator, 6, 12, 0, 10, 15, 2, icon, cm, dir);
 					}
+					//Draw rails.
+					drawScaledPrism(tessellator, 4, 0, 0, 6, 16, 2, icon2, cm, dir);
+					drawScaledPrism(tessellator, 10, 0, 0, 12, 16, 2, icon2, cm, dir);
 				}
-            }
+			}
         }
         return true;
     }
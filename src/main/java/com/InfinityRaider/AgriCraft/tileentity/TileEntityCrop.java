@@ -8,6 +8,7 @@ import com.InfinityRaider.AgriCraft.api.v1.ITrowel;
 import com.InfinityRaider.AgriCraft.api.v1.ICrop;
 import com.InfinityRaider.AgriCraft.farming.PlantStats;
 import com.InfinityRaider.AgriCraft.farming.cropplant.CropPlant;
+import com.InfinityRaider.AgriCraft.farming.growthrequirement.FertilityCache;
 import com.InfinityRaider.AgriCraft.blocks.BlockCrop;
 import com.InfinityRaider.AgriCraft.compatibility.applecore.AppleCoreHelper;
 import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
@@ -35,7 +36,6 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 
@@ -47,6 +47,7 @@ public class TileEntityCrop extends TileEntityBase implements ICrop, IDebuggable
     private IAdditionalCropData data;
 
     private final MutationEngine mutationEngine;
+    private final FertilityCache fertility = new FertilityCache();
 
     public TileEntityCrop() {
         this.mutationEngine = new MutationEngine(this);
@@ -159,10 +160,25 @@ public class TileEntityCrop extends TileEntityBase implements ICrop, IDebuggable
         this.data = null;
     }
 
-    /** check if the crop is fertile */
+    /** check if the crop is fertile, on the server this is cached and only verified again when needed */
     @Override
     public boolean isFertile() {
-        return this.weed || worldObj.isAirBlock(this.getPos().add(0, 1, 0)) && plant.getGrowthRequirement().canGrow(this.worldObj, pos);
+        if(this.weed) {
+            return true;
+        }
+        if(!this.hasPlant()) {
+            return false;
+        }
+        if(worldObj.isRemote) {
+            //the client is not notified of neighbour changes
+            return worldObj.isAirBlock(this.getPos().add(0, 1, 0)) && plant.getGrowthRequirement().canGrow(this.worldObj, pos);
+        }
+        return fertility.isFertile(worldObj, pos, plant.getGrowthRequirement());
+    }
+
+    /** Called when a neighbouring block changes, this invalidates the cached fertility */
+    public void onNeighbourChanged() {
+        fertility.onNeighbourChanged();
     }
 
     /** gets the height of the crop */
@@ -417,7 +433,7 @@ public class TileEntityCrop extends TileEntityBase implements ICrop, IDebuggable
     /** Called by the mutation engine to apply the result of a cross over */
     public void applyCrossOverResult(CrossOverResult result) {
         crossCrop = false;
-        setPlant(result.getGrowth(), result.getGain(), result.getStrength(), false, result.getSeed(), result.getMeta());
+        setPlant(result.getGrowth(), result.getGain(), result.getStrength(), false, result.getPlant());
     }
 
     /**
@@ -441,18 +457,6 @@ public class TileEntityCrop extends TileEntityBase implements ICrop, IDebuggable
         neighbours.add((TileEntityCrop) te);
     }
 
-    /** @return a list with only mature neighbours of type <code>TileEntityCrop</code> */
-    public List<TileEntityCrop> getMatureNeighbours() {
-        List<TileEntityCrop> neighbours = getNeighbours();
-        for (Iterator<TileEntityCrop> iterator = neighbours.iterator(); iterator.hasNext(); ) {
-            TileEntityCrop crop = iterator.next();
-            if (!crop.hasPlant() || !crop.isMature()) {
-                iterator.remove();
-            }
-        }
-        return neighbours;
-    }
-
     @SideOnly(Side.CLIENT)
     public TextureAtlasSprite getPlantIcon(IBlockState state) {
         return plant.getPrimaryPlantTexture(state.getValue(BlockStates.GROWTHSTAGE));
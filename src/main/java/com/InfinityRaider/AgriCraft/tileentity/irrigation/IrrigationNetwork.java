@@ -0,0 +1,239 @@
+package com.InfinityRaider.AgriCraft.tileentity.irrigation;
+
+import com.InfinityRaider.AgriCraft.reference.Constants;
+import com.InfinityRaider.AgriCraft.utility.multiblock.IMultiBlockPartData;
+
+/**
+ * A group of connected channels, valves and tanks which share their water.
+ *
+ * Instead of every channel averaging its level with its neighbours, the network solves for the water surface height
+ * at which the total volume is conserved and writes the resulting levels to all components in one batch.
+ * This happens at most once per tick, and only when a level was changed from outside the network or when the network was just built.
+ * Networks are built by the {@link IrrigationNetworkManager}.
+ */
+public final class IrrigationNetwork {
+    /** Number of bisection steps for the water surface, plenty to get below 1/1000th of a pixel */
+    private static final int SOLVER_ITERATIONS = 40;
+
+    private final TileEntityChannel[] channels;
+    private final TileEntityTank[] tanks;
+    /** The bottom height of the lowest channel connected to each tank, water below it can not leave the tank */
+    private final double[] tankOutlets;
+    /** The multiblock size of each tank when the network was built */
+    private final int[] tankSizes;
+    private final int topologyRevision;
+
+    //heights are expressed in pixels from y = 0
+    private final double[] bottoms;
+    private final double[] tops;
+    private final int[] capacities;
+    private final int[] volumes;
+    private final int[] locked;
+
+    private boolean valid;
+    private boolean dirty;
+    private boolean applying;
+    private long lastTick;
+
+    IrrigationNetwork(TileEntityChannel[] channels, TileEntityTank[] tanks, double[] tankOutlets, int topologyRevision) {
+        this.channels = channels;
+        this.tanks = tanks;
+        this.tankOutlets = tankOutlets;
+        this.topologyRevision = topologyRevision;
+        int count = channels.length + tanks.length;
+        this.tankSizes = new int[tanks.length * 3];
+        this.bottoms = new double[count];
+        this.tops = new double[count];
+        this.capacities = new int[count];
+        this.volumes = new int[count];
+        this.locked = new int[count];
+        for(int i = 0; i < channels.length; i++) {
+            int y = Constants.WHOLE * channels[i].yCoord();
+            bottoms[i] = y + TileEntityChannel.MIN;
+            tops[i] = y + TileEntityChannel.MAX;
+            capacities[i] = TileEntityChannel.ABSOLUTE_MAX;
+        }
+        for(int i = 0; i < tanks.length; i++) {
+            IMultiBlockPartData data = tanks[i].getMultiBlockData();
+            tankSizes[3 * i] = data.sizeX();
+            tankSizes[3 * i + 1] = data.sizeY();
+            tankSizes[3 * i + 2] = data.sizeZ();
+            int y = Constants.WHOLE * tanks[i].yCoord();
+            //the bottom of a tank is 2 pixels thick
+            bottoms[channels.length + i] = y + 2;
+            tops[channels.length + i] = y + Constants.WHOLE * data.sizeY();
+        }
+        this.valid = true;
+        this.dirty = true;
+        this.lastTick = -1;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    /** Invalidates the network, its channels are woken up so one of them builds a new network */
+    public void invalidate() {
+        if(this.valid) {
+            this.valid = false;
+            for(TileEntityChannel channel : channels) {
+                channel.wake();
+            }
+        }
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public int getChannelCount() {
+        return channels.length;
+    }
+
+    public int getTankCount() {
+        return tanks.length;
+    }
+
+    /** Called by the components when their level was changed by anything other than this network */
+    public void onFluidLevelChanged() {
+        if(!applying) {
+            dirty = true;
+            //a single awake channel is enough to drive the network
+            channels[0].wake();
+        }
+    }
+
+    /**
+     * Called by every component of the network each tick, only the first call in a tick does any work
+     * @param time the total world time
+     */
+    public void tick(long time) {
+        if(time == lastTick || !valid || !dirty) {
+            return;
+        }
+        lastTick = time;
+        if(!verify()) {
+            invalidate();
+            return;
+        }
+        solve();
+        dirty = false;
+    }
+
+    /** Checks if the components of the network still exist and still have the same shape */
+    private boolean verify() {
+        if(topologyRevision != IrrigationNetworkManager.getTopologyRevision(channels[0].getWorld())) {
+            return false;
+        }
+        for(TileEntityChannel channel : channels) {
+            if(channel.isInvalid()) {
+                return false;
+            }
+        }
+        for(int i = 0; i < tanks.length; i++) {
+            TileEntityTank tank = tanks[i];
+            if(tank.isInvalid() || tank.getMainComponent() != tank) {
+                return false;
+            }
+            IMultiBlockPartData data = tank.getMultiBlockData();
+            if(data.sizeX() != tankSizes[3 * i] || data.sizeY() != tankSizes[3 * i + 1] || data.sizeZ() != tankSizes[3 * i + 2]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Distributes the water over the network so all components share the same water surface */
+    private void solve() {
+        int offset = channels.length;
+        long total = 0;
+        for(int i = 0; i < channels.length; i++) {
+            volumes[i] = channels[i].getFluidLevel();
+            locked[i] = 0;
+            total = total + volumes[i];
+        }
+        for(int i = 0; i < tanks.length; i++) {
+            int index = offset + i;
+            capacities[index] = tanks[i].getCapacity();
+            volumes[index] = tanks[i].getFluidLevel();
+            locked[index] = Math.min(volumes[index], (int) Math.floor(volumeAt(index, tankOutlets[i])));
+            total = total + volumes[index];
+        }
+        //find the water surface by bisection, the stored volume is monotonic in the height
+        double low = Double.MAX_VALUE;
+        double high = -Double.MAX_VALUE;
+        for(int i = 0; i < bottoms.length; i++) {
+            low = Math.min(low, bottoms[i]);
+            high = Math.max(high, tops[i]);
+        }
+        for(int step = 0; step < SOLVER_ITERATIONS; step++) {
+            double mid = 0.5 * (low + high);
+            if(storedVolume(mid) < total) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        //round down and hand out the remainder so no water is created or lost,
+        //only components at the water surface get any so components above it stay dry
+        long remainder = total;
+        for(int i = 0; i < volumes.length; i++) {
+            volumes[i] = Math.max(locked[i], (int) Math.floor(volumeAt(i, low)));
+            remainder = remainder - volumes[i];
+        }
+        for(int i = 0; i < volumes.length && remainder > 0; i++) {
+            if(bottoms[i] <= low && low < tops[i]) {
+                remainder = addRemainder(i, remainder);
+            }
+        }
+        //the surface components are full, spill into the lowest components above the surface
+        while(remainder > 0) {
+            int next = -1;
+            for(int i = 0; i < volumes.length; i++) {
+                if(volumes[i] < capacities[i] && (next < 0 || bottoms[i] < bottoms[next])) {
+                    next = i;
+                }
+            }
+            if(next < 0) {
+                break;
+            }
+            remainder = addRemainder(next, remainder);
+        }
+        applying = true;
+        for(int i = 0; i < channels.length; i++) {
+            channels[i].setFluidLevel(volumes[i]);
+        }
+        for(int i = 0; i < tanks.length; i++) {
+            tanks[i].setFluidLevel(volumes[offset + i]);
+        }
+        applying = false;
+    }
+
+    /** @return the part of the remainder which did not fit in the component */
+    private long addRemainder(int index, long remainder) {
+        int added = (int) Math.min(remainder, capacities[index] - volumes[index]);
+        if(added > 0) {
+            volumes[index] = volumes[index] + added;
+            remainder = remainder - added;
+        }
+        return remainder;
+    }
+
+    private double storedVolume(double height) {
+        double volume = 0;
+        for(int i = 0; i < bottoms.length; i++) {
+            volume = volume + Math.max(locked[i], volumeAt(i, height));
+        }
+        return volume;
+    }
+
+    private double volumeAt(int index, double height) {
+        if(height <= bottoms[index]) {
+            return 0;
+        }
+        if(height >= tops[index]) {
+            return capacities[index];
+        }
+        return capacities[index] * (height - bottoms[index]) / (tops[index] - bottoms[index]);
+    }
+}
@@ -0,0 +1,145 @@
+package com.InfinityRaider.AgriCraft.tileentity.irrigation;
+
+import com.InfinityRaider.AgriCraft.reference.Constants;
+import com.InfinityRaider.AgriCraft.utility.ForgeDirection;
+import com.InfinityRaider.AgriCraft.utility.multiblock.IMultiBlockPartData;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups connected irrigation components into {@link IrrigationNetwork}s.
+ *
+ * Networks are built lazily by the first channel which ticks without a valid network,
+ * every channel and tank which is reached is assigned to the new network.
+ * Channels connect horizontally to channels and tanks of the same material, powered valves are not part of any network.
+ */
+public final class IrrigationNetworkManager {
+    /**
+     * Incremented per dimension whenever a multiblock tank is formed or broken in it,
+     * networks built in that dimension before that are rebuilt. Only used in the server thread.
+     */
+    private static final Map<Integer, Integer> topologyRevisions = new HashMap<>();
+
+    private IrrigationNetworkManager() {}
+
+    public static int getTopologyRevision(World world) {
+        Integer revision = topologyRevisions.get(world.provider.getDimensionId());
+        return revision == null ? 0 : revision;
+    }
+
+    /** Called on the server when a multiblock tank is formed or broken */
+    public static void onTopologyChanged(World world) {
+        topologyRevisions.put(world.provider.getDimensionId(), getTopologyRevision(world) + 1);
+    }
+
+    /** Drops the topology revision of an unloaded world's dimension, its networks are gone with it */
+    public static void onWorldUnload(World world) {
+        topologyRevisions.remove(world.provider.getDimensionId());
+    }
+
+    /**
+     * Builds the network containing a channel, and assigns it to all its components
+     * @param origin the channel to start from, must not be a powered valve
+     * @return the new network
+     */
+    public static IrrigationNetwork buildNetwork(TileEntityChannel origin) {
+        World world = origin.getWorld();
+        List<TileEntityChannel> channels = new ArrayList<>();
+        Map<TileEntityTank, Integer> tanks = new IdentityHashMap<>();
+        Map<TileEntityChannel, Boolean> visited = new IdentityHashMap<>();
+        Deque<TileEntityChannel> queue = new ArrayDeque<>();
+        visited.put(origin, Boolean.TRUE);
+        queue.add(origin);
+        while(!queue.isEmpty()) {
+            TileEntityChannel channel = queue.poll();
+            channels.add(channel);
+            for(ForgeDirection dir : TileEntityChannel.validDirections) {
+                BlockPos pos = dir.offset(channel.getPos());
+                if(!world.isBlockLoaded(pos)) {
+                    continue;
+                }
+                TileEntity te = world.getTileEntity(pos);
+                if(te instanceof TileEntityChannel) {
+                    TileEntityChannel neighbour = (TileEntityChannel) te;
+                    if(!visited.containsKey(neighbour) && isNetworkMember(neighbour) && (channel.canConnectTo(neighbour) || neighbour.canConnectTo(channel))) {
+                        visited.put(neighbour, Boolean.TRUE);
+                        queue.add(neighbour);
+                    }
+                } else if(te instanceof TileEntityTank && channel.canConnectTo((TileEntityTank) te)) {
+                    TileEntityTank tank = ((TileEntityTank) te).getMainComponent();
+                    if(tank == null) {
+                        continue;
+                    }
+                    Integer outlet = tanks.get(tank);
+                    if(outlet == null) {
+                        //water can flow through the tank to the channels on its other sides
+                        addChannelsAroundTank(world, tank, visited, queue);
+                    }
+                    if(outlet == null || channel.yCoord() < outlet) {
+                        tanks.put(tank, channel.yCoord());
+                    }
+                }
+            }
+        }
+        TileEntityTank[] tankArray = new TileEntityTank[tanks.size()];
+        double[] outlets = new double[tanks.size()];
+        int index = 0;
+        for(Map.Entry<TileEntityTank, Integer> entry : tanks.entrySet()) {
+            tankArray[index] = entry.getKey();
+            outlets[index] = Constants.WHOLE * entry.getValue() + TileEntityChannel.MIN;
+            index++;
+        }
+        IrrigationNetwork network = new IrrigationNetwork(channels.toArray(new TileEntityChannel[channels.size()]), tankArray, outlets, getTopologyRevision(world));
+        for(TileEntityChannel channel : channels) {
+            channel.setNetwork(network);
+        }
+        for(TileEntityTank tank : tankArray) {
+            tank.setNetwork(network);
+        }
+        return network;
+    }
+
+    /** @return true if the channel takes part in water distribution */
+    public static boolean isNetworkMember(TileEntityChannel channel) {
+        return !(channel instanceof TileEntityValve && ((TileEntityValve) channel).isPowered());
+    }
+
+    /** Queues the channels connected to the outside of a multiblock tank */
+    private static void addChannelsAroundTank(World world, TileEntityTank tank, Map<TileEntityChannel, Boolean> visited, Deque<TileEntityChannel> queue) {
+        IMultiBlockPartData data = tank.getMultiBlockData();
+        BlockPos root = tank.getPos();
+        for(int y = 0; y < data.sizeY(); y++) {
+            for(int x = 0; x < data.sizeX(); x++) {
+                addChannelNextToTank(world, tank, root.add(x, y, -1), visited, queue);
+                addChannelNextToTank(world, tank, root.add(x, y, data.sizeZ()), visited, queue);
+            }
+            for(int z = 0; z < data.sizeZ(); z++) {
+                addChannelNextToTank(world, tank, root.add(-1, y, z), visited, queue);
+                addChannelNextToTank(world, tank, root.add(data.sizeX(), y, z), visited, queue);
+            }
+        }
+    }
+
+    private static void addChannelNextToTank(World world, TileEntityTank tank, BlockPos pos, Map<TileEntityChannel, Boolean> visited, Deque<TileEntityChannel> queue) {
+        if(!world.isBlockLoaded(pos)) {
+            return;
+        }
+        TileEntity te = world.getTileEntity(pos);
+        if(te instanceof TileEntityChannel) {
+            TileEntityChannel channel = (TileEntityChannel) te;
+            if(!visited.containsKey(channel) && isNetworkMember(channel) && channel.canConnectTo(tank)) {
+                visited.put(channel, Boolean.TRUE);
+                queue.add(channel);
+            }
+        }
+    }
+}
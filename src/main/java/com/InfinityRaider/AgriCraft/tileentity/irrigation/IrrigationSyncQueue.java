@@ -0,0 +1,104 @@
+package com.InfinityRaider.AgriCraft.tileentity.irrigation;
+
+import com.InfinityRaider.AgriCraft.network.MessageSyncFluidLevel;
+import com.InfinityRaider.AgriCraft.network.NetworkWrapperAgriCraft;
+import com.InfinityRaider.AgriCraft.utility.LongIntHashMap;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the irrigation components of which the discrete fluid level changed during a server tick, per dimension.
+ * At the end of the tick every player gets a single message with the levels of all dirty components in the chunks they are watching,
+ * a component which changed several times during the tick is only sent once, with its final level.
+ */
+public class IrrigationSyncQueue {
+    private static final Map<Integer, DimensionQueue> queues = new HashMap<>();
+
+    /** Queues a component for syncing at the end of the tick, only call this on the server */
+    static void markDirty(TileEntity component) {
+        WorldServer world = (WorldServer) component.getWorld();
+        int dimension = world.provider.getDimensionId();
+        DimensionQueue queue = queues.get(dimension);
+        if(queue == null) {
+            queue = new DimensionQueue();
+            queues.put(dimension, queue);
+        }
+        queue.world = world;
+        queue.dirty.add(component);
+    }
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if(event.phase != TickEvent.Phase.END || queues.isEmpty()) {
+            return;
+        }
+        for(DimensionQueue queue : queues.values()) {
+            queue.flush();
+        }
+    }
+
+    private static final class DimensionQueue {
+        private final Set<TileEntity> dirty = new LinkedHashSet<>();
+        /** The world of the dirty components, cleared after every flush so unloaded worlds are not kept */
+        private WorldServer world;
+
+        private void flush() {
+            if(dirty.isEmpty()) {
+                return;
+            }
+            //group the levels by chunk
+            LongIntHashMap chunkIndices = new LongIntHashMap();
+            List<MessageSyncFluidLevel.ChunkLevels> chunks = new ArrayList<>();
+            for(TileEntity te : dirty) {
+                if(te.isInvalid() || te.getWorld() != world) {
+                    continue;
+                }
+                int chunkX = te.getPos().getX() >> 4;
+                int chunkZ = te.getPos().getZ() >> 4;
+                long key = LongIntHashMap.pack(chunkX, chunkZ);
+                int index = chunkIndices.get(key, -1);
+                if(index < 0) {
+                    index = chunks.size();
+                    chunkIndices.put(key, index);
+                    chunks.add(new MessageSyncFluidLevel.ChunkLevels(chunkX, chunkZ));
+                }
+                IIrrigationComponent component = (IIrrigationComponent) te;
+                chunks.get(index).add(te.getPos(), MessageSyncFluidLevel.encodeLevel(component));
+            }
+            dirty.clear();
+            if(!chunks.isEmpty()) {
+                sendToWatchingPlayers(chunks);
+            }
+            world = null;
+        }
+
+        private void sendToWatchingPlayers(List<MessageSyncFluidLevel.ChunkLevels> chunks) {
+            List<MessageSyncFluidLevel.ChunkLevels> watched = new ArrayList<>();
+            for(Object object : world.playerEntities) {
+                if(!(object instanceof EntityPlayerMP)) {
+                    continue;
+                }
+                EntityPlayerMP player = (EntityPlayerMP) object;
+                watched.clear();
+                for(MessageSyncFluidLevel.ChunkLevels chunk : chunks) {
+                    if(world.getPlayerManager().isPlayerWatchingChunk(player, chunk.chunkX, chunk.chunkZ)) {
+                        watched.add(chunk);
+                    }
+                }
+                if(!watched.isEmpty()) {
+                    NetworkWrapperAgriCraft.wrapper.sendTo(new MessageSyncFluidLevel(watched), player);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.InfinityRaider.AgriCraft.tileentity.irrigation;
+
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts how many irrigation tile entities are awake or sleeping in a dimension.
+ * Components record every tick, the counts of the last completed tick are reported in the debug info.
+ */
+public final class IrrigationTickMetrics {
+    private static final Map<Integer, IrrigationTickMetrics> metrics = new HashMap<>();
+
+    private final int dimension;
+    private long currentTick = -1;
+    private int awake;
+    private int sleeping;
+    private int lastAwake;
+    private int lastSleeping;
+    private long totalAwakeTicks;
+    private long totalSleepingTicks;
+
+    private IrrigationTickMetrics(int dimension) {
+        this.dimension = dimension;
+    }
+
+    /** Gets the metrics for the dimension of a world, tile entities should cache the result */
+    public static synchronized IrrigationTickMetrics getMetrics(World world) {
+        int dimension = world.provider.getDimensionId();
+        IrrigationTickMetrics dimensionMetrics = metrics.get(dimension);
+        if(dimensionMetrics == null) {
+            dimensionMetrics = new IrrigationTickMetrics(dimension);
+            metrics.put(dimension, dimensionMetrics);
+        }
+        return dimensionMetrics;
+    }
+
+    /** Drops the metrics of an unloaded world's dimension so they are not kept around */
+    public static synchronized void onWorldUnload(World world) {
+        metrics.remove(world.provider.getDimensionId());
+    }
+
+    /**
+     * Records a tick of a component
+     * @param time the total world time
+     * @param isAwake if the component did any work this tick
+     */
+    public void recordTick(long time, boolean isAwake) {
+        if(time != currentTick) {
+            currentTick = time;
+            lastAwake = awake;
+            lastSleeping = sleeping;
+            awake = 0;
+            sleeping = 0;
+        }
+        if(isAwake) {
+            awake++;
+            totalAwakeTicks++;
+        } else {
+            sleeping++;
+            totalSleepingTicks++;
+        }
+    }
+
+    /** @return the number of components which were awake in the last completed tick */
+    public int getAwakeComponents() {
+        return lastAwake;
+    }
+
+    /** @return the number of components which were sleeping in the last completed tick */
+    public int getSleepingComponents() {
+        return lastSleeping;
+    }
+
+    public long getTotalAwakeTicks() {
+        return totalAwakeTicks;
+    }
+
+    public long getTotalSleepingTicks() {
+        return totalSleepingTicks;
+    }
+
+    public void addDebugInfo(List<String> list) {
+        list.add("  - Irrigation in dimension " + dimension + ": " + lastAwake + " awake, " + lastSleeping + " sleeping");
+        list.add("  - Irrigation ticks in dimension " + dimension + ": " + totalAwakeTicks + " awake, " + totalSleepingTicks + " sleeping");
+    }
+}
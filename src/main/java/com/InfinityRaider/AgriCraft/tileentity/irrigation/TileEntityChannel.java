@@ -2,9 +2,6 @@ package com.InfinityRaider.AgriCraft.tileentity.irrigation;
 
 import com.InfinityRaider.AgriCraft.api.v1.IDebuggable;
 import com.InfinityRaider.AgriCraft.handler.ConfigurationHandler;
-import com.InfinityRaider.AgriCraft.network.MessageSyncFluidLevel;
-import com.InfinityRaider.AgriCraft.network.NetworkWrapperAgriCraft;
-import com.InfinityRaider.AgriCraft.reference.Constants;
 import com.InfinityRaider.AgriCraft.reference.Names;
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityCustomWood;
 import com.InfinityRaider.AgriCraft.utility.ForgeDirection;
@@ -12,8 +9,6 @@ import net.minecraft.client.renderer.texture.ITickable;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.StatCollector;
-import net.minecraftforge.fml.common.network.NetworkRegistry;
-import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -44,6 +39,11 @@ public class TileEntityChannel extends TileEntityCustomWood implements ITickable
 
     private int lvl;
     private int lastDiscreteLvl=0;
+    /** The network distributing water over this channel and the components connected to it, only used on the server */
+    private IrrigationNetwork network;
+    /** Sleeping channels skip their tick until they are woken by their network, a block update or a redstone change */
+    private boolean sleeping = false;
+    private IrrigationTickMetrics metrics;
 
     public TileEntityChannel() {
         super();
@@ -85,6 +85,9 @@ public class TileEntityChannel extends TileEntityCustomWood implements ITickable
         if(lvl>=0 && lvl<=ABSOLUTE_MAX && lvl!=this.lvl) {
             this.lvl = lvl;
             syncFluidLevel();
+            if(this.network != null) {
+                this.network.onFluidLevelChanged();
+            }
         }
     }
     
@@ -144,15 +147,20 @@ public class TileEntityChannel extends TileEntityCustomWood implements ITickable
     }
 
     public final void findNeighbours() {
+        boolean changed = false;
         for(int i=0;i<validDirections.length;i++) {
             ForgeDirection dir = validDirections[i];
             TileEntity te = worldObj.getTileEntity(dir.offset(getPos()));
-            if(!(te instanceof IIrrigationComponent)) {
-                neighbours[i] = null;
-            } else {
-                IIrrigationComponent neighbour = (IIrrigationComponent) te;
-                neighbours[i] = (neighbour.canConnectTo(this) || this.canConnectTo(neighbour)) ? neighbour : null;
+            IIrrigationComponent neighbour = null;
+            if(te instanceof IIrrigationComponent) {
+                IIrrigationComponent component = (IIrrigationComponent) te;
+                neighbour = (component.canConnectTo(this) || this.canConnectTo(component)) ? component : null;
             }
+            changed = changed || neighbour != neighbours[i];
+            neighbours[i] = neighbour;
+        }
+        if(changed) {
+            invalidateNetwork();
         }
         ticksSinceNeighbourCheck = 0;
     }
@@ -188,90 +196,84 @@ public class TileEntityChannel extends TileEntityCustomWood implements ITickable
     @Override
     public void tick() {
         if (!this.worldObj.isRemote) {
+            long time = this.worldObj.getTotalWorldTime();
+            if(this.metrics == null) {
+                this.metrics = IrrigationTickMetrics.getMetrics(this.worldObj);
+            }
+            this.metrics.recordTick(time, !this.sleeping);
+            if(this.sleeping) {
+                return;
+            }
             updateNeighbours();
-            //calculate total fluid lvl and capacity
-            int totalLvl = 0;
-            int nr = 1;
-            int updatedLevel = this.getFluidLevel();
-            for (IIrrigationComponent component : neighbours) {
-                if(component == null) {
-                    continue;
-                }
-                //neighbour is a channel: add its volume to the total and increase the count
-                if (component instanceof TileEntityChannel) {
-                    if (!(component instanceof TileEntityValve && ((TileEntityValve) component).isPowered())) {
-                        totalLvl = totalLvl + ((TileEntityChannel) component).lvl;
-                        nr++;
-                    }
-                }
-                //neighbour is a tank: calculate the fluid levels of the tank and the channel
-                else {
-                    TileEntityTank tank = (TileEntityTank) component;
-                    int Y = tank.getYPosition();
-                    float y_c = Constants.WHOLE * Y + this.getFluidHeight();  //initial channel water y
-                    float y_t = tank.getFluidHeight();           //initial tank water y
-                    float y1 = (float) MIN + Constants.WHOLE * Y;   //minimum y of the channel
-                    float y2 = (float) MAX + Constants.WHOLE * Y;  //maximum y of the channel
-                    int V_tot = tank.getFluidLevel() + this.lvl;
-                    if (y_c != y_t) {
-                        //total volume is below the channel connection
-                        if (y_t <= y1) {
-                            updatedLevel = 0;
-                            tank.setFluidLevel(V_tot);
-                        }
-                        //total volume is above the channel connection
-                        else if (y_t >= y2) {
-                            updatedLevel = ABSOLUTE_MAX;
-                            tank.setFluidLevel(V_tot - ABSOLUTE_MAX);
-                        }
-                        //total volume is between channel connection top and bottom
-                        else {
-                            //some parameters
-                            int tankYSize = tank.getMultiBlockData().sizeY();
-                            int C = tank.getCapacity();
-                            //calculate the y corresponding to the total volume: y = f(V_tot), V_tank = f(y), V_channel = f(y)
-                            float enumerator = (V_tot) + ((ABSOLUTE_MAX * y1) / (y2 - y1) + ((float) 2 * C) / (Constants.WHOLE * tankYSize - 2));
-                            float denominator = ((ABSOLUTE_MAX) / (y2 - y1) + ((float) C) / ((float) (Constants.WHOLE * tankYSize - 2)));
-                            float y = enumerator / denominator;
-                            //convert the y to volumes
-                            int channelVolume = (int) Math.floor(ABSOLUTE_MAX * (y - y1) / (y2 - y1));
-                            int tankVolume = (int) Math.ceil(C * (y - 2) / (Constants.WHOLE * tankYSize - 2));
-                            updatedLevel = channelVolume;
-                            tank.setFluidLevel(tankVolume);
-                        }
-                    }
-                }
+            if(!IrrigationNetworkManager.isNetworkMember(this)) {
+                //closed valves don't do anything until they are opened
+                this.sleeping = true;
+                return;
             }
-            //equalize water level over all neighbouring channels
-            totalLvl = totalLvl + updatedLevel;
-            int rest = totalLvl % nr;
-            int newLvl = totalLvl / nr;
-            if (nr > 1) {
-                //set fluid levels
-                for (IIrrigationComponent component : neighbours) {
-                    //TODO: cleanup
-                    if (component instanceof TileEntityChannel) {
-                        if (!(component instanceof TileEntityValve && ((TileEntityValve) component).isPowered())) {
-                            int lvl = rest == 0 ? newLvl : newLvl + 1;
-                            rest = rest == 0 ? 0 : rest - 1;
-                            component.setFluidLevel(lvl);
-                        }
-                    }
-                }
+            //the water distribution is solved by the network, only the first channel to tick in a tick does the work
+            IrrigationNetwork network = getNetwork();
+            network.tick(time);
+            if(network.isValid() && !network.isDirty()) {
+                this.sleeping = true;
             }
-            this.setFluidLevel(newLvl + rest);
         }
     }
 
+    /** Wakes this channel up, it will tick again until its network is at equilibrium */
+    public void wake() {
+        this.sleeping = false;
+    }
+
+    public boolean isSleeping() {
+        return this.sleeping;
+    }
+
+    /** @return the irrigation network this channel is part of, builds a new one if needed */
+    public IrrigationNetwork getNetwork() {
+        if(this.network == null || !this.network.isValid()) {
+            this.network = IrrigationNetworkManager.buildNetwork(this);
+        }
+        return this.network;
+    }
+
+    /** Called by the IrrigationNetworkManager when this channel is assigned to a network */
+    void setNetwork(IrrigationNetwork network) {
+        if(this.network != null && this.network != network) {
+            this.network.invalidate();
+        }
+        this.network = network;
+    }
+
+    /** Forces the network of this channel to be rebuilt, e.g. when its connections change */
+    public void invalidateNetwork() {
+        if(this.network != null) {
+            this.network.invalidate();
+            this.network = null;
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        invalidateNetwork();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        invalidateNetwork();
+    }
+
     @Override
 	public void syncFluidLevel() {
-        if(!this.worldObj.isRemote) {
-            int newDiscreteLvl = getDiscreteFluidLevel();
-            if(newDiscreteLvl != lastDiscreteLvl) {
-                lastDiscreteLvl = newDiscreteLvl;
-                IMessage msg = new MessageSyncFluidLevel(this.lvl, this.getPos());
-                NetworkRegistry.TargetPoint point = new NetworkRegistry.TargetPoint(this.worldObj.provider.getDimensionId(), this.xCoord(), this.yCoord(), this.zCoord(), 64);
-                NetworkWrapperAgriCraft.wrapper.sendToAllAround(msg, point);
+        int newDiscreteLvl = getDiscreteFluidLevel();
+        if(newDiscreteLvl != lastDiscreteLvl) {
+            lastDiscreteLvl = newDiscreteLvl;
+            if(this.worldObj.isRemote) {
+                //the water is rendered in the chunk mesh, the water of neighbouring channels connects to the water in this one
+                this.worldObj.markBlockRangeForRenderUpdate(getPos().add(-1, 0, -1), getPos().add(1, 0, 1));
+            } else {
+                IrrigationSyncQueue.markDirty(this);
             }
         }
     }
@@ -290,6 +292,13 @@ public class TileEntityChannel extends TileEntityCustomWood implements ITickable
         super.addDebugInfo(list);
         list.add("  - FluidLevel: " + this.getFluidLevel() + "/" + ABSOLUTE_MAX);
         list.add("  - FluidHeight: " + this.getFluidHeight());
+        if(this.network != null) {
+            list.add("  - Network: " + this.network.getChannelCount() + " channels, " + this.network.getTankCount() + " tanks");
+        }
+        list.add("  - Sleeping: " + this.sleeping);
+        if(this.metrics != null) {
+            this.metrics.addDebugInfo(list);
+        }
         list.add("  - Connections: ");
         for (ForgeDirection dir : validDirections) {
         	if (this.hasNeighbour(dir)) {
@@ -20,13 +20,32 @@ import net.minecraftforge.common.IPlantable;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class TileEntitySprinkler extends TileEntityBase implements ITickable {
+    /** Horizontal reach of the sprinkler */
+    private static final int RANGE = 3;
+    /** Depth of the sprinkler, plants are only watered above the lowest layer */
+    private static final int DEPTH = 5;
+    /** Ticks after which the footprint is scanned again, blocks below the sprinkler do not notify it when they change */
+    private static final int FOOTPRINT_REFRESH_TICKS = 200;
+    /** Every farmland block is checked once per this many ticks */
+    private static final int FARMLAND_INTERVAL = 10;
+
     private int counter = 0;
     public float angle = 0.0F;
     private boolean isSprinkled = false;
 
+    /** Packed offsets of the farmland blocks below the sprinkler */
+    private int[] farmland = new int[0];
+    private int farmlandCount = 0;
+    /** Packed offsets of the plants below the sprinkler */
+    private int[] plants = new int[0];
+    private int plantCount = 0;
+    private int ticksSinceFootprint = FOOTPRINT_REFRESH_TICKS;
+    private final BlockPos.MutableBlockPos checkPos = new BlockPos.MutableBlockPos();
+
     //this saves the data on the tile entity
     @Override
     public void writeToNBT(NBTTagCompound tag) {
@@ -67,13 +86,17 @@ public class TileEntitySprinkler extends TileEntityBase implements ITickable {
             if (this.sprinkle()) {
                 counter = ++counter % ConfigurationHandler.sprinklerGrowthIntervalTicks;
                 drainWaterFromChannel();
-
-                for (int yOffset = 1; yOffset < 6; yOffset++) {
-                    for (int xOffset = -3; xOffset <= 3; xOffset++) {
-                        for (int zOffset = -3; zOffset <= 3; zOffset++) {
-                            this.irrigate(this.xCoord() + xOffset, this.yCoord() - yOffset, this.zCoord() + zOffset, yOffset>=5);
-                        }
-                    }
+                if (ticksSinceFootprint >= FOOTPRINT_REFRESH_TICKS) {
+                    this.scanFootprint();
+                }
+                ticksSinceFootprint++;
+                //the work is spread over the ticks, every block gets its turn once per interval
+                int farmlandSlice = (int) (worldObj.getTotalWorldTime() % FARMLAND_INTERVAL);
+                for (int i = farmlandSlice; i < farmlandCount; i = i + FARMLAND_INTERVAL) {
+                    this.irrigateFarmland(farmland[i]);
+                }
+                for (int i = counter; i < plantCount; i = i + ConfigurationHandler.sprinklerGrowthIntervalTicks) {
+                    this.growPlant(plants[i]);
                 }
             }
         }
@@ -98,23 +121,74 @@ public class TileEntitySprinkler extends TileEntityBase implements ITickable {
         return this.isSprinkled;
     }
 
-    /** Depending on the block type either irrigates farmland or forces plant growth (based on chance) */
-    private void irrigate(int x, int y, int z, boolean farmlandOnly) {
-        BlockPos pos = new BlockPos(x, y, z);
-        IBlockState state = this.getWorld().getBlockState(pos);
-        Block block = state.getBlock();
-        if (block != null) {
-            if (block instanceof BlockFarmland && block.getMetaFromState(state) < 7) {
-                // irrigate farmland
-                int flag = counter==0?2:6;
-                worldObj.setBlockState(pos, block.getStateFromMeta(7), flag);
-            } else if (((block instanceof IPlantable) || (block instanceof IGrowable)) && !farmlandOnly) {
-                // x chance to force growth tick on plant every y ticks
-                if (counter == 0 && worldObj.rand.nextDouble() <= ConfigurationHandler.sprinklerGrowthChancePercent) {
-                    block.updateTick(this.getWorld(), pos, state, worldObj.rand);
+    /** Forces the footprint to be scanned again on the next tick */
+    public void onNeighbourChanged() {
+        this.ticksSinceFootprint = FOOTPRINT_REFRESH_TICKS;
+    }
+
+    /** Collects the farmland and plants below the sprinkler, so the following ticks only have to visit those */
+    private void scanFootprint() {
+        farmlandCount = 0;
+        plantCount = 0;
+        for (int yOffset = 1; yOffset <= DEPTH; yOffset++) {
+            for (int xOffset = -RANGE; xOffset <= RANGE; xOffset++) {
+                for (int zOffset = -RANGE; zOffset <= RANGE; zOffset++) {
+                    checkPos.set(this.xCoord() + xOffset, this.yCoord() - yOffset, this.zCoord() + zOffset);
+                    Block block = worldObj.getBlockState(checkPos).getBlock();
+                    if (block instanceof BlockFarmland) {
+                        farmland = add(farmland, farmlandCount, packOffset(xOffset, yOffset, zOffset));
+                        farmlandCount++;
+                    } else if (((block instanceof IPlantable) || (block instanceof IGrowable)) && yOffset < DEPTH) {
+                        plants = add(plants, plantCount, packOffset(xOffset, yOffset, zOffset));
+                        plantCount++;
+                    }
                 }
             }
         }
+        ticksSinceFootprint = 0;
+    }
+
+    /** Irrigates a farmland block if it has dried out */
+    private void irrigateFarmland(int offset) {
+        setCheckPos(offset);
+        IBlockState state = worldObj.getBlockState(checkPos);
+        Block block = state.getBlock();
+        if (block instanceof BlockFarmland && block.getMetaFromState(state) < 7) {
+            int flag = counter==0?2:6;
+            worldObj.setBlockState(new BlockPos(checkPos), block.getStateFromMeta(7), flag);
+        }
+    }
+
+    /** x chance to force growth tick on a plant every y ticks */
+    private void growPlant(int offset) {
+        if (worldObj.rand.nextDouble() > ConfigurationHandler.sprinklerGrowthChancePercent) {
+            return;
+        }
+        setCheckPos(offset);
+        IBlockState state = worldObj.getBlockState(checkPos);
+        Block block = state.getBlock();
+        if ((block instanceof IPlantable) || (block instanceof IGrowable)) {
+            block.updateTick(this.getWorld(), new BlockPos(checkPos), state, worldObj.rand);
+        }
+    }
+
+    private void setCheckPos(int offset) {
+        int xOffset = (offset & 0xFF) - RANGE;
+        int yOffset = (offset >> 8) & 0xFF;
+        int zOffset = ((offset >> 16) & 0xFF) - RANGE;
+        checkPos.set(this.xCoord() + xOffset, this.yCoord() - yOffset, this.zCoord() + zOffset);
+    }
+
+    private static int packOffset(int xOffset, int yOffset, int zOffset) {
+        return (xOffset + RANGE) | (yOffset << 8) | ((zOffset + RANGE) << 16);
+    }
+
+    private static int[] add(int[] array, int count, int value) {
+        if (count >= array.length) {
+            array = Arrays.copyOf(array, Math.max(8, array.length << 1));
+        }
+        array[count] = value;
+        return array;
     }
 
     /** Called once per tick, drains water out of the WaterChannel one y-level above */
@@ -2,8 +2,6 @@ package com.InfinityRaider.AgriCraft.tileentity.irrigation;
 
 import com.InfinityRaider.AgriCraft.api.v1.IDebuggable;
 import com.InfinityRaider.AgriCraft.handler.ConfigurationHandler;
-import com.InfinityRaider.AgriCraft.network.MessageSyncFluidLevel;
-import com.InfinityRaider.AgriCraft.network.NetworkWrapperAgriCraft;
 import com.InfinityRaider.AgriCraft.reference.Constants;
 import com.InfinityRaider.AgriCraft.reference.Names;
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityCustomWood;
@@ -19,8 +17,6 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.StatCollector;
 import net.minecraft.world.biome.BiomeGenBase;
 import net.minecraftforge.fluids.*;
-import net.minecraftforge.fml.common.network.NetworkRegistry;
-import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -28,6 +24,8 @@ import java.util.List;
 
 public class TileEntityTank extends TileEntityCustomWood implements ITickable, IFluidHandler, IIrrigationComponent, IMultiBlockComponent<MultiBlockManager, MultiBlockPartData>, IDebuggable {
 	public static final int SYNC_DELTA = Constants.HALF_BUCKET_mB;
+    /** Tanks sleeping in the rain wake up this often to check if they can see the sky, a roof further up does not notify them when it is removed */
+    private static final int RAIN_CHECK_INTERVAL = 20;
 
     public static final int DISCRETE_MAX = Constants.WHOLE;
     
@@ -46,6 +44,13 @@ public class TileEntityTank extends TileEntityCustomWood implements ITickable, I
     private MultiBlockPartData multiBlockData;
     /** Main component cache is only used in the server thread because it's accessed there very often */
     private TileEntityTank mainComponent;
+    /** The irrigation network this tank is connected to, only set on the main component in the server thread */
+    private IrrigationNetwork network;
+    /** Sleeping tanks skip their tick until the weather changes, a neighbouring block changes or they stop being full, or for a rain check */
+    private boolean sleeping = false;
+    private boolean sleepRaining;
+    private boolean sleepFull;
+    private IrrigationTickMetrics metrics;
     
     @Override
     public void writeToNBT(NBTTagCompound tag) {
@@ -65,6 +70,20 @@ public class TileEntityTank extends TileEntityCustomWood implements ITickable, I
     @Override
     public void tick() {
         if(!this.worldObj.isRemote) {
+            if(this.metrics == null) {
+                this.metrics = IrrigationTickMetrics.getMetrics(this.worldObj);
+            }
+            if(this.sleeping) {
+                //staggered by position so not all tanks check in the same tick
+                boolean rainCheck = this.sleepRaining && (this.worldObj.getTotalWorldTime() + this.pos.hashCode()) % RAIN_CHECK_INTERVAL == 0;
+                if(!rainCheck && this.worldObj.isRaining() == this.sleepRaining && !(this.sleepFull && this.canAccept())) {
+                    this.metrics.recordTick(this.worldObj.getTotalWorldTime(), false);
+                    return;
+                }
+                this.sleeping = false;
+            }
+            this.metrics.recordTick(this.worldObj.getTotalWorldTime(), true);
+            int level = this.getFluidLevel();
             if(this.worldObj.canBlockSeeSky(getPos()) && this.worldObj.isRaining()) {
                 if(!this.hasNeighbour(ForgeDirection.UP)) {
                     BiomeGenBase biome = this.worldObj.getBiomeGenForCoords(getPos());
@@ -77,15 +96,28 @@ public class TileEntityTank extends TileEntityCustomWood implements ITickable, I
             if(ConfigurationHandler.fillFromFlowingWater && (block==Blocks.water || block==Blocks.flowing_water)) {
                 this.setFluidLevel(this.getFluidLevel() + 5);
             }
+            //nothing is filling this tank, sleep until something changes
+            if(this.getFluidLevel() == level) {
+                this.sleeping = true;
+                this.sleepRaining = this.worldObj.isRaining();
+                this.sleepFull = !this.canAccept();
+            }
         }
     }
 
+    /** Wakes this tank up, e.g. when a neighbouring block changes */
+    public void wake() {
+        this.sleeping = false;
+    }
+
+    public boolean isSleeping() {
+        return this.sleeping;
+    }
+
     @Override
 	public void syncFluidLevel() {
         if(needsSync()) {
-            IMessage msg = new MessageSyncFluidLevel(this.fluidLevel, this.getPos());
-            NetworkRegistry.TargetPoint point = new NetworkRegistry.TargetPoint(this.worldObj.provider.getDimensionId(), this.xCoord(), this.yCoord(), this.zCoord(), 64);
-            NetworkWrapperAgriCraft.wrapper.sendToAllAround(msg, point);
+            IrrigationSyncQueue.markDirty(this);
         }
     }
 
@@ -190,10 +222,51 @@ public class TileEntityTank extends TileEntityCustomWood implements ITickable, I
             tank.fluidLevel = lvl;
             if (!tank.worldObj.isRemote) {
                 tank.syncFluidLevel();
+                if (tank.network != null) {
+                    tank.network.onFluidLevelChanged();
+                }
+            } else {
+                tank.onClientFluidLevelChanged();
             }
         }
     }
 
+    /** The water is rendered in the chunk mesh, rebuild it when the discrete fluid level of this tank changes */
+    private void onClientFluidLevelChanged() {
+        int newDiscreteLvl = getDiscreteFluidLevel();
+        if(newDiscreteLvl != lastDiscreteFluidLevel) {
+            lastDiscreteFluidLevel = newDiscreteLvl;
+            //the water of connected channels depends on the level of this tank as well
+            MultiBlockStructure structure = getMultiBlockManager().getStructure(getPos(), this);
+            this.worldObj.markBlockRangeForRenderUpdate(structure.minX() - 1, structure.minY(), structure.minZ() - 1, structure.maxX(), structure.maxY() - 1, structure.maxZ());
+        }
+    }
+
+    /** Called by the IrrigationNetworkManager when this tank is connected to a network */
+    void setNetwork(IrrigationNetwork network) {
+        this.network = network;
+    }
+
+    /** Drops the network of this tank, its channels are woken up to build a new one */
+    private void invalidateNetwork() {
+        if (this.network != null) {
+            this.network.invalidate();
+            this.network = null;
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        invalidateNetwork();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        invalidateNetwork();
+    }
+
     @Override
     public boolean canConnectTo(IIrrigationComponent component) {
         return false;
@@ -329,12 +402,14 @@ public class TileEntityTank extends TileEntityCustomWood implements ITickable, I
         for(int x=0;x<sizeX;x++) {
             for(int y=0;y<sizeY;y++) {
                 for(int z=0;z<sizeZ;z++) {
-                    TileEntityTank tank = (TileEntityTank) worldObj.getTileEntity(getPos().add(xCoord(), yCoord(), zCoord()));
+                    TileEntityTank tank = (TileEntityTank) worldObj.getTileEntity(getPos().add(x, y, z));
                     if(tank == null) {
                         continue;
                     }
                     lvl = lvl + tank.fluidLevel;
                     tank.fluidLevel = 0;
+                    //the networks of the merged tanks have the wrong main component and capacity now
+                    tank.invalidateNetwork();
                 }
             }
         }
@@ -344,10 +419,15 @@ public class TileEntityTank extends TileEntityCustomWood implements ITickable, I
     @Override
     public void postMultiBlockCreation() {
         this.mainComponent = null;
+        if(!this.worldObj.isRemote) {
+            IrrigationNetworkManager.onTopologyChanged(this.worldObj);
+        }
     }
 
     @Override
     public void preMultiBlockBreak() {
+        //every part becomes a tank of its own, the network of this main component no longer fits
+        invalidateNetwork();
         MultiBlockPartData data = this.getMultiBlockData();
         int[] fluidLevelByLayer = new int[data.sizeY()];
         int area = data.sizeX()*data.sizeZ();
@@ -361,7 +441,7 @@ public class TileEntityTank extends TileEntityCustomWood implements ITickable, I
         for(int x=0;x<data.sizeX();x++) {
             for(int y=0;y<fluidLevelByLayer.length;y++) {
                 for(int z=0;z<data.sizeZ();z++) {
-                    TileEntityTank tank = (TileEntityTank) worldObj.getTileEntity(getPos().add(xCoord(), yCoord(), zCoord()));
+                    TileEntityTank tank = (TileEntityTank) worldObj.getTileEntity(getPos().add(x, y, z));
                     if(tank != null) {
                         tank.fluidLevel = fluidLevelByLayer[y];
                     }
@@ -373,6 +453,9 @@ public class TileEntityTank extends TileEntityCustomWood implements ITickable, I
     @Override
     public void postMultiBlockBreak() {
         this.mainComponent = null;
+        if(!this.worldObj.isRemote) {
+            IrrigationNetworkManager.onTopologyChanged(this.worldObj);
+        }
         this.syncFluidLevel();
     }
 
@@ -405,6 +488,12 @@ public class TileEntityTank extends TileEntityCustomWood implements ITickable, I
         list.add("  - Neighbours: " + neighbours.toString());
         list.add("  - MultiBlock data: " + data.toString());
         list.add("  - MultiBlock Size: "+ data.sizeX()+"x"+ data.sizeY()+"x"+data.sizeZ());
+        list.add("  - MultiBlock bounds: " + getMultiBlockManager().getStructure(getPos(), this));
+        list.add("  - Sleeping: " + this.sleeping);
+        if(this.metrics != null) {
+            this.metrics.addDebugInfo(list);
+        }
+        getMultiBlockManager().addDebugInfo(list);
     }
 
     /** Waila methods */
@@ -32,21 +32,13 @@ public class TileEntityValve extends TileEntityChannel implements IDebuggable{
         super.readFromNBT(tag);
     }
 
-    @Override
-    public void tick() {
-        if(!this.worldObj.isRemote) {
-            if(!this.powered) {
-                super.tick();
-            } else {
-                updateNeighbours();
-            }
-        }
-    }
-
     public void updatePowerStatus() {
         boolean wasPowered = powered;
         powered = worldObj.isBlockIndirectlyGettingPowered(getPos()) > 0;
         if (powered != wasPowered) {
+            //a closed valve splits the network, an opened valve joins networks
+            invalidateNetwork();
+            wake();
             markForUpdate();
         }
     }
@@ -36,6 +36,11 @@ public interface ISeedStorageControllable {
      */
     List<SeedStorageSlot> getSlots();
 
+    /**
+     * Returns a read-only view of the slots sorted by a stat, or by slot id if the stat is null, the view follows changes to the inventory
+     */
+    List<SeedStorageSlot> getSortedSlots(String stat);
+
     /**
      * Returns the coordinates of the controller controlling this controllable
      */
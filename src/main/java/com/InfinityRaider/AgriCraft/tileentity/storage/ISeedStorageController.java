@@ -3,7 +3,6 @@ package com.InfinityRaider.AgriCraft.tileentity.storage;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public interface ISeedStorageController {
@@ -13,7 +12,7 @@ public interface ISeedStorageController {
     boolean addStackToInventory(ItemStack stack);
 
     /**
-     * Returns a list of all the kinds of seeds
+     * Returns a read-only list of all the kinds of seeds
      */
     List<ItemStack> getControlledSeeds();
 
@@ -27,15 +26,25 @@ public interface ISeedStorageController {
      */
     void addControllable(ISeedStorageControllable controllable);
 
+    /**
+     * Removes a controllable from this controller
+     */
+    void removeControllable(ISeedStorageControllable controllable);
+
+    /**
+     * Called by a controllable when its locked seed was set or cleared
+     */
+    void onLockedSeedChanged(ISeedStorageControllable controllable);
+
     /**
      * Checks if this controller is active
      */
     boolean isControlling();
 
     /**
-     * Returns the coordinates of all the controllables under this controller
+     * Returns a read-only list with the coordinates of all the controllables under this controller
      */
-    ArrayList<int[]> getControlledCoordinates();
+    List<int[]> getControlledCoordinates();
 
     /**
      * Returns the coordinates of the controller
@@ -1,5 +1,6 @@
 package com.InfinityRaider.AgriCraft.tileentity.storage;
 
+import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
 import com.InfinityRaider.AgriCraft.reference.Names;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -7,32 +8,71 @@ import net.minecraft.nbt.NBTTagCompound;
 
 import java.util.Comparator;
 
+/**
+ * A slot in a seed storage, holding a number of seeds with the same stats.
+ * The stats are packed into a single int, NBT tags and ItemStacks are only built when seeds leave the storage.
+ */
 public class SeedStorageSlot {
-    private NBTTagCompound tag;
+    /** Stats are packed as 8 bits each: growth, gain, strength */
+    private static final int STAT_MASK = 0xFF;
+
+    private final int stats;
     public int count;
 
     final int slotId;
     final int invId;
 
-    public SeedStorageSlot(NBTTagCompound tag, int nr, int slotId, int invId) {
-        this.tag = tag;
+    public SeedStorageSlot(int growth, int gain, int strength, int nr, int slotId, int invId) {
+        this.stats = packStats(growth, gain, strength);
         this.count = nr;
         this.slotId = slotId;
         this.invId = invId;
     }
 
+    public SeedStorageSlot(NBTTagCompound tag, int nr, int slotId, int invId) {
+        this(tag.getShort(Names.NBT.growth), tag.getShort(Names.NBT.gain), tag.getShort(Names.NBT.strength), nr, slotId, invId);
+    }
+
+    /** Packs the stats of a seed into a single int */
+    public static int packStats(int growth, int gain, int strength) {
+        return (clamp(growth) << 16) | (clamp(gain) << 8) | clamp(strength);
+    }
+
+    private static int clamp(int stat) {
+        return stat < 0 ? 0 : stat > STAT_MASK ? STAT_MASK : stat;
+    }
+
+    public short getGrowth() {
+        return (short) ((stats >> 16) & STAT_MASK);
+    }
+
+    public short getGain() {
+        return (short) ((stats >> 8) & STAT_MASK);
+    }
+
+    public short getStrength() {
+        return (short) (stats & STAT_MASK);
+    }
+
+    /** Builds a new stack holding the seeds in this slot */
     public ItemStack getStack(Item item, int meta) {
         ItemStack stack = new ItemStack(item, count, meta);
-        stack.setTagCompound((NBTTagCompound) tag.copy());
+        stack.setTagCompound(this.getTag());
         return stack;
     }
 
+    /** Builds a new NBT tag with the stats of the seeds in this slot */
     public NBTTagCompound getTag() {
-        return (NBTTagCompound) this.tag.copy();
+        return CropPlantHandler.setSeedNBT(new NBTTagCompound(), getGrowth(), getGain(), getStrength(), true);
+    }
+
+    /** @return the packed stats of the seeds in this slot */
+    public int getPackedStats() {
+        return stats;
     }
 
     private int getTotalStat() {
-        return tag.getInteger(Names.NBT.growth) + tag.getInteger(Names.NBT.gain) + tag.getInteger(Names.NBT.strength);
+        return getGrowth() + getGain() + getStrength();
     }
 
     public int getId() {
@@ -42,16 +82,16 @@ public class SeedStorageSlot {
     /** Compares 2 SeedStorageSlots by the given stat */
     public static class SlotComparator implements Comparator<SeedStorageSlot> {
 
-        private final String stat;
+        private final int shift;
 
         public SlotComparator(String stat) {
-            this.stat = stat;
+            this.shift = Names.NBT.growth.equals(stat) ? 16 : Names.NBT.gain.equals(stat) ? 8 : 0;
         }
 
         @Override
         public int compare(SeedStorageSlot o1, SeedStorageSlot o2) {
-            int stat1 = o1.tag.getInteger(stat);
-            int stat2 = o2.tag.getInteger(stat);
+            int stat1 = (o1.stats >> shift) & STAT_MASK;
+            int stat2 = (o2.stats >> shift) & STAT_MASK;
             if(stat2 == stat1) {
                 return o2.getTotalStat() - o1.getTotalStat();
             }
@@ -0,0 +1,172 @@
+package com.InfinityRaider.AgriCraft.tileentity.storage;
+
+import com.InfinityRaider.AgriCraft.reference.Names;
+import com.InfinityRaider.AgriCraft.utility.LongIntHashMap;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Holds the slots of a seed storage.
+ *
+ * Slots are found by their id and by their packed (growth, gain, strength) stats in constant time,
+ * and a bitmap keeps track of the slot ids in use so a free id is found without scanning the slots.
+ * A slot keeps its id for as long as it exists, the ids are used as inventory indices for ISidedInventory.
+ */
+final class SeedStorageSlotStore {
+    /** Returned by getStatKey for stacks without stats */
+    static final long NO_STATS = -1;
+
+    /** All slots, densely packed in no particular order */
+    private SeedStorageSlot[] slots = new SeedStorageSlot[16];
+    private int size = 0;
+    /** Maps slot ids to indices in the slots array */
+    private final LongIntHashMap indexById = new LongIntHashMap();
+    /** Maps stat keys to slot ids, if several slots share the same stats one of them is indexed */
+    private final LongIntHashMap idByStats = new LongIntHashMap();
+    /** Number of slots with each stat key */
+    private final LongIntHashMap countByStats = new LongIntHashMap();
+    private final BitSet usedIds = new BitSet();
+    /** Sorted orders for the GUI, only built on request */
+    private SeedStorageSortedIndex sorted;
+
+    /** Reads the stat key from the tag of a seed stack without copying the tag */
+    static long getStatKey(ItemStack stack) {
+        NBTTagCompound tag = stack == null ? null : stack.getTagCompound();
+        if(tag == null) {
+            return NO_STATS;
+        }
+        return SeedStorageSlot.packStats(tag.getShort(Names.NBT.growth), tag.getShort(Names.NBT.gain), tag.getShort(Names.NBT.strength));
+    }
+
+    SeedStorageSlot getSlot(int id) {
+        int index = id < 0 ? -1 : indexById.get(id, -1);
+        return index < 0 ? null : slots[index];
+    }
+
+    SeedStorageSlot getSlotByStats(long statKey) {
+        return statKey == NO_STATS ? null : getSlot(idByStats.get(statKey, -1));
+    }
+
+    /** @return the lowest slot id which is not used */
+    int getFirstFreeId() {
+        return usedIds.nextClearBit(0);
+    }
+
+    /** Adds a slot, replacing the slot which had the same id */
+    void add(SeedStorageSlot slot) {
+        int id = slot.slotId;
+        remove(id);
+        if(size >= slots.length) {
+            slots = Arrays.copyOf(slots, slots.length << 1);
+        }
+        slots[size] = slot;
+        indexById.put(id, size);
+        size++;
+        long statKey = slot.getPackedStats();
+        idByStats.put(statKey, id);
+        countByStats.put(statKey, countByStats.get(statKey, 0) + 1);
+        usedIds.set(id);
+        if(sorted != null) {
+            sorted.add(slot);
+        }
+    }
+
+    /**
+     * Removes a slot
+     * @param id the id of the slot
+     * @return the removed slot, or null if there was no slot with this id
+     */
+    SeedStorageSlot remove(int id) {
+        int index = id < 0 ? -1 : indexById.get(id, -1);
+        if(index < 0) {
+            return null;
+        }
+        SeedStorageSlot slot = slots[index];
+        //move the last slot into the gap
+        size--;
+        if(index != size) {
+            slots[index] = slots[size];
+            indexById.put(slots[index].slotId, index);
+        }
+        slots[size] = null;
+        indexById.remove(id);
+        long statKey = slot.getPackedStats();
+        int count = countByStats.get(statKey, 0) - 1;
+        if(count <= 0) {
+            countByStats.remove(statKey);
+            idByStats.remove(statKey);
+        } else {
+            countByStats.put(statKey, count);
+            if(idByStats.get(statKey, -1) == id) {
+                //another slot has the same stats, index that one instead
+                idByStats.put(statKey, findSlotWithStats(statKey).slotId);
+            }
+        }
+        usedIds.clear(id);
+        if(sorted != null) {
+            sorted.remove(slot);
+        }
+        return slot;
+    }
+
+    private SeedStorageSlot findSlotWithStats(long statKey) {
+        for(int i = 0; i < size; i++) {
+            if(slots[i].getPackedStats() == statKey) {
+                return slots[i];
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** @return the highest slot id in use plus one */
+    int getIdSpan() {
+        return usedIds.length();
+    }
+
+    /** Gets a slot by its position in the store, positions change when slots are removed */
+    SeedStorageSlot getSlotAt(int index) {
+        return slots[index];
+    }
+
+    /**
+     * Gets the slots in sorted order, the index is built on the first call and kept up to date afterwards
+     * @param stat the stat to sort by, or null to sort by slot id
+     * @return a read-only view which follows changes to the store
+     */
+    List<SeedStorageSlot> getSorted(String stat) {
+        if(sorted == null) {
+            sorted = new SeedStorageSortedIndex(toList());
+        }
+        return sorted.getSorted(stat);
+    }
+
+    /** @return a new list containing all slots */
+    List<SeedStorageSlot> toList() {
+        List<SeedStorageSlot> list = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            list.add(slots[i]);
+        }
+        return list;
+    }
+
+    void clear() {
+        Arrays.fill(slots, 0, size, null);
+        size = 0;
+        indexById.clear();
+        idByStats.clear();
+        countByStats.clear();
+        usedIds.clear();
+        if(sorted != null) {
+            sorted.clear();
+        }
+    }
+}
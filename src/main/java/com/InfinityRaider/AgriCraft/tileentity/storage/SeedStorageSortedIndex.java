@@ -0,0 +1,103 @@
+package com.InfinityRaider.AgriCraft.tileentity.storage;
+
+import com.InfinityRaider.AgriCraft.reference.Names;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the slots of a seed storage sorted by slot id and by each stat, ties between equal stats are broken by the total stat.
+ *
+ * The orders are updated incrementally as slots are added and removed, so the GUI never has to sort the full inventory.
+ * Stats of a slot never change and the amount does not affect the order, so changing the amount of a slot needs no update.
+ * The index is only built when a GUI asks for it, which means it only exists on the client.
+ */
+final class SeedStorageSortedIndex {
+    private final SortedSlots byId = new SortedSlots(null);
+    private final SortedSlots byGrowth = new SortedSlots(Names.NBT.growth);
+    private final SortedSlots byGain = new SortedSlots(Names.NBT.gain);
+    private final SortedSlots byStrength = new SortedSlots(Names.NBT.strength);
+
+    SeedStorageSortedIndex(List<SeedStorageSlot> slots) {
+        this.byId.addAll(slots);
+        this.byGrowth.addAll(slots);
+        this.byGain.addAll(slots);
+        this.byStrength.addAll(slots);
+    }
+
+    /** @return a read-only view sorted by the stat, or by slot id if the stat is null or unknown */
+    List<SeedStorageSlot> getSorted(String stat) {
+        if(Names.NBT.growth.equals(stat)) {
+            return byGrowth.view;
+        }
+        if(Names.NBT.gain.equals(stat)) {
+            return byGain.view;
+        }
+        if(Names.NBT.strength.equals(stat)) {
+            return byStrength.view;
+        }
+        return byId.view;
+    }
+
+    void add(SeedStorageSlot slot) {
+        byId.add(slot);
+        byGrowth.add(slot);
+        byGain.add(slot);
+        byStrength.add(slot);
+    }
+
+    void remove(SeedStorageSlot slot) {
+        byId.remove(slot);
+        byGrowth.remove(slot);
+        byGain.remove(slot);
+        byStrength.remove(slot);
+    }
+
+    void clear() {
+        byId.list.clear();
+        byGrowth.list.clear();
+        byGain.list.clear();
+        byStrength.list.clear();
+    }
+
+    private static final class SortedSlots {
+        private final ArrayList<SeedStorageSlot> list = new ArrayList<>();
+        private final List<SeedStorageSlot> view = Collections.unmodifiableList(list);
+        private final Comparator<SeedStorageSlot> comparator;
+
+        private SortedSlots(String stat) {
+            final Comparator<SeedStorageSlot> statComparator = stat == null ? null : new SeedStorageSlot.SlotComparator(stat);
+            //slot ids are unique within a storage, which makes this a total order for the binary searches
+            this.comparator = new Comparator<SeedStorageSlot>() {
+                @Override
+                public int compare(SeedStorageSlot o1, SeedStorageSlot o2) {
+                    int result = statComparator == null ? 0 : statComparator.compare(o1, o2);
+                    return result != 0 ? result : o1.slotId - o2.slotId;
+                }
+            };
+        }
+
+        private void addAll(List<SeedStorageSlot> slots) {
+            list.addAll(slots);
+            Collections.sort(list, comparator);
+        }
+
+        private void add(SeedStorageSlot slot) {
+            int index = Collections.binarySearch(list, slot, comparator);
+            if(index < 0) {
+                list.add(-index - 1, slot);
+            } else {
+                list.set(index, slot);
+            }
+        }
+
+        private void remove(SeedStorageSlot slot) {
+            int index = Collections.binarySearch(list, slot, comparator);
+            if(index >= 0 && list.get(index) == slot) {
+                list.remove(index);
+            }
+        }
+    }
+}
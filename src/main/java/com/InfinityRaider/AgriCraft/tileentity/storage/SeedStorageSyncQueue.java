@@ -0,0 +1,31 @@
+package com.InfinityRaider.AgriCraft.tileentity.storage;
+
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the seed storages which had slots changed during a server tick,
+ * at the end of the tick every storage sends its changes to the clients in a single message.
+ */
+public class SeedStorageSyncQueue {
+    private static final List<TileEntitySeedStorage> dirtyStorages = new ArrayList<>();
+
+    /** Queues a storage for syncing at the end of the tick, storages should only queue themselves once per tick */
+    static void markDirty(TileEntitySeedStorage storage) {
+        dirtyStorages.add(storage);
+    }
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if(event.phase != TickEvent.Phase.END || dirtyStorages.isEmpty()) {
+            return;
+        }
+        for(TileEntitySeedStorage storage : dirtyStorages) {
+            storage.flushSlotChanges();
+        }
+        dirtyStorages.clear();
+    }
+}
@@ -1,6 +1,7 @@
 package com.InfinityRaider.AgriCraft.tileentity.storage;
 
 import com.InfinityRaider.AgriCraft.api.v1.IDebuggable;
+import com.InfinityRaider.AgriCraft.container.ContainerSeedStorageBase;
 import com.InfinityRaider.AgriCraft.farming.CropPlantHandler;
 import com.InfinityRaider.AgriCraft.network.MessageTileEntitySeedStorage;
 import com.InfinityRaider.AgriCraft.network.NetworkWrapperAgriCraft;
@@ -9,31 +10,36 @@ import com.InfinityRaider.AgriCraft.reference.Reference;
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityCustomWood;
 import com.InfinityRaider.AgriCraft.utility.NBTHelper;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.inventory.ISidedInventory;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ChatComponentText;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.IChatComponent;
 import net.minecraft.util.StatCollector;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeedStorageControllable, IDebuggable, ISidedInventory {
     private Item lockedSeed;
     private int lockedSeedMeta;
-    /** Slots stored in a HashMap to use with Container and with Controller */
-    private Map<Integer, SeedStorageSlot> slots = new HashMap<>();
-    /** Slots also stored in an ArrayList to use with ISidedInventory */
-    private ArrayList<SeedStorageSlot> slotsList = new ArrayList<>();
+    /** Slots indexed by id and by stats, the slot ids are also used as indices for ISidedInventory */
+    private final SeedStorageSlotStore slots = new SeedStorageSlotStore();
+    /** Inventory indices returned by getSlotsForFace, rebuilt when the number of indices changes */
+    private int[] accessibleSlots = new int[] {0};
     private ISeedStorageController controller;
+    /** Slots which changed since the last sync, these are sent to the clients together at the end of the tick */
+    private final Map<Integer, SeedStorageSlot> dirtySlots = new LinkedHashMap<>();
 
     public TileEntitySeedStorage() {
         super();
@@ -48,19 +54,18 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
             ItemStack seedStack = new ItemStack(lockedSeed, 1, lockedSeedMeta);
             seedStack.writeToNBT(seedTag);
             tag.setTag(Names.NBT.seed, seedTag);
-            if(this.slots!=null) {
+            if(this.slots.size()>0) {
                 //add the slots
                 NBTTagList tagList = new NBTTagList();
-                for (Map.Entry<Integer, SeedStorageSlot> entry:slots.entrySet()) {
-                    if(entry!=null && entry.getValue()!=null) {
-                        SeedStorageSlot slot = entry.getValue();
-                        NBTTagCompound stackTag = slot.getTag();
+                for (int i=0;i<slots.size();i++) {
+                    SeedStorageSlot slot = slots.getSlotAt(i);
+                    if(slot!=null) {
                         //tag
                         NBTTagCompound slotTag = new NBTTagCompound();
                         slotTag.setInteger(Names.NBT.count, slot.count);
-                        slotTag.setShort(Names.NBT.growth, stackTag.getShort(Names.NBT.growth));
-                        slotTag.setShort(Names.NBT.gain, stackTag.getShort(Names.NBT.gain));
-                        slotTag.setShort(Names.NBT.strength, stackTag.getShort(Names.NBT.strength));
+                        slotTag.setShort(Names.NBT.growth, slot.getGrowth());
+                        slotTag.setShort(Names.NBT.gain, slot.getGain());
+                        slotTag.setShort(Names.NBT.strength, slot.getStrength());
                         slotTag.setInteger(Names.NBT.id, slot.getId());
                         //add the tag to the list
                         tagList.appendTag(slotTag);
@@ -77,8 +82,7 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
     @Override
     public void readFromNBT(NBTTagCompound tag) {
         super.readFromNBT(tag);
-        this.slots = new HashMap<>();
-        this.slotsList = new ArrayList<>();
+        this.slots.clear();
         if (tag.hasKey(Names.NBT.seed)) {
             //read the locked seed
             ItemStack seedStack = ItemStack.loadItemStackFromNBT(tag.getCompoundTag(Names.NBT.seed));
@@ -94,34 +98,87 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
                     CropPlantHandler.setSeedNBT(stackTag, slotTag.getShort(Names.NBT.growth), slotTag.getShort(Names.NBT.gain), slotTag.getShort(Names.NBT.strength), true);
                     int id = slotTag.getInteger(Names.NBT.id);
                     SeedStorageSlot slot = new SeedStorageSlot(stackTag, slotTag.getInteger(Names.NBT.count), id, invId);
-                    slots.put(id, slot);
-                    slotsList.add(slot);
+                    slots.add(slot);
                 }
             }
         } else {
             this.lockedSeed = null;
             this.lockedSeedMeta = 0;
         }
+        this.onSlotIdsChanged();
+        this.onLockedSeedChanged();
         int[] coords = NBTHelper.getCoordsFromNBT(tag);
         if (coords != null && coords.length == 3) {
             this.controller = (ISeedStorageController) worldObj.getTileEntity(getPos());
         }
     }
 
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        this.detachFromController();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        this.detachFromController();
+    }
+
+    private void detachFromController() {
+        if(this.hasController()) {
+            this.controller.removeControllable(this);
+        }
+    }
+
+    /** Marks a slot for syncing, the changes are sent at the end of the tick by the SeedStorageSyncQueue */
     public void syncSlotToClient(SeedStorageSlot slot) {
-        NetworkWrapperAgriCraft.wrapper.sendToDimension(new MessageTileEntitySeedStorage(this.getPos(), slot), this.worldObj.provider.getDimensionId());
-        this.worldObj.getChunkFromBlockCoords(this.getPos()).setChunkModified();
+        if(slot == null) {
+            return;
+        }
+        if(this.dirtySlots.isEmpty()) {
+            SeedStorageSyncQueue.markDirty(this);
+        }
+        this.dirtySlots.put(slot.getId(), slot);
+    }
+
+    /** Sends all slots changed during this tick in one message to the players tracking this storage */
+    void flushSlotChanges() {
+        if(this.dirtySlots.isEmpty()) {
+            return;
+        }
+        if(this.worldObj == null || this.worldObj.isRemote || this.isInvalid()) {
+            this.dirtySlots.clear();
+            return;
+        }
+        MessageTileEntitySeedStorage message = new MessageTileEntitySeedStorage(this.getPos(), this.dirtySlots.values());
+        this.dirtySlots.clear();
+        this.worldObj.markChunkDirty(this.getPos(), this);
+        for(Object object : this.worldObj.playerEntities) {
+            if(object instanceof EntityPlayerMP && this.isTrackedBy((EntityPlayerMP) object)) {
+                NetworkWrapperAgriCraft.wrapper.sendTo(message, (EntityPlayerMP) object);
+            }
+        }
+    }
+
+    /** Checks if a player has this storage loaded or has its GUI open */
+    private boolean isTrackedBy(EntityPlayerMP player) {
+        if(player.openContainer instanceof ContainerSeedStorageBase) {
+            TileEntity te = ((ContainerSeedStorageBase) player.openContainer).getTileEntity();
+            if(te == this || (te != null && te == this.controller)) {
+                return true;
+            }
+        }
+        return ((WorldServer) this.worldObj).getPlayerManager().isPlayerWatchingChunk(player, this.xCoord() >> 4, this.zCoord() >> 4);
     }
 
     //Debug method
     @Override
     public void addDebugInfo(List<String> list) {
         String info = this.lockedSeed==null?"null":this.getLockedSeed().getDisplayName();
-        int mapSize = this.slots==null?0:this.slots.size();
-        int listSize = this.slotsList==null?0:this.slotsList.size();
         list.add("Locked Seed: " + info);
-        list.add("Nr of map entries: " + mapSize);
-        list.add("Nr of list entries: " + listSize);
+        list.add("Nr of slots: " + this.slots.size());
+        list.add("Slot id span: " + this.slots.getIdSpan());
     }
 
     @Override
@@ -148,31 +205,17 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
         }
         if(!this.worldObj.isRemote) {
             if (this.hasLockedSeed() && this.lockedSeed == stack.getItem() && this.lockedSeedMeta == stack.getItemDamage()) {
-                for (Map.Entry<Integer, SeedStorageSlot> entry : this.slots.entrySet()) {
-                    if (entry.getValue() != null) {
-                        if (ItemStack.areItemStackTagsEqual(entry.getValue().getStack(this.lockedSeed, this.lockedSeedMeta), stack)) {
-                            ItemStack newStack = stack.copy();
-                            newStack.stackSize = newStack.stackSize + entry.getValue().count;
-                            this.setSlotContents(entry.getKey(), newStack);
-                            success = true;
-                            break;
-                        }
-                    }
-                }
-                if (!success) {
-                    if (this.slots.size() == 0) {
-                        this.setSlotContents(0, stack);
-                        success = true;
-                    } else {
-                        int slotId = getFirstFreeSlot();
-                        if(slotId>=0) {
-                            this.setSlotContents(slotId, stack);
-                            success = true;
-                        }
-                    }
+                //merge with the slot holding the same stats, or take the first free slot
+                SeedStorageSlot slotAt = this.slots.getSlotByStats(SeedStorageSlotStore.getStatKey(stack));
+                int slotId = slotAt==null ? this.slots.getFirstFreeId() : slotAt.slotId;
+                ItemStack newStack = stack.copy();
+                if(slotAt != null) {
+                    newStack.stackSize = newStack.stackSize + slotAt.count;
                 }
+                this.setSlotContents(slotId, newStack);
+                success = true;
             }
-            else {
+            else if (!this.hasLockedSeed()) {
                 this.setLockedSeed(stack.getItem(), stack.getItemDamage());
                 this.setSlotContents(0, stack);
                 success = true;
@@ -181,21 +224,12 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
         return success;
     }
 
-    private int getFirstFreeSlot() {
-        for(int i=0;i<slots.size();i++) {
-            if(!slots.containsKey(i)) {
-                return i;
-            }
-        }
-        return slots.size();
-    }
-
     @Override
     public ItemStack getStackForSlotId(int slotId) {
         if(!this.hasLockedSeed()) {
             return null;
         }
-        SeedStorageSlot slot = slots.get(slotId);
+        SeedStorageSlot slot = slots.getSlot(slotId);
         return slot==null?null:slot.getStack(this.lockedSeed, this.lockedSeedMeta);
     }
 
@@ -206,19 +240,18 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
             return;
         }
         if(this.isValidForSlot(realSlotId, inputStack)) {
-            SeedStorageSlot slotAt = this.slots.get(realSlotId);
+            SeedStorageSlot slotAt = this.slots.getSlot(realSlotId);
             if(slotAt!=null) {
                 slotAt.count = inputStack.stackSize;
                 if(slotAt.count<=0) {
-                    slots.remove(realSlotId);
-                    slotsList.remove(slotAt);
+                    this.removeSlot(slotAt);
                 }
             }
             else {
                 slotAt = new SeedStorageSlot(inputStack.getTagCompound(), inputStack.stackSize, realSlotId, this.getControllableID());
                 if(slotAt.count>0) {
-                    this.slots.put(realSlotId, slotAt);
-                    this.slotsList.add(slotAt);
+                    this.slots.add(slotAt);
+                    this.onSlotIdsChanged();
                 }
             }
             if(!this.worldObj.isRemote) {
@@ -230,14 +263,27 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
         }
     }
 
+    /**
+     * Applies a slot synced from the server. The server may have emptied a slot and handed its id to a slot with other stats
+     * during the same tick, in which case only the new slot is synced, so a slot with other stats is replaced instead of rejected.
+     */
+    @SideOnly(Side.CLIENT)
+    public void setSlotContentsFromServer(int slotId, ItemStack stack) {
+        SeedStorageSlot slotAt = this.slots.getSlot(slotId);
+        if(slotAt != null && slotAt.getPackedStats() != SeedStorageSlotStore.getStatKey(stack)) {
+            this.removeSlot(slotAt);
+        }
+        this.setSlotContents(slotId, stack);
+    }
+
     private boolean isValidForSlot(int realSlot, ItemStack stack) {
         if(!CropPlantHandler.isAnalyzedSeed(stack)) {
             return false;
         }
         if(this.hasLockedSeed()) {
             if (stack.getItem() == this.lockedSeed && stack.getItemDamage() == this.lockedSeedMeta) {
-                SeedStorageSlot slotAt = this.slots.get(realSlot);
-                return slotAt == null || ItemStack.areItemStackTagsEqual(stack, slotAt.getStack(lockedSeed, lockedSeedMeta));
+                SeedStorageSlot slotAt = this.slots.getSlot(realSlot);
+                return slotAt == null || slotAt.getPackedStats() == SeedStorageSlotStore.getStatKey(stack);
             }
         } else {
             return true;
@@ -249,20 +295,9 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
     public ItemStack decreaseStackSizeInSlot(int realSlotId, int amount) {
         if(!worldObj.isRemote) {
             ItemStack stackInSlot = null;
-            if (this.slots != null) {
-                SeedStorageSlot slotAt = this.slots.get(realSlotId);
-                if (slotAt != null) {
-                    stackInSlot = slotAt.getStack(this.lockedSeed, this.lockedSeedMeta);
-                    stackInSlot.stackSize = Math.min(amount, slotAt.count);
-                    if (slotAt.count <= amount) {
-                        this.slots.remove(realSlotId);
-                        this.slotsList.remove(slotAt);
-                        slotAt.count = 0;
-                    } else {
-                        slotAt.count = slotAt.count - amount;
-                    }
-                }
-                this.syncSlotToClient(slotAt);
+            SeedStorageSlot slotAt = this.slots.getSlot(realSlotId);
+            if (slotAt != null) {
+                stackInSlot = this.takeFromSlot(slotAt, amount);
             }
             return stackInSlot;
         }
@@ -273,20 +308,51 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
     public ArrayList<ItemStack> getInventory() {
         ArrayList<ItemStack> stacks = new ArrayList<>();
         if(this.hasLockedSeed()) {
-            for(Map.Entry<Integer, SeedStorageSlot> entries:slots.entrySet()) {
-                if(entries!=null && entries.getValue()!=null) {
-                    stacks.add(entries.getValue().getStack(this.lockedSeed, this.lockedSeedMeta));
-                }
+            for(int i=0;i<slots.size();i++) {
+                stacks.add(slots.getSlotAt(i).getStack(this.lockedSeed, this.lockedSeedMeta));
             }
         }
         return stacks;
     }
 
+    /** @return a new list with all slots, callers are free to modify and sort it */
     public List<SeedStorageSlot> getSlots() {
-        if(slotsList == null) {
-            slotsList = new ArrayList<>();
+        return slots.toList();
+    }
+
+    @Override
+    public List<SeedStorageSlot> getSortedSlots(String stat) {
+        return slots.getSorted(stat);
+    }
+
+    /** Takes seeds out of a slot, removing the slot when it runs empty */
+    private ItemStack takeFromSlot(SeedStorageSlot slotAt, int amount) {
+        ItemStack stackInSlot = slotAt.getStack(this.lockedSeed, this.lockedSeedMeta);
+        stackInSlot.stackSize = Math.min(amount, slotAt.count);
+        if (slotAt.count <= amount) {
+            slotAt.count = 0;
+            this.removeSlot(slotAt);
+        } else {
+            slotAt.count = slotAt.count - amount;
+        }
+        this.syncSlotToClient(slotAt);
+        return stackInSlot;
+    }
+
+    private void removeSlot(SeedStorageSlot slot) {
+        this.slots.remove(slot.slotId);
+        this.onSlotIdsChanged();
+    }
+
+    /** Rebuilds the indices for getSlotsForFace if the inventory size changed */
+    private void onSlotIdsChanged() {
+        int size = this.getSizeInventory();
+        if(this.accessibleSlots.length != size) {
+            this.accessibleSlots = new int[size];
+            for(int i=0;i<size;i++) {
+                this.accessibleSlots[i] = i;
+            }
         }
-        return slotsList;
     }
 
     @Override
@@ -319,6 +385,7 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
         if(!this.hasLockedSeed()) {
             this.lockedSeed = seed;
             this.lockedSeedMeta = meta;
+            this.onLockedSeedChanged();
             this.markForUpdate();
         }
     }
@@ -328,10 +395,18 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
         if(this.slots.size()==0) {
             this.lockedSeed = null;
             this.lockedSeedMeta = 0;
+            this.onLockedSeedChanged();
             this.markForUpdate();
         }
     }
 
+    /** Lets the controller update its seed index */
+    private void onLockedSeedChanged() {
+        if(this.hasController()) {
+            this.controller.onLockedSeedChanged(this);
+        }
+    }
+
     @Override
     public ItemStack getLockedSeed() {
         return new ItemStack(this.lockedSeed, 1, this.lockedSeedMeta);
@@ -349,80 +424,65 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
 
     //INVENTORY METHODS
     //-----------------
+    /* Inventory indices are the slot ids, indices without a slot hold nothing */
     @Override
     public int getSizeInventory() {
         //One extra for the 'fake' input only slot
-        return this.slots.size()+1;
+        return this.slots.getIdSpan()+1;
     }
 
     @Override
     public ItemStack getStackInSlot(int slot) {
-        if(slotsList == null || slot >= slotsList.size() || (!this.hasLockedSeed())) {
+        SeedStorageSlot slotAt = this.slots.getSlot(slot);
+        if(slotAt == null || (!this.hasLockedSeed())) {
             return null;
         }
-        return slotsList.get(slot).getStack(lockedSeed, lockedSeedMeta);
+        return slotAt.getStack(lockedSeed, lockedSeedMeta);
     }
 
     @Override
     public ItemStack decrStackSize(int slot, int amount) {
-        if(slotsList == null || slot >= slotsList.size() || (!this.hasLockedSeed())) {
+        SeedStorageSlot slotAt = this.slots.getSlot(slot);
+        if(slotAt == null || (!this.hasLockedSeed())) {
             return null;
         }
         if(!worldObj.isRemote) {
-            ItemStack stackInSlot = null;
-            SeedStorageSlot slotAt = this.slotsList.get(slot);
-            if (slotAt != null) {
-                stackInSlot = slotAt.getStack(this.lockedSeed, this.lockedSeedMeta);
-                stackInSlot.stackSize = Math.min(amount, slotAt.count);
-                if (slotAt.count <= amount) {
-                    this.slots.remove(slotAt.getId());
-                    this.slotsList.remove(slotAt);
-                    slotAt.count = 0;
-                } else {
-                    slotAt.count = slotAt.count - amount;
-                }
-            }
-            this.syncSlotToClient(slotAt);
-            return stackInSlot;
+            return this.takeFromSlot(slotAt, amount);
         }
         return null;
     }
 
     @Override
     public ItemStack removeStackFromSlot(int slot) {
-        if (slotsList == null || slot >= slotsList.size() || (!this.hasLockedSeed())) {
+        SeedStorageSlot slotAt = this.slots.getSlot(slot);
+        if (slotAt == null || (!this.hasLockedSeed())) {
             return null;
         }
-        SeedStorageSlot slotAt = slotsList.get(slot);
         ItemStack stackInSlot = slotAt.getStack(lockedSeed, lockedSeedMeta);
-        this.slots.remove(slotAt.getId());
-        this.slotsList.remove(slotAt);
+        this.removeSlot(slotAt);
         return stackInSlot;
     }
 
     @Override
     public void setInventorySlotContents(int slot, ItemStack inputStack) {
-        if(slotsList==null || slot>= slotsList.size()) {
-            this.addStackToInventory(inputStack);
+        SeedStorageSlot slotAt = this.slots.getSlot(slot);
+        if(slotAt == null) {
+            if(inputStack != null) {
+                this.addStackToInventory(inputStack);
+            }
             return;
         }
         if(inputStack == null) {
-            inputStack = slotsList.get(slot).getStack(lockedSeed, lockedSeedMeta);
+            inputStack = slotAt.getStack(lockedSeed, lockedSeedMeta);
             inputStack.stackSize = 0;
         }
         if(this.isItemValidForSlot(slot, inputStack)) {
-            SeedStorageSlot slotAt = this.slotsList.get(slot);
-            if (slotAt != null) {
-                slotAt.count = inputStack.stackSize;
-                if (slotAt.count <= 0) {
-                    slots.remove(slotAt.getId());
-                    slotsList.remove(slotAt);
-                }
-                if (!this.worldObj.isRemote) {
-                    this.syncSlotToClient(slotAt);
-                }
-            } else {
-                this.addStackToInventory(inputStack);
+            slotAt.count = inputStack.stackSize;
+            if (slotAt.count <= 0) {
+                this.removeSlot(slotAt);
+            }
+            if (!this.worldObj.isRemote) {
+                this.syncSlotToClient(slotAt);
             }
         }
     }
@@ -457,10 +517,11 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
 
     @Override
     public void clear() {
-        this.slotsList = new ArrayList<>();
-        this.slots = new HashMap<>();
+        this.slots.clear();
+        this.onSlotIdsChanged();
         this.lockedSeed = null;
         this.lockedSeedMeta = 0;
+        this.onLockedSeedChanged();
     }
 
     @Override
@@ -486,11 +547,8 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
         }
         if(this.hasLockedSeed()) {
             if (stack.getItem() == this.lockedSeed && stack.getItemDamage() == this.lockedSeedMeta) {
-                if(slot>=slotsList.size()) {
-                    return true;
-                }
-                SeedStorageSlot slotAt = this.slotsList.get(slot);
-                return slotAt == null || ItemStack.areItemStackTagsEqual(stack, this.getStackInSlot(slot));
+                SeedStorageSlot slotAt = this.slots.getSlot(slot);
+                return slotAt == null || slotAt.getPackedStats() == SeedStorageSlotStore.getStatKey(stack);
             }
         } else {
             return true;
@@ -500,11 +558,7 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
 
     @Override
     public int[] getSlotsForFace(EnumFacing side) {
-        int[] array = new int[slotsList.size()+1];
-        for(int i=0;i<array.length;i++) {
-            array[i] = i;
-        }
-        return array;
+        return this.accessibleSlots;
     }
 
     @Override
@@ -512,7 +566,7 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
         if(worldObj.isRemote) {
             return false;
         }
-        if(slot>=slotsList.size()) {
+        if(slot>=this.slots.getIdSpan()) {
             //0 is a virtual slot only used for inputs, this is a workaround to prevent derpy behaviour with code which modifies stacks in slots directly
             return (!this.hasLockedSeed()) || (stack!=null && stack.getItem()==lockedSeed && stack.getItemDamage()==lockedSeedMeta);
         }
@@ -521,7 +575,8 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
 
     @Override
     public boolean canExtractItem(int slot, ItemStack stack, EnumFacing side) {
-        if(slot>=slotsList.size()) {
+        SeedStorageSlot slotAt = this.slots.getSlot(slot);
+        if(slotAt == null) {
             return false;
         }
         if(!this.hasLockedSeed()) {
@@ -533,6 +588,6 @@ public class TileEntitySeedStorage extends TileEntityCustomWood implements ISeed
         if(stack.getItem()!=lockedSeed || stack.getItemDamage()!=lockedSeedMeta) {
             return false;
         }
-        return ItemStack.areItemStackTagsEqual(stack, slotsList.get(slot).getStack(lockedSeed, lockedSeedMeta));
+        return slotAt.getPackedStats() == SeedStorageSlotStore.getStatKey(stack);
     }
 }
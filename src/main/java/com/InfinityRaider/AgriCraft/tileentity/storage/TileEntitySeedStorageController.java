@@ -1,20 +1,55 @@
 package com.InfinityRaider.AgriCraft.tileentity.storage;
 
 import com.InfinityRaider.AgriCraft.tileentity.TileEntityCustomWood;
+import com.InfinityRaider.AgriCraft.utility.LongIntHashMap;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Controls a number of seed storages.
+ *
+ * The controllables are indexed by their locked seed and by identity, the indices are updated when a storage is attached or detached
+ * and when a storage notifies its controller that its locked seed changed.
+ * A controllable keeps its id for as long as it is attached, the ids of detached controllables are reused.
+ */
 public class TileEntitySeedStorageController extends TileEntityCustomWood implements  ISeedStorageController{
-    private ArrayList<ISeedStorageControllable> controllables = new ArrayList<>();
+    /** Key of controllables without a locked seed, item ids are never negative so this can't collide with a packed seed key */
+    private static final long NO_SEED = -1;
+
+    /** Controllables by id, ids of detached controllables hold null until they are reused */
+    private final ArrayList<ISeedStorageControllable> controllables = new ArrayList<>();
+    /** Seed keys of the controllables by id, these are the keys under which the controllables are indexed */
+    private long[] seedKeys = new long[4];
+    /** Maps (seed, meta) keys to the id of the first controllable locked to that seed */
+    private final LongIntHashMap idBySeed = new LongIntHashMap();
+    private final Map<ISeedStorageControllable, Integer> idByControllable = new IdentityHashMap<>();
+    /** Cached read-only views, rebuilt on the first request after a change */
+    private List<ItemStack> controlledSeeds;
+    private List<int[]> controlledCoordinates;
     public boolean isControlling;
 
     public TileEntitySeedStorageController() {
         super();
     }
 
+    private static long getSeedKey(Item seed, int meta) {
+        return seed == null ? NO_SEED : LongIntHashMap.pack(Item.getIdFromItem(seed), meta);
+    }
+
+    private static long getSeedKey(ISeedStorageControllable controllable) {
+        if(!controllable.hasLockedSeed()) {
+            return NO_SEED;
+        }
+        ItemStack seed = controllable.getLockedSeed();
+        return getSeedKey(seed.getItem(), seed.getItemDamage());
+    }
+
     @Override
     public boolean addStackToInventory(ItemStack stack) {
         boolean success = false;
@@ -27,24 +62,103 @@ public class TileEntitySeedStorageController extends TileEntityCustomWood implem
 
     @Override
     public List<ItemStack> getControlledSeeds() {
-        ArrayList<ItemStack> stacks = new ArrayList<ItemStack>();
-        for(ISeedStorageControllable controllable:controllables) {
-            if(controllable.hasLockedSeed()) {
-                stacks.add(controllable.getLockedSeed());
+        if(this.controlledSeeds == null) {
+            ArrayList<ItemStack> stacks = new ArrayList<>();
+            for(ISeedStorageControllable controllable:controllables) {
+                if(controllable!=null && controllable.hasLockedSeed()) {
+                    stacks.add(controllable.getLockedSeed());
+                }
             }
+            this.controlledSeeds = Collections.unmodifiableList(stacks);
         }
-        return stacks;
+        return this.controlledSeeds;
     }
 
     @Override
     public List<SeedStorageSlot> getSlots(Item seed, int meta) {
-        return this.getControllable(new ItemStack(seed, 1, meta)).getSlots();
+        ISeedStorageControllable controllable = this.getControllable(seed, meta);
+        return controllable==null?new ArrayList<SeedStorageSlot>():controllable.getSlots();
+    }
+
+    /** Returns a read-only view of the slots for that seed sorted by a stat, see ISeedStorageControllable.getSortedSlots */
+    public List<SeedStorageSlot> getSortedSlots(Item seed, int meta, String stat) {
+        ISeedStorageControllable controllable = this.getControllable(seed, meta);
+        return controllable==null?Collections.<SeedStorageSlot>emptyList():controllable.getSortedSlots(stat);
     }
 
     @Override
     public void addControllable(ISeedStorageControllable controllable) {
-        if(!controllable.hasController()) {
+        if(controllable.hasController() || this.idByControllable.containsKey(controllable)) {
+            return;
+        }
+        //reuse the first free id
+        int id = this.controllables.indexOf(null);
+        if(id < 0) {
+            id = this.controllables.size();
             this.controllables.add(controllable);
+        } else {
+            this.controllables.set(id, controllable);
+        }
+        if(id >= this.seedKeys.length) {
+            long[] keys = new long[Math.max(id + 1, this.seedKeys.length << 1)];
+            System.arraycopy(this.seedKeys, 0, keys, 0, this.seedKeys.length);
+            this.seedKeys = keys;
+        }
+        this.seedKeys[id] = NO_SEED;
+        this.idByControllable.put(controllable, id);
+        this.indexSeed(id, getSeedKey(controllable));
+        this.controlledCoordinates = null;
+    }
+
+    @Override
+    public void removeControllable(ISeedStorageControllable controllable) {
+        Integer id = this.idByControllable.remove(controllable);
+        if(id == null) {
+            return;
+        }
+        this.indexSeed(id, NO_SEED);
+        this.controllables.set(id, null);
+        //trim trailing free ids
+        int last = this.controllables.size() - 1;
+        while(last >= 0 && this.controllables.get(last) == null) {
+            this.controllables.remove(last);
+            last--;
+        }
+        this.controlledCoordinates = null;
+    }
+
+    @Override
+    public void onLockedSeedChanged(ISeedStorageControllable controllable) {
+        Integer id = this.idByControllable.get(controllable);
+        if(id != null) {
+            this.indexSeed(id, getSeedKey(controllable));
+        }
+    }
+
+    /** Moves a controllable in the seed index from its previous key to a new key */
+    private void indexSeed(int id, long key) {
+        long oldKey = this.seedKeys[id];
+        if(oldKey == key) {
+            return;
+        }
+        this.seedKeys[id] = key;
+        this.controlledSeeds = null;
+        if(oldKey != NO_SEED && this.idBySeed.get(oldKey, -1) == id) {
+            //look for another controllable locked to the same seed
+            this.idBySeed.remove(oldKey);
+            for(int i = 0; i < this.controllables.size(); i++) {
+                if(i != id && this.controllables.get(i) != null && this.seedKeys[i] == oldKey) {
+                    this.idBySeed.put(oldKey, i);
+                    break;
+                }
+            }
+        }
+        if(key != NO_SEED) {
+            //the controllable with the lowest id wins, as the linear scan used to do
+            int current = this.idBySeed.get(key, -1);
+            if(current < 0 || current > id) {
+                this.idBySeed.put(key, id);
+            }
         }
     }
 
@@ -54,12 +168,17 @@ public class TileEntitySeedStorageController extends TileEntityCustomWood implem
     }
 
     @Override
-    public ArrayList<int[]> getControlledCoordinates() {
-        ArrayList<int[]> coords = new ArrayList<>();
-        for(ISeedStorageControllable controllable:this.controllables) {
-            coords.add(controllable.getCoords());
+    public List<int[]> getControlledCoordinates() {
+        if(this.controlledCoordinates == null) {
+            ArrayList<int[]> coords = new ArrayList<>();
+            for(ISeedStorageControllable controllable:this.controllables) {
+                if(controllable != null) {
+                    coords.add(controllable.getCoords());
+                }
+            }
+            this.controlledCoordinates = Collections.unmodifiableList(coords);
         }
-        return coords;
+        return this.controlledCoordinates;
     }
 
     @Override
@@ -69,28 +188,19 @@ public class TileEntitySeedStorageController extends TileEntityCustomWood implem
 
     @Override
     public int getControllableID(ISeedStorageControllable controllable) {
-        int id=-1;
-        for(int i=0;i<this.controllables.size() && id<0;i++) {
-            ISeedStorageControllable currentControllable = this.controllables.get(i);
-            if(currentControllable==controllable) {
-                id = i;
-            }
-        }
-        return id;
+        Integer id = this.idByControllable.get(controllable);
+        return id == null ? -1 : id;
     }
 
     @Override
     public ISeedStorageControllable getControllable(ItemStack stack) {
-        ISeedStorageControllable controllable = null;
-        for(ISeedStorageControllable controlled:this.controllables) {
-            if(controlled!=null && controlled.hasLockedSeed()) {
-                ItemStack controlledStack = controlled.getLockedSeed();
-                if(controlledStack.isItemEqual(stack)) {
-                    controllable = controlled;
-                    break;
-                }
-            }
-        }
-        return controllable;
+        return stack == null ? null : this.getControllable(stack.getItem(), stack.getItemDamage());
+    }
+
+    /** Finds the controllable locked to a seed without building an ItemStack */
+    public ISeedStorageControllable getControllable(Item seed, int meta) {
+        long key = getSeedKey(seed, meta);
+        int id = key == NO_SEED ? -1 : this.idBySeed.get(key, -1);
+        return id < 0 ? null : this.controllables.get(id);
     }
 }
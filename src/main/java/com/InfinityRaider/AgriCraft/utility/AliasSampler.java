@@ -0,0 +1,137 @@
+package com.InfinityRaider.AgriCraft.utility;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Immutable weighted sampler built with Vose's alias method: building takes linear time, every draw takes constant time.
+ * Instances are created with a Builder and never change, so they can be shared freely and replaced as a whole when the weights change.
+ */
+public final class AliasSampler<T> {
+    private static final AliasSampler<?> EMPTY = new AliasSampler<>(new Object[0], new double[0], new int[0], 0);
+
+    private final Object[] entries;
+    /** Chance to keep the entry in a column, otherwise its alias is picked */
+    private final double[] probability;
+    private final int[] alias;
+    private final double totalWeight;
+
+    private AliasSampler(Object[] entries, double[] probability, int[] alias, double totalWeight) {
+        this.entries = entries;
+        this.probability = probability;
+        this.alias = alias;
+        this.totalWeight = totalWeight;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> AliasSampler<T> empty() {
+        return (AliasSampler<T>) EMPTY;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Draws a random entry
+     * @param rand the random number generator
+     * @return an entry picked with a chance proportional to its weight, or null if this sampler is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T sample(Random rand) {
+        int size = entries.length;
+        if(size == 0) {
+            return null;
+        }
+        int column = rand.nextInt(size);
+        return (T) (rand.nextDouble() < probability[column] ? entries[column] : entries[alias[column]]);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+    public static final class Builder<T> {
+        private Object[] entries = new Object[8];
+        private double[] weights = new double[8];
+        private int size = 0;
+
+        private Builder() {}
+
+        /**
+         * Adds an entry, entries with a weight of zero are never drawn and are left out
+         * @throws IllegalArgumentException if the weight is negative or not a number
+         */
+        public Builder<T> add(T entry, double weight) {
+            if(!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight for weighted sampler: " + weight);
+            }
+            if(weight == 0) {
+                return this;
+            }
+            if(size >= entries.length) {
+                entries = Arrays.copyOf(entries, size << 1);
+                weights = Arrays.copyOf(weights, size << 1);
+            }
+            entries[size] = entry;
+            weights[size] = weight;
+            size++;
+            return this;
+        }
+
+        public AliasSampler<T> build() {
+            if(size == 0) {
+                return empty();
+            }
+            double total = 0;
+            for(int i = 0; i < size; i++) {
+                total += weights[i];
+            }
+            double[] probability = new double[size];
+            int[] alias = new int[size];
+            //scale the weights so the average column holds exactly 1
+            double[] scaled = new double[size];
+            int[] small = new int[size];
+            int[] large = new int[size];
+            int nrSmall = 0;
+            int nrLarge = 0;
+            for(int i = 0; i < size; i++) {
+                scaled[i] = weights[i] * size / total;
+                if(scaled[i] < 1) {
+                    small[nrSmall++] = i;
+                } else {
+                    large[nrLarge++] = i;
+                }
+            }
+            //fill every small column with the excess of a large column
+            while(nrSmall > 0 && nrLarge > 0) {
+                int less = small[--nrSmall];
+                int more = large[--nrLarge];
+                probability[less] = scaled[less];
+                alias[less] = more;
+                scaled[more] = (scaled[more] + scaled[less]) - 1;
+                if(scaled[more] < 1) {
+                    small[nrSmall++] = more;
+                } else {
+                    large[nrLarge++] = more;
+                }
+            }
+            //what remains is full up to rounding errors
+            while(nrLarge > 0) {
+                probability[large[--nrLarge]] = 1;
+            }
+            while(nrSmall > 0) {
+                probability[small[--nrSmall]] = 1;
+            }
+            return new AliasSampler<>(Arrays.copyOf(entries, size), probability, alias, total);
+        }
+    }
+}
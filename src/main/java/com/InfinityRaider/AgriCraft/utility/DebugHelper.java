@@ -1,5 +1,6 @@
 package com.InfinityRaider.AgriCraft.utility;
 
+import com.InfinityRaider.AgriCraft.AgriCraft;
 import com.InfinityRaider.AgriCraft.api.v1.IDebuggable;
 import net.minecraft.block.Block;
 import net.minecraft.entity.player.EntityPlayer;
@@ -56,6 +57,10 @@ public abstract class DebugHelper {
         else {
             debugData.add("Block: "+ Block.blockRegistry.getNameForObject(world.getBlockState(pos).getBlock()));
         }
+
+        if (world.isRemote) {
+            AgriCraft.proxy.addClientDebugInfo(debugData);
+        }
         
         debugData.add(" ");
         
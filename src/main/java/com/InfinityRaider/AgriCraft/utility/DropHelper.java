@@ -0,0 +1,153 @@
+package com.InfinityRaider.AgriCraft.utility;
+
+import net.minecraft.block.Block;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.inventory.ISidedInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helps with dropping items: identical stacks are merged before they are spawned, so a harvest with a high gain
+ * spawns a few full stacks instead of one EntityItem per fruit. Drops can also be inserted directly into an inventory.
+ */
+public abstract class DropHelper {
+    /**
+     * Merges identical stacks, merged stacks never exceed their maximum stack size
+     * @param drops the drops to merge, null entries and stacks without an item are skipped, the stacks are not modified
+     * @return a new list with the merged stacks
+     */
+    public static List<ItemStack> mergeStacks(List<ItemStack> drops) {
+        List<ItemStack> merged = new ArrayList<>();
+        if(drops == null) {
+            return merged;
+        }
+        for(ItemStack drop : drops) {
+            if(drop == null || drop.getItem() == null || drop.stackSize <= 0) {
+                continue;
+            }
+            int remaining = drop.stackSize;
+            //the number of different drops is small, a linear search is cheaper than hashing stacks
+            for(int i = 0; i < merged.size() && remaining > 0; i++) {
+                ItemStack stack = merged.get(i);
+                if(canMerge(stack, drop)) {
+                    int transfer = Math.min(remaining, stack.getMaxStackSize() - stack.stackSize);
+                    stack.stackSize += transfer;
+                    remaining -= transfer;
+                }
+            }
+            while(remaining > 0) {
+                ItemStack stack = drop.copy();
+                stack.stackSize = Math.min(remaining, Math.max(1, stack.getMaxStackSize()));
+                remaining -= stack.stackSize;
+                merged.add(stack);
+            }
+        }
+        return merged;
+    }
+
+    private static boolean canMerge(ItemStack stack, ItemStack drop) {
+        return stack.stackSize < stack.getMaxStackSize() && stack.isItemEqual(drop) && ItemStack.areItemStackTagsEqual(stack, drop);
+    }
+
+    /** Merges the drops and spawns them as entities at the given position */
+    public static void spawnDrops(World world, BlockPos pos, List<ItemStack> drops) {
+        for(ItemStack stack : mergeStacks(drops)) {
+            Block.spawnAsEntity(world, pos, stack);
+        }
+    }
+
+    /**
+     * Merges the drops and inserts them into an inventory
+     * @param inventory the inventory
+     * @param side the side from which the items are inserted, used for sided inventories
+     * @param drops the drops
+     * @return a list with the stacks which did not fit in the inventory
+     */
+    public static List<ItemStack> insertIntoInventory(IInventory inventory, EnumFacing side, List<ItemStack> drops) {
+        List<ItemStack> remainder = new ArrayList<>();
+        boolean changed = false;
+        for(ItemStack stack : mergeStacks(drops)) {
+            int size = stack.stackSize;
+            insertIntoInventory(inventory, side, stack);
+            changed = changed || stack.stackSize != size;
+            if(stack.stackSize > 0) {
+                remainder.add(stack);
+            }
+        }
+        if(changed) {
+            inventory.markDirty();
+        }
+        return remainder;
+    }
+
+    /** Inserts as much of the stack as possible into the inventory, the size of the stack is decreased by the inserted amount */
+    private static void insertIntoInventory(IInventory inventory, EnumFacing side, ItemStack stack) {
+        int limit = inventory.getInventoryStackLimit();
+        int size = inventory.getSizeInventory();
+        int[] slots = inventory instanceof ISidedInventory ? ((ISidedInventory) inventory).getSlotsForFace(side) : null;
+        int count = slots == null ? size : slots.length;
+        //first pass merges with existing stacks, second pass fills empty slots
+        for(int pass = 0; pass < 2 && stack.stackSize > 0; pass++) {
+            for(int i = 0; i < count && stack.stackSize > 0; i++) {
+                int slot = slots == null ? i : slots[i];
+                if(!inventory.isItemValidForSlot(slot, stack)) {
+                    continue;
+                }
+                if(slots != null && !((ISidedInventory) inventory).canInsertItem(slot, stack, side)) {
+                    continue;
+                }
+                ItemStack inSlot = inventory.getStackInSlot(slot);
+                int max = Math.min(limit, stack.getMaxStackSize());
+                if(pass == 0 && inSlot != null && inSlot.isItemEqual(stack) && ItemStack.areItemStackTagsEqual(inSlot, stack)) {
+                    int transfer = Math.min(stack.stackSize, max - inSlot.stackSize);
+                    if(transfer > 0) {
+                        inSlot.stackSize += transfer;
+                        stack.stackSize -= transfer;
+                    }
+                } else if(pass == 1 && inSlot == null) {
+                    ItemStack inserted = stack.copy();
+                    inserted.stackSize = Math.min(stack.stackSize, max);
+                    inventory.setInventorySlotContents(slot, inserted);
+                    stack.stackSize -= inserted.stackSize;
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges the drops and inserts them into the inventories adjacent to a position, the drops which do not fit are spawned as entities
+     * @return true if anything was inserted into an inventory
+     */
+    public static boolean insertIntoAdjacentInventoriesOrSpawn(World world, BlockPos pos, List<ItemStack> drops) {
+        List<ItemStack> remaining = mergeStacks(drops);
+        int before = countItems(remaining);
+        for(EnumFacing facing : EnumFacing.values()) {
+            if(remaining.isEmpty()) {
+                break;
+            }
+            TileEntity te = world.getTileEntity(pos.offset(facing));
+            if(te instanceof IInventory) {
+                remaining = insertIntoInventory((IInventory) te, facing.getOpposite(), remaining);
+            }
+        }
+        boolean inserted = countItems(remaining) != before;
+        for(ItemStack stack : remaining) {
+            Block.spawnAsEntity(world, pos, stack);
+        }
+        return inserted;
+    }
+
+    private static int countItems(List<ItemStack> stacks) {
+        int count = 0;
+        for(ItemStack stack : stacks) {
+            count += stack.stackSize;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,155 @@
+package com.InfinityRaider.AgriCraft.utility;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from primitive long keys to primitive int values.
+ * Lookups do not box their keys, which makes this map suitable for code running on every tick.
+ * This class is not thread safe.
+ */
+public final class LongIntHashMap {
+    private static final float LOAD_FACTOR = 0.5F;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int threshold;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /** Packs two ints into a single long key */
+    public static long pack(int high, int low) {
+        return (((long) high) << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Gets the value mapped to a key
+     * @param key the key
+     * @param defaultValue the value to return if the key is not present
+     * @return the mapped value, or defaultValue if there is none
+     */
+    public int get(long key, int defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Maps a key to a value, replacing the previous value if there was one
+     * @param key the key
+     * @param value the value
+     */
+    public void put(long key, int value) {
+        int index = hash(key) & mask;
+        while(used[index]) {
+            if(keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        used[index] = true;
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if(size > threshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Removes a key from the map
+     * @param key the key to remove
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        int index = indexOf(key);
+        if(index < 0) {
+            return false;
+        }
+        //shift subsequent entries of the probe chain back so lookups never hit a gap
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while(used[next]) {
+            int home = hash(keys[next]) & mask;
+            if(((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int index = hash(key) & mask;
+        while(used[index]) {
+            if(keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        size = 0;
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldUsed[i]) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while(capacity * LOAD_FACTOR < expectedSize) {
+            capacity = capacity << 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
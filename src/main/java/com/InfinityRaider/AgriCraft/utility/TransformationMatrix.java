@@ -2,33 +2,34 @@ package com.InfinityRaider.AgriCraft.utility;
 
 import net.minecraft.util.Vec3;
 
+/**
+ * An affine transformation: a 4x4 matrix of which the bottom row is always (0, 0, 0, 1), so only the top three rows are stored.
+ * Translating, rotating, scaling and transforming are done in place without allocating,
+ * and matrices without rotation or scaling take a faster path.
+ */
 public class TransformationMatrix {
-    private static final int SIZE = 4;
+    private static final int COLUMNS = 4;
+    private static final int ROWS = 3;
 
-    private double [][] matrix;
+    /** The top three rows, row by row */
+    private final double[] matrix = new double[ROWS*COLUMNS];
+    /** If the rotation and scaling part is the unity matrix, meaning this matrix only translates */
+    private boolean translationOnly;
 
     /** TransformationMatrix for doing nothing (unity matrix) */
     public TransformationMatrix() {
-        matrix = new double[SIZE][SIZE];
-        for(int i=0;i<SIZE;i++) {
-            matrix[i][i]=1;
-        }
+        setIdentity();
     }
 
     /** TransformationMatrix for a rotation (http://xkcd.com/184/)*/
     public TransformationMatrix(double angle, double x, double y, double z) {
-        matrix = new double[SIZE][SIZE];
         setRotation(angle, x, y, z);
-        matrix[3][3] = 1;
     }
 
     /** TransformationMatrix for a translation */
     public TransformationMatrix(double x, double y, double z) {
-        matrix = new double[SIZE][SIZE];
+        setIdentity();
         setTranslation(x, y, z);
-        for(int i=0;i<SIZE;i++) {
-            matrix[i][i]=1;
-        }
     }
 
     /** TransformationMatrix for a translation */
@@ -43,47 +44,77 @@ public class TransformationMatrix {
 
     /** TransformationMatrix for a rotation and translation */
     public TransformationMatrix(double angle, double x, double y, double z, Vector translation) {
-        matrix = new double[SIZE][SIZE];
         setRotation(angle, x, y, z);
         setTranslation(translation);
-        //bottom line
-        matrix[3][3] = 1;
     }
 
     /** Custom transformation */
     public TransformationMatrix(double[][] data) {
         this();
-        int m = SIZE-1>=data.length?data.length:SIZE-1;
+        int m = ROWS>=data.length?data.length:ROWS;
         for(int i=0;i<m;i++) {
-            int n = SIZE>=data[i].length?data[i].length:SIZE;
+            int n = COLUMNS>=data[i].length?data[i].length:COLUMNS;
             for(int j=0;j<n;j++) {
-                this.matrix[i][j] = data[i][j];
+                this.matrix[i*COLUMNS + j] = data[i][j];
             }
         }
+        updateTranslationOnly();
+    }
+
+    /** Copy of another matrix */
+    public TransformationMatrix(TransformationMatrix m) {
+        set(m);
+    }
+
+    /** Sets this matrix to the unity matrix */
+    public TransformationMatrix setIdentity() {
+        for(int i=0;i<matrix.length;i++) {
+            matrix[i] = 0;
+        }
+        matrix[0] = 1;
+        matrix[5] = 1;
+        matrix[10] = 1;
+        translationOnly = true;
+        return this;
+    }
+
+    /** Copies the values of another matrix into this one */
+    public TransformationMatrix set(TransformationMatrix m) {
+        System.arraycopy(m.matrix, 0, this.matrix, 0, matrix.length);
+        this.translationOnly = m.translationOnly;
+        return this;
+    }
+
+    /** @return true if this matrix only translates */
+    public boolean isTranslationOnly() {
+        return translationOnly;
     }
 
     /** sets the rotation compared to the absolute coordinates while keeping the translation */
     public void setRotation(double angle, double x, double y, double z) {
-        Vector axis = new Vector(x, y, z).normalize();
+        double norm = Math.sqrt(x*x + y*y + z*z);
+        if(norm != 0) {
+            x = x/norm;
+            y = y/norm;
+            z = z/norm;
+        }
         angle = Math.toRadians(angle);
-        x = axis.getX();
-        y = axis.getY();
-        z = axis.getZ();
         double sin = Math.sin(angle);
         double cos = Math.cos(angle);
 
         //x
-        matrix[0][0] = x*x*(1-cos) + cos;
-        matrix[0][1] = y*x*(1-cos) - z*sin;
-        matrix[0][2] = z*x*(1-cos) + y*sin;
+        matrix[0] = x*x*(1-cos) + cos;
+        matrix[1] = y*x*(1-cos) - z*sin;
+        matrix[2] = z*x*(1-cos) + y*sin;
         //y
-        matrix[1][0] = x*y*(1-cos) + z*sin;
-        matrix[1][1] = y*y*(1-cos) + cos;
-        matrix[1][2] = y*z*(1-cos) - x*sin;
+        matrix[4] = x*y*(1-cos) + z*sin;
+        matrix[5] = y*y*(1-cos) + cos;
+        matrix[6] = y*z*(1-cos) - x*sin;
         //z
-        matrix[2][0] = x*z*(1-cos) - y*sin;
-        matrix[2][1] = y*z*(1-cos) + x*sin;
-        matrix[2][2] = z*z*(1-cos) + cos;
+        matrix[8] = x*z*(1-cos) - y*sin;
+        matrix[9] = y*z*(1-cos) + x*sin;
+        matrix[10] = z*z*(1-cos) + cos;
+        updateTranslationOnly();
     }
 
     /** sets the translation compared to the absolute coordinates while keeping the rotation */
@@ -93,9 +124,9 @@ public class TransformationMatrix {
 
     /** sets the translation compared to the absolute coordinates while keeping the rotation */
     public void setTranslation(double x, double y, double z) {
-        this.matrix[0][3] = x;
-        this.matrix[1][3] = y;
-        this.matrix[2][3] = z;
+        this.matrix[3] = x;
+        this.matrix[7] = y;
+        this.matrix[11] = z;
     }
 
     /**
@@ -103,60 +134,121 @@ public class TransformationMatrix {
      * @return a vector with size 3 containing the translation components
      */
     public double[] getTranslation() {
-        return new double[] {matrix[0][3], matrix[1][3], matrix[2][3]};
+        return new double[] {matrix[3], matrix[7], matrix[11]};
+    }
+
+    /** Translates the coordinate system of this matrix, equal to right multiplying with a translation matrix */
+    public TransformationMatrix translate(double x, double y, double z) {
+        if(translationOnly) {
+            matrix[3] = matrix[3] + x;
+            matrix[7] = matrix[7] + y;
+            matrix[11] = matrix[11] + z;
+        } else {
+            for(int i=0;i<ROWS;i++) {
+                int row = i*COLUMNS;
+                matrix[row + 3] = matrix[row]*x + matrix[row + 1]*y + matrix[row + 2]*z + matrix[row + 3];
+            }
+        }
+        return this;
+    }
+
+    /** Rotates the coordinate system of this matrix, equal to right multiplying with a rotation matrix */
+    public TransformationMatrix rotate(double angle, double x, double y, double z) {
+        if(angle == 0) {
+            return this;
+        }
+        double norm = Math.sqrt(x*x + y*y + z*z);
+        if(norm == 0) {
+            return this;
+        }
+        x = x/norm;
+        y = y/norm;
+        z = z/norm;
+        angle = Math.toRadians(angle);
+        double sin = Math.sin(angle);
+        double cos = Math.cos(angle);
+        double r00 = x*x*(1-cos) + cos,   r01 = y*x*(1-cos) - z*sin, r02 = z*x*(1-cos) + y*sin;
+        double r10 = x*y*(1-cos) + z*sin, r11 = y*y*(1-cos) + cos,   r12 = y*z*(1-cos) - x*sin;
+        double r20 = x*z*(1-cos) - y*sin, r21 = y*z*(1-cos) + x*sin, r22 = z*z*(1-cos) + cos;
+        for(int i=0;i<ROWS;i++) {
+            int row = i*COLUMNS;
+            double m0 = matrix[row], m1 = matrix[row + 1], m2 = matrix[row + 2];
+            matrix[row] = m0*r00 + m1*r10 + m2*r20;
+            matrix[row + 1] = m0*r01 + m1*r11 + m2*r21;
+            matrix[row + 2] = m0*r02 + m1*r12 + m2*r22;
+        }
+        translationOnly = false;
+        return this;
     }
 
     /** scales the matrix */
     public TransformationMatrix scale(double x, double y, double z) {
-        TransformationMatrix m = new TransformationMatrix();
-        m.matrix[0][0] = x;
-        m.matrix[1][1] = y;
-        m.matrix[2][2] = z;
-        this.multiplyRightWith(m);
+        for(int i=0;i<ROWS;i++) {
+            int row = i*COLUMNS;
+            matrix[row] = matrix[row]*x;
+            matrix[row + 1] = matrix[row + 1]*y;
+            matrix[row + 2] = matrix[row + 2]*z;
+        }
+        updateTranslationOnly();
         return this;
     }
 
-
     /** Left multiplies this transformation matrix with the argument, for inverse transformations */
     public TransformationMatrix multiplyLeftWith(TransformationMatrix m) {
-        double[][] newValues = new double[SIZE][SIZE];
-        for(int i=0;i<SIZE;i++) {
-            for(int j=0;j<SIZE;j++) {
-                double value = 0;
-                for(int k=0;k<SIZE;k++) {
-                    value = value + m.matrix[i][k] * this.matrix[k][j];
-                }
-                newValues[i][j] = value;
-            }
-        }
-        this.matrix = newValues;
+        multiply(m.matrix, this.matrix, this.matrix);
+        updateTranslationOnly();
         return this;
     }
 
     /** Right multiplies this transformation matrix with the argument, for chaining transformations */
     public TransformationMatrix multiplyRightWith(TransformationMatrix m) {
-        double[][] newValues = new double[SIZE][SIZE];
-        for(int i=0;i<SIZE;i++) {
-            for(int j=0;j<SIZE;j++) {
-                double value = 0;
-                for(int k=0;k<SIZE;k++) {
-                    value = value + this.matrix[i][k] * m.matrix[k][j];
-                }
-                newValues[i][j] = value;
-            }
+        if(m.translationOnly) {
+            return translate(m.matrix[3], m.matrix[7], m.matrix[11]);
         }
-        this.matrix = newValues;
+        multiply(this.matrix, m.matrix, this.matrix);
+        updateTranslationOnly();
         return this;
     }
 
+    /** Multiplies two affine matrices, the result may be the first argument */
+    private static void multiply(double[] a, double[] b, double[] result) {
+        if(b == result) {
+            b = b.clone();
+        }
+        for(int i=0;i<ROWS;i++) {
+            int row = i*COLUMNS;
+            double a0 = a[row], a1 = a[row + 1], a2 = a[row + 2], a3 = a[row + 3];
+            for(int j=0;j<COLUMNS;j++) {
+                //the bottom row of b is (0, 0, 0, 1)
+                result[row + j] = a0*b[j] + a1*b[COLUMNS + j] + a2*b[2*COLUMNS + j] + (j == 3 ? a3 : 0);
+            }
+        }
+    }
+
+    private void updateTranslationOnly() {
+        translationOnly = matrix[0] == 1 && matrix[1] == 0 && matrix[2] == 0
+                && matrix[4] == 0 && matrix[5] == 1 && matrix[6] == 0
+                && matrix[8] == 0 && matrix[9] == 0 && matrix[10] == 1;
+    }
+
     /** Transforms the given coordinates */
     public double[] transform(double x, double y, double z) {
-        double[] coords = new double[] {x, y, z, 1};
-        double[] result = new double[3];
-        for(int i=0;i<result.length;i++) {
-            for(int j=0;j<SIZE;j++) {
-                result[i] = result[i] + this.matrix[i][j]*coords[j];
-            }
+        return transform(x, y, z, new double[3]);
+    }
+
+    /**
+     * Transforms the given coordinates without allocating
+     * @return the array passed for the result, with size 3
+     */
+    public double[] transform(double x, double y, double z, double[] result) {
+        if(translationOnly) {
+            result[0] = x + matrix[3];
+            result[1] = y + matrix[7];
+            result[2] = z + matrix[11];
+        } else {
+            result[0] = matrix[0]*x + matrix[1]*y + matrix[2]*z + matrix[3];
+            result[1] = matrix[4]*x + matrix[5]*y + matrix[6]*z + matrix[7];
+            result[2] = matrix[8]*x + matrix[9]*y + matrix[10]*z + matrix[11];
         }
         return result;
     }
@@ -2,51 +2,64 @@ package com.InfinityRaider.AgriCraft.utility;
 
 import java.util.*;
 
+/**
+ * Weighted collection of entries to draw from at random.
+ * Draws go through an immutable AliasSampler, which is rebuilt copy-on-write on the first draw after the entries changed.
+ */
 public class WeightedRandom<T> {
     private int totalWeight;
-    private HashMap<T, Integer> entries;
+    private final Map<T, Integer> entries;
+    /** Sampler for the current entries, null if the entries changed since it was built */
+    private volatile AliasSampler<T> sampler;
 
     public WeightedRandom() {
-        this.entries = new HashMap<T, Integer>();
+        this.entries = new LinkedHashMap<>();
         totalWeight = 0;
     }
 
-    public void addEntry(T entry, int weight) {
-        this.entries.put(entry, weight);
-        totalWeight = totalWeight + weight;
+    public synchronized void addEntry(T entry, int weight) {
+        Integer previous = this.entries.put(entry, weight);
+        totalWeight = totalWeight + weight - (previous == null ? 0 : previous);
+        this.sampler = null;
     }
 
-    public void removeEntry(T entry) {
-        Iterator<Map.Entry<T, Integer>> iterator = entries.entrySet().iterator();
-        while(iterator.hasNext()) {
-            Map.Entry<T, Integer> mapEntry = iterator.next();
-            if(mapEntry.getKey().equals(entry)) {
-                totalWeight = totalWeight - mapEntry.getValue();
-                iterator.remove();
-            }
+    public synchronized void removeEntry(T entry) {
+        Integer previous = this.entries.remove(entry);
+        if(previous != null) {
+            totalWeight = totalWeight - previous;
+            this.sampler = null;
         }
     }
 
     public T getRandomEntry(Random rand) {
-        T result = null;
-        Set<Map.Entry<T, Integer>> entries = this.entries.entrySet();
-        double threshold = rand.nextDouble() * totalWeight;
-        for(Map.Entry<T, Integer> mapEntry:entries) {
-            threshold = threshold - mapEntry.getValue();
-            if (threshold <= 0.0D) {
-                result = mapEntry.getKey();
-                break;
-            }
-        }
-        return result;
+        return this.getSampler().sample(rand);
     }
 
-    public int getWeight(T entry) {
-        for(Map.Entry<T, Integer> mapEntry:entries.entrySet()) {
-            if (entry.equals(mapEntry.getKey())) {
-                return mapEntry.getValue();
+    /** @return an immutable sampler for the current entries, it is not affected by later changes */
+    public AliasSampler<T> getSampler() {
+        AliasSampler<T> current = this.sampler;
+        if(current == null) {
+            synchronized (this) {
+                current = this.sampler;
+                if(current == null) {
+                    AliasSampler.Builder<T> builder = AliasSampler.builder();
+                    for(Map.Entry<T, Integer> mapEntry : entries.entrySet()) {
+                        builder.add(mapEntry.getKey(), Math.max(0, mapEntry.getValue()));
+                    }
+                    current = builder.build();
+                    this.sampler = current;
+                }
             }
         }
-        return 0;
+        return current;
+    }
+
+    public synchronized int getWeight(T entry) {
+        Integer weight = entries.get(entry);
+        return weight == null ? 0 : weight;
+    }
+
+    public synchronized int getTotalWeight() {
+        return totalWeight;
     }
 }
@@ -1,15 +1,33 @@
 package com.InfinityRaider.AgriCraft.utility.multiblock;
 
-import com.InfinityRaider.AgriCraft.utility.CoordinateIterator;
 import com.InfinityRaider.AgriCraft.utility.ForgeDirection;
-import com.InfinityRaider.AgriCraft.utility.LogHelper;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.BlockPos;
 import net.minecraft.world.World;
 
+import java.util.List;
+
+/**
+ * Forms and breaks multiblock structures.
+ *
+ * When a component is placed, a box is grown from it one face at a time. A face grows over a layer of single components
+ * after checking every position in the layer. When the layer is the face of an existing structure with the same cross-section,
+ * the structure's cached bounds let the face skip over the whole structure in one step.
+ * This merges existing structures without rescanning their volume. The grown box never includes part of a structure.
+ * Breaking a component splits its structure, whose bounds are known from the part data, back into single components.
+ */
 public class MultiBlockManager implements IMultiBlockManager<MultiBlockPartData> {
     private static MultiBlockManager INSTANCE;
 
+    //timing of the structure updates, for the debug info
+    private int placeCount;
+    private long placeNanos;
+    private long lastPlaceNanos;
+    private int lastPlaceVisited;
+    private int breakCount;
+    private long breakNanos;
+    private long lastBreakNanos;
+
     private MultiBlockManager() {
     }
 
@@ -20,34 +38,98 @@ public class MultiBlockManager implements IMultiBlockManager<MultiBlockPartData>
         return INSTANCE;
     }
 
+    /** Gets the structure a component belongs to, from its cached part data */
+    public MultiBlockStructure getStructure(BlockPos pos, IMultiBlockComponent component) {
+        return MultiBlockStructure.of(pos, component.getMultiBlockData());
+    }
+
     @Override
     public void onBlockPlaced(World world, BlockPos pos, IMultiBlockComponent component) {
-        boolean flag = false;
-        for (ForgeDirection dir : ForgeDirection.values()) {
-            if (dir == ForgeDirection.UNKNOWN) {
-                continue;
+        long start = System.nanoTime();
+        MultiBlockStructure box = new MultiBlockStructure(pos.getX(), pos.getY(), pos.getZ(), pos.getX() + 1, pos.getY() + 1, pos.getZ() + 1);
+        BlockPos.MutableBlockPos checkPos = new BlockPos.MutableBlockPos();
+        int visited = 0;
+        boolean grown = true;
+        while (grown) {
+            grown = false;
+            for (ForgeDirection dir : ForgeDirection.VALID_DIRECTIONS) {
+                int result;
+                while ((result = tryGrow(world, box, dir, component, checkPos)) > 0) {
+                    visited = visited + result;
+                    grown = true;
+                }
+                visited = visited - result;
+            }
+        }
+        if (box.getComponentCount() > 1) {
+            createMultiBlock(world, box.minX(), box.minY(), box.minZ(), box.maxX(), box.maxY(), box.maxZ());
+        }
+        long time = System.nanoTime() - start;
+        synchronized (this) {
+            placeCount++;
+            placeNanos = placeNanos + time;
+            lastPlaceNanos = time;
+            lastPlaceVisited = visited;
+        }
+    }
+
+    /**
+     * Tries to move a face of the box outwards
+     * @return the number of components visited if the face was moved, or minus that number if it could not be moved
+     */
+    private int tryGrow(World world, MultiBlockStructure box, ForgeDirection dir, IMultiBlockComponent component, BlockPos.MutableBlockPos checkPos) {
+        boolean positive = dir.offsetX + dir.offsetY + dir.offsetZ > 0;
+        int layer = positive ? box.getMax(dir) : box.getMin(dir) - 1;
+        //the first position of the layer
+        int x = dir.offsetX != 0 ? layer : box.minX();
+        int y = dir.offsetY != 0 ? layer : box.minY();
+        int z = dir.offsetZ != 0 ? layer : box.minZ();
+        IMultiBlockComponent first = getValidComponent(world, checkPos.set(x, y, z), component);
+        if (first == null) {
+            return -1;
+        }
+        IMultiBlockPartData data = first.getMultiBlockData();
+        if (data.size() > 1) {
+            //the layer is part of an existing structure, it can only be merged as a whole
+            MultiBlockStructure structure = MultiBlockStructure.of(checkPos, data);
+            if (!box.hasSameCrossSection(structure, dir)) {
+                return -1;
             }
-            TileEntity te = world.getTileEntity(dir.offset(pos));
-            if (te != null && te instanceof IMultiBlockComponent && component.isValidComponent((IMultiBlockComponent) te)) {
-                IMultiBlockComponent componentAt = (IMultiBlockComponent) te;
-                if (canCheckForMultiBlock(componentAt)) {
-                    if (checkForMultiBlock(world, dir.offset(pos), componentAt)) {
-                        return;
+            box.setFace(dir, positive ? structure.getMax(dir) : structure.getMin(dir));
+            return 1;
+        }
+        //the layer must consist of single components only
+        int xMax = dir.offsetX != 0 ? layer + 1 : box.maxX();
+        int yMax = dir.offsetY != 0 ? layer + 1 : box.maxY();
+        int zMax = dir.offsetZ != 0 ? layer + 1 : box.maxZ();
+        int visited = 0;
+        for (int i = x; i < xMax; i++) {
+            for (int j = y; j < yMax; j++) {
+                for (int k = z; k < zMax; k++) {
+                    visited++;
+                    IMultiBlockComponent componentAt = getValidComponent(world, checkPos.set(i, j, k), component);
+                    if (componentAt == null || componentAt.getMultiBlockData().size() > 1) {
+                        return -visited;
                     }
-                    flag = true;
                 }
             }
         }
-        if (!flag) {
-            checkForMultiBlock(world, pos, component);
-        }
+        box.setFace(dir, positive ? layer + 1 : layer);
+        return visited;
     }
 
     @Override
     public void onBlockBroken(World world, BlockPos pos, IMultiBlockComponent<? extends IMultiBlockManager<MultiBlockPartData>, MultiBlockPartData> component) {
+        long start = System.nanoTime();
         component.getMainComponent().preMultiBlockBreak();
-        IMultiBlockPartData data = component.getMultiBlockData();
-        breakAllMultiBlocksInRange(world, pos.getX() - data.posX(), pos.getY() - data.posY(), pos.getZ() - data.posZ(), pos.getX() + data.sizeX(), pos.getY() + data.sizeY(), pos.getZ() + data.sizeZ());
+        MultiBlockStructure structure = getStructure(pos, component);
+        breakAllMultiBlocksInRange(world, structure.minX(), structure.minY(), structure.minZ(), structure.maxX(), structure.maxY(), structure.maxZ());
+        long time = System.nanoTime() - start;
+        synchronized (this) {
+            breakCount++;
+            breakNanos = breakNanos + time;
+            lastBreakNanos = time;
+        }
     }
 
     @Override
@@ -56,15 +138,13 @@ public class MultiBlockManager implements IMultiBlockManager<MultiBlockPartData>
         int sizeX = xMax-xMin;
         int sizeY = yMax-yMin;
         int sizeZ = zMax-zMin;
-        BlockPos pos;
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        IMultiBlockComponent root = (IMultiBlockComponent) world.getTileEntity(pos.set(xMin, yMin, zMin));
+        root.preMultiBlockCreation(sizeX, sizeY, sizeZ);
         for (int x = xMin; x < xMax; x++) {
             for (int y = yMin; y < yMax; y++) {
                 for (int z = zMin; z < zMax; z++) {
-                    pos = new BlockPos(x, y, z);
-                    IMultiBlockComponent component = (IMultiBlockComponent) world.getTileEntity(pos);
-                    if(x == xMin && y == yMin && z == zMin) {
-                        component.preMultiBlockCreation(xMax-xMin, yMax-yMin, zMax-zMin);
-                    }
+                    IMultiBlockComponent component = (IMultiBlockComponent) world.getTileEntity(pos.set(x, y, z));
                     component.setMultiBlockPartData(new MultiBlockPartData(x-xMin, y-yMin, z-zMin, sizeX, sizeY, sizeZ));
                 }
             }
@@ -72,107 +152,25 @@ public class MultiBlockManager implements IMultiBlockManager<MultiBlockPartData>
         if (world.isRemote) {
             world.markBlockRangeForRenderUpdate(xMin, yMin, zMin, xMax, yMax, zMax);
         }
-        ((IMultiBlockComponent) world.getTileEntity(new BlockPos(xMin, yMin, zMin))).postMultiBlockCreation();
+        root.postMultiBlockCreation();
     }
 
-    private boolean canCheckForMultiBlock(IMultiBlockComponent component) {
-        return component.getMultiBlockData().size() > 1;
-    }
-
-    private boolean checkForMultiBlock(World world, BlockPos pos, IMultiBlockComponent component) {
-        IMultiBlockComponent rootComponent = component.getMainComponent();
-        if (rootComponent != component) {
-            IMultiBlockPartData data = component.getMultiBlockData();
-            return checkForMultiBlock(world, pos.add(-data.posX(), -data.posY(), -data.posZ()), rootComponent);
-        }
-        CoordinateIterator iterator = new CoordinateIterator();
-        int xOffsetMin = calculateDimensionOffsetBackwards(world, pos, component, iterator.setX());
-        int yOffsetMin = calculateDimensionOffsetBackwards(world, pos, component, iterator.setY());
-        int zOffsetMin = calculateDimensionOffsetBackwards(world, pos, component, iterator.setZ());
-        int xOffsetPlus = calculateDimensionOffsetForwards(world, pos, component, iterator.setX());
-        int yOffsetPlus = calculateDimensionOffsetForwards(world, pos, component, iterator.setY());
-        int zOffsetPlus = calculateDimensionOffsetForwards(world, pos, component, iterator.setZ());
-        //if not all blocks for new root are correct, do nothing
-        if (!areAllBlocksInRangeValidComponents(world, pos.getX() - xOffsetMin, pos.getY() - yOffsetMin, pos.getZ() - zOffsetMin, pos.getX() + xOffsetPlus, pos.getY() + yOffsetPlus, pos.getZ() + zOffsetPlus, component)) {
-            return false;
-        }
-        IMultiBlockComponent newRoot = (IMultiBlockComponent) world.getTileEntity(pos.add(-xOffsetMin, -yOffsetMin, -zOffsetMin));
-        int xSizeNew = xOffsetPlus + xOffsetMin;
-        int ySizeNew = yOffsetPlus + yOffsetMin;
-        int zSizeNew = zOffsetPlus + zOffsetMin;
-        IMultiBlockPartData data = component.getMultiBlockData();
-        //if dimensions and root are the same the multiblock hasn't changed and nothing has to happen
-        if (component == newRoot && xSizeNew == data.sizeX() && ySizeNew == data.sizeY() && zSizeNew == data.sizeZ()) {
-            return false;
+    private IMultiBlockComponent getValidComponent(World world, BlockPos pos, IMultiBlockComponent component) {
+        TileEntity te = world.getTileEntity(pos);
+        if ((te instanceof IMultiBlockComponent) && (component.isValidComponent((IMultiBlockComponent) te))) {
+            return (IMultiBlockComponent) te;
         }
-        //new multiblock dimensions are required, update the multiblock
-        createMultiBlock(world, pos.getX() - xOffsetMin, pos.getY() - yOffsetMin, pos.getZ() - zOffsetMin, pos.getX() + xOffsetPlus, pos.getY() + yOffsetPlus, pos.getZ() + zOffsetPlus);
-        return true;
-    }
-
-    private int calculateDimensionOffsetBackwards(World world, BlockPos pos, IMultiBlockComponent component, CoordinateIterator it) {
-        if (!it.isActive()) {
-            LogHelper.debug("ERROR WHEN ITERATING COORDINATES: ITERATOR NOT ACTIVE");
-            return 0;
-        }
-        IMultiBlockPartData data = component.getMultiBlockData();
-        int x = pos.getX() - data.posX();
-        int y = pos.getY() - data.posY();
-        int z = pos.getZ() - data.posZ();
-        while (true) {
-            it.increment();
-            if (!isValidComponent(world, x - it.x(), y - it.y(), z - it.z(), component)) {
-                break;
-            }
-        }
-        return it.getOffset() - 1;
-    }
-
-    private int calculateDimensionOffsetForwards(World world, BlockPos pos, IMultiBlockComponent component, CoordinateIterator it) {
-        if (!it.isActive()) {
-            LogHelper.debug("ERROR WHEN ITERATING COORDINATES: ITERATOR NOT ACTIVE");
-            return 0;
-        }
-        IMultiBlockPartData data = component.getMultiBlockData();
-        int x = pos.getX() - data.posX();
-        int y = pos.getY() - data.posY();
-        int z = pos.getZ() - data.posZ();
-        while (true) {
-            it.increment();
-            if (!isValidComponent(world, x + it.x(), y + it.y(), z + it.z(), component)) {
-                break;
-            }
-        }
-        return it.getOffset();
-    }
-
-    private boolean areAllBlocksInRangeValidComponents(World world, int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, IMultiBlockComponent component) {
-        for (int x = xMin; x < xMax; x++) {
-            for (int y = yMin; y < yMax; y++) {
-                for (int z = zMin; z < zMax; z++) {
-                    if (!isValidComponent(world, x, y, z, component)) {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
-    }
-
-    private boolean isValidComponent(World world, int x, int y, int z, IMultiBlockComponent component) {
-        TileEntity te = world.getTileEntity(new BlockPos(x, y, z));
-        return (te != null) && (te instanceof IMultiBlockComponent) && (component.isValidComponent((IMultiBlockComponent) te));
+        return null;
     }
 
     @SuppressWarnings("unchecked")
     private void breakAllMultiBlocksInRange(World world, int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
-        BlockPos pos;
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
         for (int x=xMin; x<xMax;x++) {
             for (int y=yMin;y<yMax;y++) {
                 for (int z=zMin;z<zMax;z++) {
-                    pos = new BlockPos(x, y, z);
-                    TileEntity te = world.getTileEntity(pos);
-                    if((te == null) || !(te instanceof IMultiBlockComponent)) {
+                    TileEntity te = world.getTileEntity(pos.set(x, y, z));
+                    if(!(te instanceof IMultiBlockComponent)) {
                         continue;
                     }
                     IMultiBlockComponent component = (IMultiBlockComponent) te;
@@ -182,4 +180,11 @@ public class MultiBlockManager implements IMultiBlockManager<MultiBlockPartData>
             }
         }
     }
+
+    /** Adds the timing of the structure updates to the debug info */
+    public synchronized void addDebugInfo(List<String> list) {
+        list.add("MultiBlock updates:");
+        list.add("  - Placed: " + placeCount + ", last: " + (lastPlaceNanos / 1000) + " us (" + lastPlaceVisited + " components visited), average: " + (placeCount == 0 ? 0 : placeNanos / placeCount / 1000) + " us");
+        list.add("  - Broken: " + breakCount + ", last: " + (lastBreakNanos / 1000) + " us, average: " + (breakCount == 0 ? 0 : breakNanos / breakCount / 1000) + " us");
+    }
 }
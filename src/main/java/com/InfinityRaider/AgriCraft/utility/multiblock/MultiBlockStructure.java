@@ -0,0 +1,82 @@
+package com.InfinityRaider.AgriCraft.utility.multiblock;
+
+import com.InfinityRaider.AgriCraft.utility.ForgeDirection;
+import net.minecraft.util.BlockPos;
+
+/**
+ * The bounding box of a multiblock structure, minimum coordinates are inclusive and maximum coordinates are exclusive.
+ * Every component stores its offset and the size of its structure, so the box of a structure is known from any of its components
+ * without visiting the others.
+ */
+public final class MultiBlockStructure {
+    private int minX;
+    private int minY;
+    private int minZ;
+    private int maxX;
+    private int maxY;
+    private int maxZ;
+
+    public MultiBlockStructure(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /** Gets the structure a component at a position belongs to, from the part data of that component */
+    public static MultiBlockStructure of(BlockPos pos, IMultiBlockPartData data) {
+        int x = pos.getX() - data.posX();
+        int y = pos.getY() - data.posY();
+        int z = pos.getZ() - data.posZ();
+        return new MultiBlockStructure(x, y, z, x + data.sizeX(), y + data.sizeY(), z + data.sizeZ());
+    }
+
+    public int minX() {return minX;}
+    public int minY() {return minY;}
+    public int minZ() {return minZ;}
+    public int maxX() {return maxX;}
+    public int maxY() {return maxY;}
+    public int maxZ() {return maxZ;}
+
+    /** @return the number of components in this structure */
+    public int getComponentCount() {
+        return (maxX - minX) * (maxY - minY) * (maxZ - minZ);
+    }
+
+    /** @return the minimum coordinate of this box along the axis of a direction */
+    int getMin(ForgeDirection dir) {
+        return dir.offsetX != 0 ? minX : dir.offsetY != 0 ? minY : minZ;
+    }
+
+    /** @return the maximum coordinate of this box along the axis of a direction */
+    int getMax(ForgeDirection dir) {
+        return dir.offsetX != 0 ? maxX : dir.offsetY != 0 ? maxY : maxZ;
+    }
+
+    /** Checks if another box covers the same range as this box on the two axes perpendicular to a direction */
+    boolean hasSameCrossSection(MultiBlockStructure other, ForgeDirection dir) {
+        boolean x = dir.offsetX != 0 || (minX == other.minX && maxX == other.maxX);
+        boolean y = dir.offsetY != 0 || (minY == other.minY && maxY == other.maxY);
+        boolean z = dir.offsetZ != 0 || (minZ == other.minZ && maxZ == other.maxZ);
+        return x && y && z;
+    }
+
+    /** Moves the face of this box in a direction to a new coordinate along its axis */
+    void setFace(ForgeDirection dir, int coordinate) {
+        boolean positive = dir.offsetX + dir.offsetY + dir.offsetZ > 0;
+        if(dir.offsetX != 0) {
+            if(positive) {maxX = coordinate;} else {minX = coordinate;}
+        } else if(dir.offsetY != 0) {
+            if(positive) {maxY = coordinate;} else {minY = coordinate;}
+        } else {
+            if(positive) {maxZ = coordinate;} else {minZ = coordinate;}
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "[" + minX + ", " + minY + ", " + minZ + "] -> [" + maxX + ", " + maxY + ", " + maxZ + "] (" + getComponentCount() + " components)";
+    }
+}
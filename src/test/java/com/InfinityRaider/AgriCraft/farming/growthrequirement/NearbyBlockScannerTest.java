@@ -0,0 +1,126 @@
+package com.InfinityRaider.AgriCraft.farming.growthrequirement;
+
+import com.InfinityRaider.AgriCraft.api.v1.BlockWithMeta;
+import com.InfinityRaider.AgriCraft.utility.StubWorld;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.BlockPos;
+import net.minecraftforge.oredict.OreDictionary;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NearbyBlockScannerTest {
+    private static final BlockPos CENTER = new BlockPos(0, 64, 0);
+    /** Number of blocks in a region with a range of 1 */
+    private static final int REGION = 27;
+
+    private StubWorld world;
+    private NearbyBlockScanner scanner;
+
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.register();
+    }
+
+    @Before
+    public void setUp() {
+        NearbyBlockScanner.clearCaches();
+        world = new StubWorld();
+        scanner = new NearbyBlockScanner();
+    }
+
+    @Test
+    public void testFindsBlockInRange() {
+        world.setBlockState(1, 65, 1, Blocks.wool.getStateFromMeta(2));
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, new BlockWithMeta(Blocks.wool, 2), false));
+        //the region is walked along x, then y, then z, so the far corner is the last block
+        assertEquals(REGION, scanner.getLookupCount());
+    }
+
+    @Test
+    public void testStopsAtFirstMatch() {
+        world.setBlockState(-1, 63, -1, Blocks.wool.getStateFromMeta(2));
+        world.setBlockState(1, 65, 1, Blocks.wool.getStateFromMeta(2));
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, new BlockWithMeta(Blocks.wool, 2), false));
+        assertEquals(1, scanner.getLookupCount());
+    }
+
+    @Test
+    public void testIgnoresBlocksOutOfRange() {
+        world.setBlockState(2, 64, 0, Blocks.wool.getStateFromMeta(2));
+        world.setBlockState(0, 66, 0, Blocks.wool.getStateFromMeta(2));
+        assertFalse(scanner.isBlockNear(world, CENTER, 1, new BlockWithMeta(Blocks.wool, 2), false));
+        assertEquals(REGION, scanner.getLookupCount());
+        assertTrue(scanner.isBlockNear(world, CENTER, 2, new BlockWithMeta(Blocks.wool, 2), false));
+    }
+
+    @Test
+    public void testMetaMustMatch() {
+        world.setBlockState(0, 65, 0, Blocks.wool.getStateFromMeta(3));
+        assertFalse(scanner.isBlockNear(world, CENTER, 1, new BlockWithMeta(Blocks.wool, 2), false));
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, new BlockWithMeta(Blocks.wool, 3), false));
+    }
+
+    @Test
+    public void testHintIsCheckedFirst() {
+        world.setBlockState(1, 65, 1, Blocks.wool.getStateFromMeta(2));
+        BlockWithMeta target = new BlockWithMeta(Blocks.wool, 2);
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, target, false));
+        int worldLookups = world.getBlockStateLookups();
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, target, false));
+        assertEquals(1, scanner.getLookupCount());
+        assertTrue(world.getBlockStateLookups() > worldLookups);
+        //the hint is also used for a neighbouring center which still has it in range
+        assertTrue(scanner.isBlockNear(world, new BlockPos(1, 64, 0), 1, target, false));
+        assertEquals(1, scanner.getLookupCount());
+    }
+
+    @Test
+    public void testStaleHintFallsBackToScan() {
+        BlockWithMeta target = new BlockWithMeta(Blocks.wool, 2);
+        world.setBlockState(1, 65, 1, Blocks.wool.getStateFromMeta(2));
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, target, false));
+        world.setBlockState(1, 65, 1, Blocks.air.getDefaultState());
+        world.setBlockState(-1, 64, 0, Blocks.wool.getStateFromMeta(2));
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, target, false));
+        //the failed hint plus the scan up to the new block
+        assertEquals(1 + 5, scanner.getLookupCount());
+        world.setBlockState(-1, 64, 0, Blocks.air.getDefaultState());
+        assertFalse(scanner.isBlockNear(world, CENTER, 1, target, false));
+        assertEquals(1 + REGION, scanner.getLookupCount());
+        //without a match the hint is gone
+        assertFalse(scanner.isBlockNear(world, CENTER, 1, target, false));
+        assertEquals(REGION, scanner.getLookupCount());
+    }
+
+    @Test
+    public void testClearHint() {
+        BlockWithMeta target = new BlockWithMeta(Blocks.wool, 2);
+        world.setBlockState(1, 65, 1, Blocks.wool.getStateFromMeta(2));
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, target, false));
+        scanner.clearHint();
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, target, false));
+        assertEquals(REGION, scanner.getLookupCount());
+    }
+
+    @Test
+    public void testOreDictionaryMatches() {
+        OreDictionary.registerOre("agricraftTestBlock", new ItemStack(Blocks.wool, 1, 2));
+        OreDictionary.registerOre("agricraftTestBlock", new ItemStack(Blocks.planks, 1, 1));
+        world.setBlockState(0, 65, 0, Blocks.planks.getStateFromMeta(1));
+        world.setBlockState(0, 63, 0, Blocks.planks.getStateFromMeta(0));
+        assertFalse(scanner.isBlockNear(world, CENTER, 1, new BlockWithMeta(Blocks.wool, 2), false));
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, new BlockWithMeta(Blocks.wool, 2), true));
+        //a different instance for the same block shares the cached matcher and gives the same outcome
+        scanner.clearHint();
+        assertTrue(scanner.isBlockNear(world, CENTER, 1, new BlockWithMeta(Blocks.wool, 2), true));
+        //planks without an entry in the ore dictionary do not match
+        world.setBlockState(0, 65, 0, Blocks.air.getDefaultState());
+        assertFalse(scanner.isBlockNear(world, CENTER, 1, new BlockWithMeta(Blocks.wool, 2), true));
+        assertEquals(1 + REGION, scanner.getLookupCount());
+    }
+}
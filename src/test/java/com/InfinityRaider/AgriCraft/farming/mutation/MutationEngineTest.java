@@ -0,0 +1,314 @@
+package com.InfinityRaider.AgriCraft.farming.mutation;
+
+import com.InfinityRaider.AgriCraft.api.v1.BlockWithMeta;
+import com.InfinityRaider.AgriCraft.api.v1.IGrowthRequirement;
+import com.InfinityRaider.AgriCraft.api.v1.RenderMethod;
+import com.InfinityRaider.AgriCraft.api.v1.RequirementType;
+import com.InfinityRaider.AgriCraft.farming.cropplant.CropPlant;
+import com.InfinityRaider.AgriCraft.farming.growthrequirement.GrowthRequirementHandler;
+import com.InfinityRaider.AgriCraft.farming.mutation.statcalculator.StatCalculator;
+import com.InfinityRaider.AgriCraft.handler.ConfigurationHandler;
+import com.InfinityRaider.AgriCraft.tileentity.TileEntityCrop;
+import com.InfinityRaider.AgriCraft.utility.StubWorld;
+import net.minecraft.block.Block;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+public class MutationEngineTest {
+    private static final int WARMUP = 20000;
+    private static final int CROSS_OVERS = 100000;
+
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.register();
+    }
+
+    @Before
+    public void setUp() {
+        //always spread, and only let identical plants pass on their stats
+        ConfigurationHandler.mutationChance = 0;
+        ConfigurationHandler.validParents = 3;
+        ConfigurationHandler.hardCoreStats = false;
+        ConfigurationHandler.singleSpreadsIncrement = false;
+        ConfigurationHandler.cropStatCap = 10;
+        StatCalculator.setStatCalculator(null);
+    }
+
+    @Test
+    public void testCrossOverDoesNotAllocate() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        StubWorld world = new StubWorld();
+        TileEntityCrop crop = new TileEntityCrop();
+        world.setTileEntity(0, 64, 0, crop);
+        StubPlant plant = new StubPlant();
+        world.setTileEntity(1, 64, 0, new MatureCrop(plant, 3, 5, 7));
+        world.setTileEntity(-1, 64, 0, new MatureCrop(plant, 3, 5, 7));
+        world.setTileEntity(0, 64, 1, new MatureCrop(plant, 3, 5, 7));
+        world.setTileEntity(0, 64, -1, new MatureCrop(plant, 3, 5, 7));
+        MutationEngine engine = new MutationEngine(crop, new Random(1));
+
+        for (int i = 0; i < WARMUP; i++) {
+            engine.executeCrossOver();
+        }
+        long thread = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < CROSS_OVERS; i++) {
+            engine.executeCrossOver();
+        }
+        long allocated = allocations.getThreadAllocatedBytes(thread) - before;
+        //the smallest object takes 16 bytes, so this only leaves room for the measurement itself
+        assertTrue("allocated " + allocated + " bytes in " + CROSS_OVERS + " cross overs", allocated < CROSS_OVERS);
+        //the plant can not grow on the stub world, so the crop is never changed
+        assertFalse(crop.hasPlant());
+    }
+
+    @Test
+    public void testSpreadFromSingleParentKeepsStats() {
+        StubWorld world = new StubWorld();
+        EmptyCrop crop = new EmptyCrop();
+        world.setTileEntity(0, 64, 0, crop);
+        StubPlant plant = new GrowingPlant();
+        world.setTileEntity(1, 64, 0, new MatureCrop(plant, 3, 5, 7));
+        //a tier 1 plant always spreads
+        new MutationEngine(crop, new Random(1)).executeCrossOver();
+        assertTrue(crop.hasPlant());
+        assertSame(plant, crop.getPlant());
+        assertFalse(crop.isCrossCrop());
+        assertEquals(3, crop.getGrowth());
+        assertEquals(5, crop.getGain());
+        assertEquals(7, crop.getStrength());
+    }
+
+    @Test
+    public void testSpreadAveragesStatsOfIdenticalParents() {
+        StubWorld world = new StubWorld();
+        EmptyCrop crop = new EmptyCrop();
+        world.setTileEntity(0, 64, 0, crop);
+        StubPlant plant = new GrowingPlant();
+        world.setTileEntity(1, 64, 0, new MatureCrop(plant, 2, 4, 6));
+        world.setTileEntity(-1, 64, 0, new MatureCrop(plant, 4, 6, 8));
+        new MutationEngine(crop, new Random(1)).executeCrossOver();
+        assertSame(plant, crop.getPlant());
+        //the mean of the 2 parents, plus at most 1 for the second parent
+        assertInRange(3, 4, crop.getGrowth());
+        assertInRange(5, 6, crop.getGain());
+        assertInRange(7, 8, crop.getStrength());
+    }
+
+    private static void assertInRange(int min, int max, int value) {
+        assertTrue(value + " not in [" + min + ", " + max + "]", value >= min && value <= max);
+    }
+
+    /** The crop receiving the cross over, the stub world has no crop block to hold the growth stage */
+    private static class EmptyCrop extends TileEntityCrop {
+        @Override
+        public void setGrowthStage(int stage) {}
+    }
+
+    /** A crop which always holds a mature plant, without needing block states */
+    private static class MatureCrop extends TileEntityCrop {
+        private final CropPlant plant;
+        private final short growth;
+        private final short gain;
+        private final short strength;
+
+        MatureCrop(CropPlant plant, int growth, int gain, int strength) {
+            this.plant = plant;
+            this.growth = (short) growth;
+            this.gain = (short) gain;
+            this.strength = (short) strength;
+        }
+
+        @Override
+        public boolean hasPlant() {
+            return true;
+        }
+
+        @Override
+        public boolean isMature() {
+            return true;
+        }
+
+        @Override
+        public CropPlant getPlant() {
+            return plant;
+        }
+
+        @Override
+        public short getGrowth() {
+            return growth;
+        }
+
+        @Override
+        public short getGain() {
+            return gain;
+        }
+
+        @Override
+        public short getStrength() {
+            return strength;
+        }
+    }
+
+    private static class StubPlant extends CropPlant {
+        StubPlant() {
+            setRegistryId(1);
+        }
+
+        @Override
+        public int tier() {
+            return 1;
+        }
+
+        @Override
+        public ItemStack getSeed() {
+            return null;
+        }
+
+        @Override
+        public Block getBlock() {
+            return null;
+        }
+
+        @Override
+        public ArrayList<ItemStack> getAllFruits() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public ItemStack getRandomFruit(Random rand) {
+            return null;
+        }
+
+        @Override
+        public ArrayList<ItemStack> getFruitsOnHarvest(int gain, Random rand) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public boolean canBonemeal() {
+            return false;
+        }
+
+        @Override
+        protected IGrowthRequirement initGrowthRequirement() {
+            return GrowthRequirementHandler.NULL;
+        }
+
+        @Override
+        public void onAllowedGrowthTick(World world, BlockPos pos, int oldGrowthStage) {}
+
+        @Override
+        public float getHeight(int meta) {
+            return 0;
+        }
+
+        @Override
+        public RenderMethod getRenderMethod() {
+            return RenderMethod.HASHTAG;
+        }
+
+        @Override
+        public TextureAtlasSprite getPrimaryPlantTexture(int growthStage) {
+            return null;
+        }
+
+        @Override
+        public TextureAtlasSprite getSecondaryPlantTexture(int growthStage) {
+            return null;
+        }
+
+        @Override
+        public String getInformation() {
+            return "";
+        }
+    }
+
+    /** A plant which can grow anywhere */
+    private static class GrowingPlant extends StubPlant {
+        @Override
+        protected IGrowthRequirement initGrowthRequirement() {
+            return new AlwaysGrows();
+        }
+    }
+
+    private static class AlwaysGrows implements IGrowthRequirement {
+        @Override
+        public boolean canGrow(World world, BlockPos pos) {
+            return true;
+        }
+
+        @Override
+        public boolean isBaseBlockPresent(World world, BlockPos pos) {
+            return true;
+        }
+
+        @Override
+        public boolean isValidSoil(World world, BlockPos pos) {
+            return true;
+        }
+
+        @Override
+        public boolean isValidSoil(BlockWithMeta soil) {
+            return true;
+        }
+
+        @Override
+        public ItemStack requiredBlockAsItemStack() {
+            return null;
+        }
+
+        @Override
+        public RequirementType getRequiredType() {
+            return RequirementType.NONE;
+        }
+
+        @Override
+        public BlockWithMeta getSoil() {
+            return null;
+        }
+
+        @Override
+        public void setSoil(BlockWithMeta soil) {}
+
+        @Override
+        public int[] getBrightnessRange() {
+            return new int[] {0, 16};
+        }
+
+        @Override
+        public void setBrightnessRange(int min, int max) {}
+
+        @Override
+        public void setRequiredBlock(BlockWithMeta requiredBlock, RequirementType requirementType, boolean oreDict) {}
+
+        @Override
+        public BlockWithMeta getRequiredBlock() {
+            return null;
+        }
+
+        @Override
+        public boolean isOreDict() {
+            return false;
+        }
+    }
+}
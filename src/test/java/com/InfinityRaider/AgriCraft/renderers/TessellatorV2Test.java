@@ -0,0 +1,145 @@
+package com.InfinityRaider.AgriCraft.renderers;
+
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.WorldRenderer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class TessellatorV2Test {
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 200000;
+    /** More renderers than fit in a pool, so instances are evicted */
+    private static final int RENDERERS = TessellatorV2.POOL_SIZE + 8;
+
+    @Test
+    public void testSameRendererGivesSameInstance() {
+        WorldRenderer renderer = new WorldRenderer(256);
+        TessellatorV2 instance = TessellatorV2.getInstance(renderer);
+        assertSame(renderer, instance.getWorldRenderer());
+        assertSame(instance, TessellatorV2.getInstance(renderer));
+    }
+
+    @Test
+    public void testTessellatorIsMatched() {
+        Tessellator tessellator = new Tessellator(256);
+        TessellatorV2 bare = TessellatorV2.getInstance(tessellator.getWorldRenderer());
+        //an instance for the bare renderer can't draw through the tessellator, so it must not be handed out for it
+        TessellatorV2 wrapping = TessellatorV2.getInstance(tessellator);
+        assertNotSame(bare, wrapping);
+        assertSame(wrapping, TessellatorV2.getInstance(tessellator));
+        assertSame(bare, TessellatorV2.getInstance(tessellator.getWorldRenderer()));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        WorldRenderer[] renderers = new WorldRenderer[TessellatorV2.POOL_SIZE + 1];
+        TessellatorV2[] instances = new TessellatorV2[renderers.length];
+        for(int i = 0; i < renderers.length; i++) {
+            renderers[i] = new WorldRenderer(256);
+            instances[i] = TessellatorV2.getInstance(renderers[i]);
+            assertTrue(TessellatorV2.getPooledCount() <= TessellatorV2.POOL_SIZE);
+        }
+        assertEquals(TessellatorV2.POOL_SIZE, TessellatorV2.getPooledCount());
+        //the last POOL_SIZE instances are still there, the first one was dropped
+        for(int i = renderers.length - 1; i > 0; i--) {
+            assertSame(instances[i], TessellatorV2.getInstance(renderers[i]));
+        }
+        assertNotSame(instances[0], TessellatorV2.getInstance(renderers[0]));
+    }
+
+    @Test
+    public void testPopMatrixToRestoresUnbalancedStack() {
+        TessellatorV2 tessellator = TessellatorV2.getInstance(new WorldRenderer(256));
+        int depth = tessellator.getMatrixStackDepth();
+        tessellator.pushMatrix();
+        tessellator.addTranslation(1, 2, 3);
+        tessellator.pushMatrix();
+        tessellator.addRotation(90, 0, 1, 0);
+        tessellator.popMatrixTo(depth);
+        assertEquals(depth, tessellator.getMatrixStackDepth());
+        double[] origin = tessellator.getTransformationMatrix().transform(0, 0, 0);
+        assertEquals(0, origin[0], 0);
+        assertEquals(0, origin[1], 0);
+        assertEquals(0, origin[2], 0);
+    }
+
+    @Test
+    public void testOverflowLeavesStackUsable() {
+        TessellatorV2 tessellator = TessellatorV2.getInstance(new WorldRenderer(256));
+        int depth = tessellator.getMatrixStackDepth();
+        try {
+            while(true) {
+                tessellator.pushMatrix();
+            }
+        } catch(IllegalStateException e) {
+            tessellator.popMatrixTo(depth);
+        }
+        assertEquals(depth, tessellator.getMatrixStackDepth());
+        tessellator.pushMatrix();
+        tessellator.popMatrix();
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        final WorldRenderer[] renderers = new WorldRenderer[RENDERERS];
+        for(int i = 0; i < renderers.length; i++) {
+            renderers[i] = new WorldRenderer(256);
+        }
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Set<TessellatorV2>> seen = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for(int t = 0; t < THREADS; t++) {
+            final Set<TessellatorV2> instances = Collections.newSetFromMap(new IdentityHashMap<TessellatorV2, Boolean>());
+            seen.add(instances);
+            final long seed = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    Random rand = new Random(seed);
+                    for(int i = 0; i < ITERATIONS; i++) {
+                        WorldRenderer renderer = renderers[rand.nextInt(renderers.length)];
+                        TessellatorV2 instance = TessellatorV2.getInstance(renderer);
+                        assertSame(renderer, instance.getWorldRenderer());
+                        assertSame(instance, TessellatorV2.getInstance(renderer));
+                        assertTrue(TessellatorV2.getPooledCount() <= TessellatorV2.POOL_SIZE);
+                    }
+                    //fill the pool with the instances of the first renderers
+                    for(int i = 0; i < TessellatorV2.POOL_SIZE; i++) {
+                        instances.add(TessellatorV2.getInstance(renderers[i]));
+                    }
+                    assertEquals(TessellatorV2.POOL_SIZE, TessellatorV2.getPooledCount());
+                } catch(Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        if(failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        //every thread has its own instances, none of them are shared
+        Map<TessellatorV2, Boolean> all = new IdentityHashMap<>();
+        for(Set<TessellatorV2> instances : seen) {
+            for(TessellatorV2 instance : instances) {
+                assertNull("instance shared between threads", all.put(instance, Boolean.TRUE));
+            }
+        }
+    }
+}
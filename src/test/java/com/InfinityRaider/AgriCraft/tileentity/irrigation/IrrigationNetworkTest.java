@@ -0,0 +1,92 @@
+package com.InfinityRaider.AgriCraft.tileentity.irrigation;
+
+import com.InfinityRaider.AgriCraft.handler.ConfigurationHandler;
+import com.InfinityRaider.AgriCraft.utility.StubWorld;
+import com.InfinityRaider.AgriCraft.utility.multiblock.MultiBlockManager;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.BlockPos;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IrrigationNetworkTest {
+    private StubWorld world;
+    private long time;
+
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.register();
+        //read once when the channel class is loaded
+        ConfigurationHandler.channelCapacity = 500;
+    }
+
+    @Before
+    public void setUp() {
+        world = new StubWorld();
+        time = 0;
+    }
+
+    @Test
+    public void testExtendingTankUnderSleepingNetwork() {
+        //a tank with two channels leading away from it
+        StubTank tank = new StubTank();
+        world.setTileEntity(0, 64, 0, tank);
+        StubChannel first = new StubChannel();
+        world.setTileEntity(1, 64, 0, first);
+        StubChannel second = new StubChannel();
+        world.setTileEntity(2, 64, 0, second);
+        tank.setFluidLevel(4000);
+        tickUntilAsleep(first, second);
+        assertSame(first.getNetwork(), second.getNetwork());
+        int level = first.getFluidLevel();
+        assertTrue(level > 0);
+
+        //extend the tank so the new part becomes the main component
+        StubTank extension = new StubTank();
+        world.setTileEntity(0, 64, -1, extension);
+        MultiBlockManager.getInstance().onBlockPlaced(world, new BlockPos(0, 64, -1), extension);
+        assertSame(extension, tank.getMainComponent());
+        assertEquals(2 * TileEntityTank.SINGLE_CAPACITY, extension.getCapacity());
+        assertFalse("the network of the old main component was not rebuilt", first.isSleeping() && second.isSleeping());
+        tickUntilAsleep(first, second);
+        //the same water is spread over a tank twice as wide
+        assertTrue(first.getFluidLevel() < level);
+
+        //refilling the new main component has to wake the network
+        level = first.getFluidLevel();
+        extension.setFluidLevel(extension.getFluidLevel() + 4000);
+        assertFalse("the new main component is not part of the network", first.isSleeping() && second.isSleeping());
+        tickUntilAsleep(first, second);
+        assertTrue(first.getFluidLevel() > level);
+        assertEquals(first.getFluidLevel(), second.getFluidLevel());
+    }
+
+    private void tickUntilAsleep(TileEntityChannel... channels) {
+        for (int i = 0; i < 10; i++) {
+            time++;
+            world.setTotalWorldTime(time);
+            boolean asleep = true;
+            for (TileEntityChannel channel : channels) {
+                channel.tick();
+                asleep = asleep && channel.isSleeping();
+            }
+            if (asleep) {
+                return;
+            }
+        }
+        fail("the network did not reach equilibrium");
+    }
+
+    /** The stub world is no WorldServer, so nothing is queued for syncing */
+    private static class StubChannel extends TileEntityChannel {
+        @Override
+        public void syncFluidLevel() {}
+    }
+
+    private static class StubTank extends TileEntityTank {
+        @Override
+        public void syncFluidLevel() {}
+    }
+}
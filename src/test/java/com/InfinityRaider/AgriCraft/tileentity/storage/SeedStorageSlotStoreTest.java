@@ -0,0 +1,92 @@
+package com.InfinityRaider.AgriCraft.tileentity.storage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SeedStorageSlotStoreTest {
+    @Test
+    public void testLookupByIdAndStats() {
+        SeedStorageSlotStore store = new SeedStorageSlotStore();
+        SeedStorageSlot first = new SeedStorageSlot(1, 2, 3, 5, 0, 0);
+        SeedStorageSlot second = new SeedStorageSlot(4, 5, 6, 5, 1, 0);
+        store.add(first);
+        store.add(second);
+        assertEquals(2, store.size());
+        assertSame(first, store.getSlot(0));
+        assertSame(second, store.getSlot(1));
+        assertSame(first, store.getSlotByStats(SeedStorageSlot.packStats(1, 2, 3)));
+        assertSame(second, store.getSlotByStats(SeedStorageSlot.packStats(4, 5, 6)));
+        assertEquals(2, store.getFirstFreeId());
+    }
+
+    @Test
+    public void testRemoveFreesId() {
+        SeedStorageSlotStore store = new SeedStorageSlotStore();
+        store.add(new SeedStorageSlot(1, 2, 3, 5, 0, 0));
+        store.add(new SeedStorageSlot(4, 5, 6, 5, 1, 0));
+        assertNotNull(store.remove(0));
+        assertNull(store.remove(0));
+        assertNull(store.getSlot(0));
+        assertNull(store.getSlotByStats(SeedStorageSlot.packStats(1, 2, 3)));
+        assertEquals(0, store.getFirstFreeId());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testRemovingIndexedSlotKeepsOtherSlotWithSameStats() {
+        SeedStorageSlotStore store = new SeedStorageSlotStore();
+        long statKey = SeedStorageSlot.packStats(1, 2, 3);
+        SeedStorageSlot first = new SeedStorageSlot(1, 2, 3, 5, 0, 0);
+        SeedStorageSlot second = new SeedStorageSlot(1, 2, 3, 7, 1, 0);
+        store.add(first);
+        store.add(second);
+        //the slot added last is indexed, removing it must point the index at the other one
+        assertSame(second, store.getSlotByStats(statKey));
+        store.remove(1);
+        assertSame(first, store.getSlotByStats(statKey));
+        store.remove(0);
+        assertNull(store.getSlotByStats(statKey));
+    }
+
+    @Test
+    public void testRemovingOtherSlotWithSameStatsKeepsIndex() {
+        SeedStorageSlotStore store = new SeedStorageSlotStore();
+        long statKey = SeedStorageSlot.packStats(1, 2, 3);
+        SeedStorageSlot first = new SeedStorageSlot(1, 2, 3, 5, 0, 0);
+        SeedStorageSlot second = new SeedStorageSlot(1, 2, 3, 7, 1, 0);
+        SeedStorageSlot third = new SeedStorageSlot(1, 2, 3, 9, 2, 0);
+        store.add(first);
+        store.add(second);
+        store.add(third);
+        store.remove(0);
+        assertSame(third, store.getSlotByStats(statKey));
+        store.remove(2);
+        assertSame(second, store.getSlotByStats(statKey));
+    }
+
+    @Test
+    public void testReplacingSlotWithSameId() {
+        SeedStorageSlotStore store = new SeedStorageSlotStore();
+        store.add(new SeedStorageSlot(1, 2, 3, 5, 0, 0));
+        SeedStorageSlot replacement = new SeedStorageSlot(4, 5, 6, 5, 0, 0);
+        store.add(replacement);
+        assertEquals(1, store.size());
+        assertSame(replacement, store.getSlot(0));
+        assertNull(store.getSlotByStats(SeedStorageSlot.packStats(1, 2, 3)));
+        assertSame(replacement, store.getSlotByStats(SeedStorageSlot.packStats(4, 5, 6)));
+    }
+
+    @Test
+    public void testClear() {
+        SeedStorageSlotStore store = new SeedStorageSlotStore();
+        store.add(new SeedStorageSlot(1, 2, 3, 5, 0, 0));
+        store.add(new SeedStorageSlot(1, 2, 3, 5, 1, 0));
+        store.clear();
+        assertEquals(0, store.size());
+        assertNull(store.getSlotByStats(SeedStorageSlot.packStats(1, 2, 3)));
+        store.add(new SeedStorageSlot(1, 2, 3, 5, 0, 0));
+        store.remove(0);
+        assertNull(store.getSlotByStats(SeedStorageSlot.packStats(1, 2, 3)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.InfinityRaider.AgriCraft.utility;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AliasSamplerTest {
+    private static final int DRAWS = 200000;
+
+    @Test
+    public void testDistributionFollowsWeights() {
+        double[] weights = {1, 2, 5, 10, 0.5, 31.5};
+        AliasSampler.Builder<Integer> builder = AliasSampler.builder();
+        for(int i = 0; i < weights.length; i++) {
+            builder.add(i, weights[i]);
+        }
+        AliasSampler<Integer> sampler = builder.build();
+        assertEquals(weights.length, sampler.size());
+        assertEquals(50, sampler.getTotalWeight(), 1e-9);
+        int[] observed = new int[weights.length];
+        Random rand = new Random(1234);
+        for(int i = 0; i < DRAWS; i++) {
+            observed[sampler.sample(rand)]++;
+        }
+        double statistic = ChiSquared.statistic(observed, weights);
+        assertTrue("chi-squared " + statistic, statistic < ChiSquared.critical(weights.length - 1));
+    }
+
+    @Test
+    public void testEqualWeights() {
+        double[] weights = {3, 3, 3, 3};
+        AliasSampler.Builder<Integer> builder = AliasSampler.builder();
+        for(int i = 0; i < weights.length; i++) {
+            builder.add(i, weights[i]);
+        }
+        AliasSampler<Integer> sampler = builder.build();
+        int[] observed = new int[weights.length];
+        Random rand = new Random(42);
+        for(int i = 0; i < DRAWS; i++) {
+            observed[sampler.sample(rand)]++;
+        }
+        double statistic = ChiSquared.statistic(observed, weights);
+        assertTrue("chi-squared " + statistic, statistic < ChiSquared.critical(weights.length - 1));
+    }
+
+    @Test
+    public void testSingleEntry() {
+        AliasSampler<String> sampler = AliasSampler.<String>builder().add("only", 0.25).build();
+        assertEquals(1, sampler.size());
+        Random rand = new Random(7);
+        for(int i = 0; i < 1000; i++) {
+            assertEquals("only", sampler.sample(rand));
+        }
+    }
+
+    @Test
+    public void testZeroWeightsAreNeverDrawn() {
+        AliasSampler<String> sampler = AliasSampler.<String>builder().add("zero", 0).add("one", 1).add("other zero", 0).build();
+        assertEquals(1, sampler.size());
+        Random rand = new Random(7);
+        for(int i = 0; i < 1000; i++) {
+            assertEquals("one", sampler.sample(rand));
+        }
+    }
+
+    @Test
+    public void testOnlyZeroWeightsIsEmpty() {
+        AliasSampler<String> sampler = AliasSampler.<String>builder().add("zero", 0).build();
+        assertTrue(sampler.isEmpty());
+        assertSame(AliasSampler.empty(), sampler);
+        assertNull(sampler.sample(new Random(7)));
+    }
+
+    @Test
+    public void testBuilderGrows() {
+        AliasSampler.Builder<Integer> builder = AliasSampler.builder();
+        for(int i = 0; i < 100; i++) {
+            builder.add(i, 1);
+        }
+        assertEquals(100, builder.build().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        AliasSampler.<String>builder().add("negative", -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNaNWeight() {
+        AliasSampler.<String>builder().add("nan", Double.NaN);
+    }
+}
@@ -0,0 +1,37 @@
+package com.InfinityRaider.AgriCraft.utility;
+
+/**
+ * Pearson's chi-squared goodness of fit test for the weighted samplers.
+ */
+final class ChiSquared {
+    /** Critical values at a significance of 0.001, indexed by the degrees of freedom */
+    private static final double[] CRITICAL = {0, 10.828, 13.816, 16.266, 18.467, 20.515, 22.458, 24.322, 26.124, 27.877, 29.588};
+
+    private ChiSquared() {}
+
+    /**
+     * @param observed the number of draws of each entry
+     * @param weights the weight of each entry, all larger than zero
+     * @return the chi-squared statistic of the observed counts against the counts expected from the weights
+     */
+    static double statistic(int[] observed, double[] weights) {
+        long draws = 0;
+        double total = 0;
+        for(int i = 0; i < observed.length; i++) {
+            draws = draws + observed[i];
+            total = total + weights[i];
+        }
+        double statistic = 0;
+        for(int i = 0; i < observed.length; i++) {
+            double expected = draws * weights[i] / total;
+            double difference = observed[i] - expected;
+            statistic = statistic + difference * difference / expected;
+        }
+        return statistic;
+    }
+
+    /** @return the value the statistic stays below 99.9% of the time if the samples follow the weights */
+    static double critical(int degreesOfFreedom) {
+        return CRITICAL[degreesOfFreedom];
+    }
+}
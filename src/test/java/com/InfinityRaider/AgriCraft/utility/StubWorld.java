@@ -0,0 +1,75 @@
+package com.InfinityRaider.AgriCraft.utility;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.WorldInfo;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Server world without chunks for tests, block states and tile entities are kept in maps.
+ * Positions without a block state are air, looking them up does not allocate.
+ */
+public class StubWorld extends World {
+    private final Map<BlockPos, IBlockState> states = new HashMap<>();
+    private final Map<BlockPos, TileEntity> tileEntities = new HashMap<>();
+    private int blockStateLookups;
+
+    public StubWorld() {
+        super(null, new WorldInfo(new WorldSettings(0, WorldSettings.GameType.SURVIVAL, false, false, WorldType.DEFAULT), "test"), new WorldProviderSurface(), new Profiler(), false);
+    }
+
+    public StubWorld setBlockState(int x, int y, int z, IBlockState state) {
+        states.put(new BlockPos(x, y, z), state);
+        return this;
+    }
+
+    public StubWorld setTileEntity(int x, int y, int z, TileEntity te) {
+        BlockPos pos = new BlockPos(x, y, z);
+        te.setWorldObj(this);
+        te.setPos(pos);
+        tileEntities.put(pos, te);
+        return this;
+    }
+
+    /** @return the number of calls to {@link #getBlockState(BlockPos)} so far */
+    public int getBlockStateLookups() {
+        return blockStateLookups;
+    }
+
+    @Override
+    public IBlockState getBlockState(BlockPos pos) {
+        blockStateLookups++;
+        IBlockState state = states.get(pos);
+        return state == null ? Blocks.air.getDefaultState() : state;
+    }
+
+    @Override
+    public TileEntity getTileEntity(BlockPos pos) {
+        return tileEntities.get(pos);
+    }
+
+    @Override
+    public boolean isBlockLoaded(BlockPos pos) {
+        return true;
+    }
+
+    @Override
+    protected IChunkProvider createChunkProvider() {
+        return null;
+    }
+
+    @Override
+    protected int getRenderDistanceChunks() {
+        return 0;
+    }
+}
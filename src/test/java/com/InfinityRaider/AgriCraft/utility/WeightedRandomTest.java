@@ -0,0 +1,104 @@
+package com.InfinityRaider.AgriCraft.utility;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class WeightedRandomTest {
+    private static final int DRAWS = 200000;
+
+    @Test
+    public void testDistributionFollowsWeights() {
+        WeightedRandom<String> random = new WeightedRandom<>();
+        String[] names = {"a", "b", "c", "d"};
+        double[] weights = {1, 4, 10, 25};
+        for(int i = 0; i < names.length; i++) {
+            random.addEntry(names[i], (int) weights[i]);
+        }
+        assertEquals(40, random.getTotalWeight());
+        int[] observed = draw(random, names, new Random(99));
+        double statistic = ChiSquared.statistic(observed, weights);
+        assertTrue("chi-squared " + statistic, statistic < ChiSquared.critical(names.length - 1));
+    }
+
+    @Test
+    public void testSingleEntry() {
+        WeightedRandom<String> random = new WeightedRandom<>();
+        random.addEntry("only", 3);
+        Random rand = new Random(5);
+        for(int i = 0; i < 1000; i++) {
+            assertEquals("only", random.getRandomEntry(rand));
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        WeightedRandom<String> random = new WeightedRandom<>();
+        assertNull(random.getRandomEntry(new Random(5)));
+        assertEquals(0, random.getTotalWeight());
+    }
+
+    @Test
+    public void testZeroWeights() {
+        WeightedRandom<String> random = new WeightedRandom<>();
+        random.addEntry("zero", 0);
+        assertNull(random.getRandomEntry(new Random(5)));
+        random.addEntry("one", 1);
+        random.addEntry("negative", -2);
+        Random rand = new Random(5);
+        for(int i = 0; i < 1000; i++) {
+            assertEquals("one", random.getRandomEntry(rand));
+        }
+    }
+
+    @Test
+    public void testReAddingReplacesWeight() {
+        WeightedRandom<String> random = new WeightedRandom<>();
+        random.addEntry("a", 10);
+        random.addEntry("b", 10);
+        AliasSampler<String> before = random.getSampler();
+        random.addEntry("a", 30);
+        assertEquals(30, random.getWeight("a"));
+        assertEquals(40, random.getTotalWeight());
+        //the old sampler is immutable, the next draw uses a new one
+        assertEquals(20, before.getTotalWeight(), 1e-9);
+        assertNotSame(before, random.getSampler());
+        assertEquals(2, random.getSampler().size());
+        String[] names = {"a", "b"};
+        double[] weights = {30, 10};
+        int[] observed = draw(random, names, new Random(17));
+        double statistic = ChiSquared.statistic(observed, weights);
+        assertTrue("chi-squared " + statistic, statistic < ChiSquared.critical(names.length - 1));
+    }
+
+    @Test
+    public void testRemoveEntry() {
+        WeightedRandom<String> random = new WeightedRandom<>();
+        random.addEntry("a", 10);
+        random.addEntry("b", 10);
+        random.getSampler();
+        random.removeEntry("a");
+        random.removeEntry("missing");
+        assertEquals(10, random.getTotalWeight());
+        assertEquals(0, random.getWeight("a"));
+        Random rand = new Random(3);
+        for(int i = 0; i < 1000; i++) {
+            assertEquals("b", random.getRandomEntry(rand));
+        }
+    }
+
+    private static int[] draw(WeightedRandom<String> random, String[] names, Random rand) {
+        int[] observed = new int[names.length];
+        for(int i = 0; i < DRAWS; i++) {
+            String entry = random.getRandomEntry(rand);
+            for(int j = 0; j < names.length; j++) {
+                if(names[j].equals(entry)) {
+                    observed[j]++;
+                }
+            }
+        }
+        return observed;
+    }
+}